@@ -1,6 +1,7 @@
 package com.framework.core.auth;
 
 import com.framework.core.config.FrameworkConfig;
+import com.framework.core.data.GlobalDataCache;
 import com.microsoft.playwright.*;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
@@ -12,8 +13,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AuthenticationManager - Login once, reuse everywhere
@@ -24,6 +27,13 @@ import java.util.Map;
  * - Inject stored state into new browser contexts (instant auth)
  *
  * Result: 100 tests with login = 5 seconds total (not 25 minutes)
+ *
+ * Logins go through GlobalDataCache under the "auth" namespace, so with the
+ * shared cache tier enabled only one fork/shard process on a host logs in
+ * each role; the others reuse its token and storage state file.
+ *
+ * Retried tests (RetryAnalyzer) get a fresh login of their own through
+ * freshStorageState(), so a retry does not inherit a broken session.
  */
 @Slf4j
 @Component
@@ -32,10 +42,15 @@ public class AuthenticationManager {
     @Autowired
     private FrameworkConfig config;
 
+    @Autowired
+    private GlobalDataCache globalDataCache;
+
     private final Map<UserRole, String> storageStatePaths = new EnumMap<>(UserRole.class);
     private final Map<UserRole, String> authTokens = new EnumMap<>(UserRole.class);
+    private final AtomicInteger freshLogins = new AtomicInteger();
 
     private static final Path AUTH_DIR = Paths.get("target", "auth");
+    private static final Duration AUTH_TTL = Duration.ofMinutes(30);
 
     // ═══════════════════════════════════════════════════════════════════════════
     // USER ROLES
@@ -95,20 +110,37 @@ public class AuthenticationManager {
             throw new IllegalArgumentException("No credentials configured for role: " + role);
         }
 
-        // Option 1: API-based authentication (faster, preferred)
-        if (supportsApiAuth()) {
-            authenticateViaApi(role, creds);
+        String cacheKey = "auth:" + role.name().toLowerCase();
+        AuthState state = globalDataCache.getOrLoad(cacheKey, () -> login(role, creds), AUTH_TTL);
+
+        // A shared entry can point at a state file this process cannot see (e.g. cleaned target/)
+        if (state.storageStatePath() == null || !Files.isRegularFile(Paths.get(state.storageStatePath()))) {
+            log.debug("Cached storage state for {} is missing, logging in again", role);
+            globalDataCache.remove(cacheKey);
+            state = globalDataCache.getOrLoad(cacheKey, () -> login(role, creds), AUTH_TTL);
         }
 
+        if (state.token() != null) {
+            authTokens.put(role, state.token());
+        }
+        storageStatePaths.put(role, state.storageStatePath());
+    }
+
+    private AuthState login(UserRole role, Credentials creds) {
+        // Option 1: API-based authentication (faster, preferred)
+        String token = supportsApiAuth() ? authenticateViaApi(role, creds) : null;
+
         // Option 2: Browser-based authentication (fallback)
-        authenticateViaBrowser(role, creds);
+        String statePath = authenticateViaBrowser(role, creds, role.name().toLowerCase() + "-state.json");
+
+        return new AuthState(token, statePath);
     }
 
     /**
      * API-based authentication - fastest approach.
      * Gets auth token via API, then injects into browser state.
      */
-    private void authenticateViaApi(UserRole role, Credentials creds) {
+    private String authenticateViaApi(UserRole role, Credentials creds) {
         log.debug("Attempting API authentication for {}", role);
 
         try {
@@ -123,18 +155,19 @@ public class AuthenticationManager {
 
             if (response.statusCode() == 200) {
                 String token = response.jsonPath().getString("token");
-                authTokens.put(role, token);
                 log.debug("API auth successful for {}, token obtained", role);
+                return token;
             }
         } catch (Exception e) {
             log.debug("API auth not available, falling back to browser auth: {}", e.getMessage());
         }
+        return null;
     }
 
     /**
      * Browser-based authentication - captures full browser state.
      */
-    private void authenticateViaBrowser(UserRole role, Credentials creds) {
+    private String authenticateViaBrowser(UserRole role, Credentials creds, String stateFileName) {
         log.debug("Browser authentication for {}", role);
 
         Playwright playwright = Playwright.create();
@@ -167,11 +200,10 @@ public class AuthenticationManager {
             page.waitForLoadState(LoadState.NETWORKIDLE);
 
             // Save storage state
-            Path statePath = AUTH_DIR.resolve(role.name().toLowerCase() + "-state.json");
+            Path statePath = AUTH_DIR.resolve(stateFileName);
             context.storageState(new BrowserContext.StorageStateOptions().setPath(statePath));
-            storageStatePaths.put(role, statePath.toString());
-
             log.debug("Browser state saved for {} to {}", role, statePath);
+            return statePath.toAbsolutePath().toString();
 
         } catch (Exception e) {
             // Capture screenshot on failure
@@ -209,6 +241,27 @@ public class AuthenticationManager {
         return path;
     }
 
+    /**
+     * Logs the role in again and returns a storage state file for one test.
+     * Used for retries: the suite-wide state and the cache are left as they
+     * are. Falls back to the suite-wide state if the login fails.
+     */
+    public String freshStorageState(UserRole role) {
+        if (role == UserRole.GUEST) {
+            return null;
+        }
+
+        String fileName = role.name().toLowerCase() + "-fresh-" + freshLogins.incrementAndGet() + "-state.json";
+        try {
+            String path = authenticateViaBrowser(role, getCredentials(role), fileName);
+            log.info("Fresh login for {} -> {}", role, fileName);
+            return path;
+        } catch (RuntimeException e) {
+            log.warn("Fresh login for {} failed, using the suite session: {}", role, e.getMessage());
+            return getStorageState(role);
+        }
+    }
+
     /**
      * Gets the auth token for a role (for API calls).
      */
@@ -258,4 +311,6 @@ public class AuthenticationManager {
     // ═══════════════════════════════════════════════════════════════════════════
 
     private record Credentials(String username, String password) {}
+
+    private record AuthState(String token, String storageStatePath) {}
 }
@@ -5,11 +5,14 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.framework.core.auth.AuthenticationManager;
 import com.framework.core.auth.AuthenticationManager.UserRole;
 import com.framework.core.config.FrameworkConfig;
+import com.framework.core.data.CleanupJournal;
+import com.framework.core.reporting.ApiCallRecorder;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.config.ObjectMapperConfig;
 import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
@@ -25,8 +28,9 @@ import java.util.Map;
  * Provides:
  * - Pre-configured RestAssured with auth
  * - Common HTTP methods (GET, POST, PUT, DELETE, PATCH)
- * - Allure integration for API logging
+ * - Allure integration for API logging (attached on failure only by default)
  * - Response validation helpers
+ * - Deferred deletion of created entities (CleanupJournal)
  */
 @Slf4j
 public abstract class BaseApiClient {
@@ -37,6 +41,9 @@ public abstract class BaseApiClient {
     @Autowired
     protected AuthenticationManager authManager;
 
+    @Autowired
+    protected CleanupJournal cleanupJournal;
+
     protected static final ObjectMapper objectMapper = new ObjectMapper()
         .registerModule(new JavaTimeModule());
 
@@ -71,7 +78,7 @@ public abstract class BaseApiClient {
             .setBasePath(getBasePath())
             .setContentType(ContentType.JSON)
             .setAccept(ContentType.JSON)
-            .addFilter(new AllureRestAssured())
+            .addFilter(getReportingFilter())
             .setConfig(RestAssuredConfig.config()
                 .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
                     .jackson2ObjectMapperFactory((cls, charset) -> objectMapper)));
@@ -101,10 +108,22 @@ public abstract class BaseApiClient {
             .setBasePath(getBasePath())
             .setContentType(ContentType.JSON)
             .setAccept(ContentType.JSON)
-            .addFilter(new AllureRestAssured())
+            .addFilter(getReportingFilter())
             .build();
     }
 
+    /**
+     * Returns the Allure filter for API calls.
+     * Calls are buffered and only attached for failing tests unless full capture is enabled.
+     */
+    protected Filter getReportingFilter() {
+        FrameworkConfig.ReportingConfig reporting = config.getReporting();
+        if (reporting.isFullApiCapture()) {
+            return new AllureRestAssured();
+        }
+        return new ApiCallRecorder(reporting.getApiCallBufferSize(), reporting.getApiCallMaxBodyLength());
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // HTTP METHODS
     // ═══════════════════════════════════════════════════════════════════════════
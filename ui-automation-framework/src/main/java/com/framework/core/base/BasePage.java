@@ -1,5 +1,7 @@
 package com.framework.core.base;
 
+import com.framework.core.listeners.PhaseMetrics;
+import com.framework.core.reporting.WebVitalsCollector;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.MouseButton;
@@ -20,6 +22,8 @@ import java.util.regex.Pattern;
  * - Element interaction utilities
  * - Screenshot helpers
  * - Allure step logging
+ * - Web vitals per navigation, tagged with the page-object class
+ *   (when framework.reporting.web-vitals is enabled)
  */
 @Slf4j
 public abstract class BasePage {
@@ -127,7 +131,9 @@ public abstract class BasePage {
     }
 
     protected void waitFor(int milliseconds) {
-        page.waitForTimeout(milliseconds);
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.EXPLICIT_WAIT)) {
+            page.waitForTimeout(milliseconds);
+        }
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -248,6 +254,7 @@ public abstract class BasePage {
         log.info("Navigate to: {}", fullUrl);
         page.navigate(fullUrl);
         waitForPageLoad();
+        WebVitalsCollector.collect(page, getClass());
     }
 
     @Step("Reload page")
@@ -255,6 +262,7 @@ public abstract class BasePage {
         log.debug("Reload page");
         page.reload();
         waitForPageLoad();
+        WebVitalsCollector.collect(page, getClass());
     }
 
     @Step("Go back")
@@ -262,6 +270,7 @@ public abstract class BasePage {
         log.debug("Go back");
         page.goBack();
         waitForPageLoad();
+        WebVitalsCollector.collect(page, getClass());
     }
 
     @Step("Go forward")
@@ -269,6 +278,7 @@ public abstract class BasePage {
         log.debug("Go forward");
         page.goForward();
         waitForPageLoad();
+        WebVitalsCollector.collect(page, getClass());
     }
 
     protected String getCurrentUrl() {
@@ -4,9 +4,18 @@ import com.framework.core.auth.AuthenticationManager;
 import com.framework.core.auth.AuthenticationManager.UserRole;
 import com.framework.core.browser.BrowserManager;
 import com.framework.core.config.FrameworkConfig;
+import com.framework.core.data.CleanupJournal;
+import com.framework.core.data.FixtureRepository;
 import com.framework.core.data.GlobalDataCache;
+import com.framework.core.data.SharedFixtures;
 import com.framework.core.data.TestDataCache;
+import com.framework.core.data.TestDataGenerator;
+import com.framework.core.listeners.RetryAnalyzer;
+import com.framework.core.reporting.ApiCallRecorder;
+import com.framework.core.reporting.ArtifactStore;
+import com.framework.core.reporting.NetworkBudgetChecker;
 import com.framework.core.reporting.NetworkLogger;
+import com.framework.core.reporting.WebVitalsCollector;
 import com.microsoft.playwright.*;
 import io.qameta.allure.Allure;
 import lombok.extern.slf4j.Slf4j;
@@ -14,13 +23,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * BaseTest - Foundation for all UI tests
@@ -29,14 +44,29 @@ import java.nio.file.Paths;
  * - Browser/context management per test
  * - Authentication state injection
  * - Test data cache isolation
- * - Screenshot on failure
+ * - Shared API fixtures (SharedFixtures), released after each test and
+ *   closed after the class
+ * - Deferred deletion of entities created through the API clients
+ *   (CleanupJournal), including those of killed earlier runs
+ * - @Uses resource locking (ResourceLocks) from setup until the entities
+ *   the test created are cleaned up
+ * - In-process retry of infrastructure failures (RetryAnalyzer), each retry
+ *   with a new context and a fresh login
+ * - Screenshot, page HTML and trace on failure, kept in the content-addressed
+ *   ArtifactStore (target/artifacts) and linked into Allure; HAR files
+ *   (framework.network.capture-har) are kept there too
  * - Network/console logging
  *
  * Lifecycle:
  * - @BeforeSuite: Initialize browser, authenticate all roles
  * - @BeforeMethod: Create isolated context with auth, clear test data
  * - @AfterMethod: Capture artifacts on failure, close context
+ * - After the class (SharedFixtureListener): Tear down the class's shared fixtures
  * - @AfterSuite: Close browser
+ *
+ * Per-test state (context, page, test data, network logger) lives in a
+ * TestScope bound to the test thread; use TestScope.wrap() or
+ * TestScope.propagating() to hand it to helper threads.
  */
 @Slf4j
 @SpringBootTest
@@ -59,36 +89,46 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
     protected GlobalDataCache globalDataCache;
 
     @Autowired
-    protected ApplicationContext applicationContext;
+    protected TestDataGenerator testDataGenerator;
 
-    // ═══════════════════════════════════════════════════════════════════════════
-    // THREAD-LOCAL INSTANCES (Isolated per test thread)
-    // ═══════════════════════════════════════════════════════════════════════════
+    @Autowired
+    protected FixtureRepository fixtures;
 
-    private static final ThreadLocal<BrowserContext> contextHolder = new ThreadLocal<>();
-    private static final ThreadLocal<Page> pageHolder = new ThreadLocal<>();
-    private static final ThreadLocal<TestDataCache> testDataHolder = new ThreadLocal<>();
-    private static final ThreadLocal<NetworkLogger> networkLoggerHolder = new ThreadLocal<>();
-    private static final ThreadLocal<String> currentTestNameHolder = new ThreadLocal<>();
+    @Autowired
+    protected SharedFixtures sharedFixtures;
+
+    @Autowired
+    protected CleanupJournal cleanupJournal;
+
+    @Autowired
+    protected ApplicationContext applicationContext;
 
     // ═══════════════════════════════════════════════════════════════════════════
-    // ACCESSORS
+    // ACCESSORS (resolved from the current TestScope)
     // ═══════════════════════════════════════════════════════════════════════════
 
+    protected TestScope scope() {
+        return TestScope.currentOrNull();
+    }
+
     protected BrowserContext context() {
-        return contextHolder.get();
+        TestScope scope = scope();
+        return scope != null ? scope.getContext() : null;
     }
 
     protected Page page() {
-        return pageHolder.get();
+        TestScope scope = scope();
+        return scope != null ? scope.getPage() : null;
     }
 
     protected TestDataCache testDataCache() {
-        return testDataHolder.get();
+        TestScope scope = scope();
+        return scope != null ? scope.getTestData() : null;
     }
 
     protected NetworkLogger networkLogger() {
-        return networkLoggerHolder.get();
+        TestScope scope = scope();
+        return scope != null ? scope.getNetworkLogger() : null;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -106,28 +146,84 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
         log.info("║ Headless    : {}                                         ", config.isHeadless());
         log.info("╚═══════════════════════════════════════════════════════════════╝");
 
+        // Restore reference data from the previous run (if enabled)
+        globalDataCache.loadSnapshot();
+
+        // Start background cleanup; sweeps entities orphaned by killed runs
+        cleanupJournal.start();
+
+        // Pre-generate synthetic data pools
+        testDataGenerator.prefill();
+
+        // Web vitals are collected per navigation once enabled
+        WebVitalsCollector.configure(config.getReporting().getWebVitals().isEnabled(), config.getEnvironment());
+
+        // Retry timeouts/network failures in-process, within a suite-wide budget
+        FrameworkConfig.RetryConfig retry = config.getRetry();
+        RetryAnalyzer.configure(retry.getMaxAttempts(), retry.getDelaySeconds(), retry.getSuiteBudget(),
+            retry.getCategories());
+
+        // Screenshots, traces and HTML go to the content-addressed store
+        FrameworkConfig.ReportingConfig.ArtifactsConfig artifacts = config.getReporting().getArtifacts();
+        ArtifactStore.configure(Paths.get(artifacts.getDirectory()), artifacts.getMaxSizeMb() * 1024 * 1024,
+            Duration.ofDays(artifacts.getMaxAgeDays()));
+
         // Initialize browser
         browserManager.initialize();
 
         // Authenticate all user roles
         authManager.authenticateAllRoles();
 
-        // Store common data in global cache
-        globalDataCache.put("baseUrl", config.getBaseUrl());
-        globalDataCache.put("apiUrl", config.getApiUrl());
-        globalDataCache.put("environment", config.getEnvironment());
+        // Store common data in global cache (it holds no nulls, so unset values are left out)
+        Map<String, String> common = new LinkedHashMap<>();
+        common.put("baseUrl", config.getBaseUrl());
+        common.put("apiUrl", config.getApiUrl());
+        common.put("environment", config.getEnvironment());
+        common.forEach((key, value) -> {
+            if (value != null) {
+                globalDataCache.put(key, value);
+            }
+        });
     }
 
     @AfterSuite(alwaysRun = true)
-    public void afterSuite() {
+    public void afterSuite(ITestContext context) {
         log.info("╔═══════════════════════════════════════════════════════════════╗");
         log.info("║              COMPLETING TEST SUITE                            ║");
         log.info("╚═══════════════════════════════════════════════════════════════╝");
 
+        ApiCallRecorder.logSummary();
+        NetworkLogger.logBodyCaptureSummary();
+        NetworkBudgetChecker.writeSuiteReport(Paths.get(config.getNetwork().getBudgets().getReportPath()));
+        FrameworkConfig.ReportingConfig.WebVitalsConfig webVitals = config.getReporting().getWebVitals();
+        WebVitalsCollector.writeRun(Paths.get(webVitals.getHistoryPath()), Paths.get(webVitals.getReportPath()),
+            webVitals.getKeepRuns(), webVitals.getRegressionThreshold());
+        ResourceLocks.writeReport(Paths.get(System.getProperty("test.metrics.dir", "target/test-metrics"),
+            "resource-locks.txt"), context.getSuite().getXmlSuite().getThreadCount());
+        sharedFixtures.closeAll();
+        sharedFixtures.logStatistics();
+        cleanupJournal.flush();
+        cleanupJournal.logStatistics();
+        ArtifactStore.shared().logStatistics();
+        ArtifactStore.shared().enforceRetention();
+        globalDataCache.logStatistics();
+        globalDataCache.saveSnapshot();
+        testDataGenerator.logStatistics();
+
         // Close browser
         browserManager.close();
     }
 
+    /**
+     * Tears down the class's shared fixtures. Called by SharedFixtureListener
+     * after the class's last test rather than from an @AfterClass method, so
+     * test classes stay splittable across shards.
+     */
+    public void closeClassFixtures() {
+        // Fixtures still used by a running test are torn down when it releases them
+        sharedFixtures.closeClass(getClass());
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // TEST LIFECYCLE
     // ═══════════════════════════════════════════════════════════════════════════
@@ -135,28 +231,68 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
     @BeforeMethod(alwaysRun = true)
     public void beforeMethod(ITestResult result) {
         String testName = result.getMethod().getMethodName();
-        currentTestNameHolder.set(testName);
+
+        // Bind a new scope for this test to the thread
+        TestScope scope = TestScope.begin(testName);
+
+        // Hold the test's @Uses resources from setup until its entities are cleaned up
+        List<ResourceLocks.Claim> claims = ResourceLocks.claimsOf(
+            result.getMethod().getConstructorOrMethod().getMethod(), getRequiredRole().name());
+        try {
+            scope.setResourceLease(ResourceLocks.acquire(testName, claims));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for resources " + claims, e);
+        }
 
         log.info("┌───────────────────────────────────────────────────────────────┐");
-        log.info("│ TEST: {}                                          ", testName);
+        boolean retry = RetryAnalyzer.isRetry(result);
+        log.info("│ TEST: {}{}                                          ", testName, retry ? " (retry)" : "");
         log.info("└───────────────────────────────────────────────────────────────┘");
 
-        // Create isolated test data cache
-        testDataHolder.set(new TestDataCache());
+        // Drop API calls buffered outside of a test (e.g. suite setup)
+        ApiCallRecorder.reset();
 
-        // Create new browser context with auth state
-        String storageStatePath = authManager.getStorageState(getRequiredRole());
+        // Create new browser context with auth state; a retry logs in afresh
+        boolean freshLogin = retry && config.getRetry().isFreshAccount() && getRequiredRole() != UserRole.GUEST;
+        String storageStatePath = freshLogin
+            ? authManager.freshStorageState(getRequiredRole())
+            : authManager.getStorageState(getRequiredRole());
         BrowserContext context = browserManager.createContext(storageStatePath);
-        contextHolder.set(context);
+        scope.setContext(context);
+        if (freshLogin && !storageStatePath.equals(authManager.getStorageState(getRequiredRole()))) {
+            // Read into the context already; the file is not needed again
+            try {
+                Files.deleteIfExists(Paths.get(storageStatePath));
+            } catch (IOException e) {
+                log.debug("Could not delete {}: {}", storageStatePath, e.getMessage());
+            }
+        }
 
         // Create new page
         Page page = context.newPage();
-        pageHolder.set(page);
+        scope.setPage(page);
 
         // Setup network logging
-        NetworkLogger networkLogger = new NetworkLogger();
+        FrameworkConfig.NetworkConfig network = config.getNetwork();
+        NetworkLogger networkLogger = new NetworkLogger()
+            .setCapacity(network.getMaxEntries())
+            .setBodyCapture(NetworkLogger.BodyCapture.valueOf(
+                network.getResponseBodies().trim().toUpperCase().replace('-', '_')))
+            .setBodyContentTypes(network.getBodyContentTypes())
+            .setBodyUrlPatterns(network.getBodyUrlPatterns())
+            .setMeasureTransferSizes(NetworkBudgetChecker.limitsTransfer(
+                result.getMethod().getConstructorOrMethod().getMethod(), network.getBudgets()));
+        if (network.isCaptureHar()) {
+            try {
+                // Written to a temp file of its own, stored by content when the test ends
+                networkLogger.recordHar(ArtifactStore.shared().newTempFile(".har.gz"));
+            } catch (IOException e) {
+                log.warn("Could not start HAR recording: {}", e.getMessage());
+            }
+        }
         networkLogger.attachToPage(page);
-        networkLoggerHolder.set(networkLogger);
+        scope.setNetworkLogger(networkLogger);
 
         // Setup console logging
         page.onConsoleMessage(msg -> {
@@ -178,10 +314,16 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
 
     @AfterMethod(alwaysRun = true)
     public void afterMethod(ITestResult result) {
-        String testName = currentTestNameHolder.get();
+        TestScope scope = TestScope.currentOrNull();
+        String testName = scope != null ? scope.getTestName() : result.getMethod().getMethodName();
         boolean passed = result.getStatus() == ITestResult.SUCCESS;
 
         try {
+            // Check network budgets first so a FAIL budget gets failure artifacts
+            if (!checkNetworkBudget(testName, result)) {
+                passed = false;
+            }
+
             // Capture artifacts on failure
             if (!passed) {
                 captureFailureArtifacts(testName, result);
@@ -189,35 +331,67 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
 
             // Stop and save trace
             if (config.isTracingEnabled() && context() != null) {
-                Path tracePath = Paths.get("target", "traces", testName + ".zip");
-                Files.createDirectories(tracePath.getParent());
+                ArtifactStore store = ArtifactStore.shared();
+                Path tracePath = store.newTempFile(".zip");
                 context().tracing().stop(new Tracing.StopOptions().setPath(tracePath));
+                ArtifactStore.StoredArtifact trace = store.storeFile(tracePath, "Trace", ".zip", testName);
 
                 if (!passed) {
-                    Allure.addAttachment("Trace", "application/zip",
-                        Files.newInputStream(tracePath), ".zip");
+                    store.attach(trace, "Trace", "application/zip");
                 }
             }
 
-            // Attach network log
-            if (networkLoggerHolder.get() != null) {
-                networkLoggerHolder.get().attachToAllureReport();
+            // Attach network log (deferred bodies are fetched only for failures)
+            if (networkLogger() != null) {
+                networkLogger().completeBodies(!passed);
+                networkLogger().attachToAllureReport();
+
+                // HAR is already on disk - keep it in the store, link it on failure
+                Path har = networkLogger().closeHar();
+                if (har != null) {
+                    ArtifactStore store = ArtifactStore.shared();
+                    ArtifactStore.StoredArtifact stored = store.storeFile(har, "Network HAR", ".har.gz", testName);
+                    if (!passed) {
+                        store.attach(stored, "Network HAR", "application/gzip");
+                    }
+                }
             }
 
+            // Attach buffered API calls on failure, discard on success
+            ApiCallRecorder.flush(!passed);
+
         } catch (Exception e) {
             log.error("Error in afterMethod: {}", e.getMessage());
         } finally {
+            // Finish and drop the HAR if an earlier step failed before it was stored
+            if (networkLogger() != null) {
+                Path har = networkLogger().closeHar();
+                if (har != null) {
+                    try {
+                        Files.deleteIfExists(har);
+                    } catch (IOException e) {
+                        log.debug("Could not delete {}: {}", har, e.getMessage());
+                    }
+                }
+            }
+
             // Close context
             if (context() != null) {
                 context().close();
             }
 
-            // Clear thread-local data
-            contextHolder.remove();
-            pageHolder.remove();
-            testDataHolder.remove();
-            networkLoggerHolder.remove();
-            currentTestNameHolder.remove();
+            // Drop this test's references to shared fixtures and delete its copies
+            if (scope != null) {
+                sharedFixtures.release(scope);
+
+                // Entities the test created are deleted in the background from here on;
+                // tests waiting for the same @Uses resources start once they are gone
+                ResourceLocks.Lease lease = scope.getResourceLease();
+                cleanupJournal.testFinished(scope, lease != null ? lease::close : () -> { });
+            }
+
+            // Deactivate and unbind this test's scope
+            TestScope.end();
         }
 
         log.info("┌───────────────────────────────────────────────────────────────┐");
@@ -225,6 +399,34 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
         log.info("└───────────────────────────────────────────────────────────────┘");
     }
 
+    /**
+     * Checks the test's network budget. A FAIL budget that is exceeded marks
+     * the result failed.
+     *
+     * @return false if the test was failed by its budget
+     */
+    private boolean checkNetworkBudget(String testName, ITestResult result) {
+        FrameworkConfig.NetworkConfig.BudgetConfig budgets = config.getNetwork().getBudgets();
+        NetworkLogger networkLogger = networkLogger();
+        if (!budgets.isEnabled() || networkLogger == null) {
+            return true;
+        }
+
+        NetworkBudgetChecker.Budget budget = NetworkBudgetChecker.resolve(
+            result.getMethod().getConstructorOrMethod().getMethod(), budgets, networkLogger.getEntries());
+        if (budget.isEmpty()) {
+            return true;
+        }
+
+        NetworkBudgetChecker.BudgetResult check = NetworkBudgetChecker.check(testName, budget, networkLogger);
+        if (check.isFailure() && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Network budget exceeded: " + String.join("; ", check.violations())));
+            return false;
+        }
+        return true;
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // ROLE-BASED AUTHENTICATION
     // ═══════════════════════════════════════════════════════════════════════════
@@ -237,6 +439,24 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
         return UserRole.STANDARD_USER;
     }
 
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SHARED FIXTURES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * The shared, read-only instance of a fixture for this class (or suite).
+     */
+    protected <T> T sharedFixture(SharedFixtures.Fixture<T> fixture, Object... params) {
+        return sharedFixtures.share(fixture, getClass(), params);
+    }
+
+    /**
+     * A private copy of a fixture this test may change; deleted after the test.
+     */
+    protected <T> T fixtureCopy(SharedFixtures.Fixture<T> fixture, Object... params) {
+        return sharedFixtures.copy(fixture, getClass(), params);
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // UTILITY METHODS
     // ═══════════════════════════════════════════════════════════════════════════
@@ -253,21 +473,21 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
      * Preferred accessor method for tests.
      */
     protected Page getPage() {
-        return pageHolder.get();
+        return page();
     }
 
     /**
      * Get the test data cache for current test.
      */
     protected TestDataCache getTestData() {
-        return testDataHolder.get();
+        return testDataCache();
     }
 
     /**
      * Alias for getTestData() - used by playbooks and test classes.
      */
     protected TestDataCache testData() {
-        return testDataHolder.get();
+        return testDataCache();
     }
 
     /**
@@ -302,21 +522,20 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
         try {
             // Screenshot
             if (page() != null) {
+                // Stored once per distinct image; Allure gets a link to the blob
+                ArtifactStore store = ArtifactStore.shared();
                 byte[] screenshot = page().screenshot(new Page.ScreenshotOptions().setFullPage(true));
-                Allure.addAttachment("Screenshot - " + testName, "image/png",
-                    new ByteArrayInputStream(screenshot), ".png");
-
-                // Save to file
-                Path screenshotPath = Paths.get("target", "screenshots", testName + ".png");
-                Files.createDirectories(screenshotPath.getParent());
-                Files.write(screenshotPath, screenshot);
+                ArtifactStore.StoredArtifact stored = store.storeAndAttach(screenshot, "Screenshot - " + testName,
+                    "image/png", ".png", testName);
+                log.info("Screenshot: {}", stored.path());
 
                 // Page URL
                 Allure.addAttachment("URL", "text/plain", page().url());
 
                 // Page HTML
                 String html = page().content();
-                Allure.addAttachment("Page HTML", "text/html", html);
+                store.storeAndAttach(html.getBytes(StandardCharsets.UTF_8), "Page HTML", "text/html", ".html",
+                    testName);
             }
 
             // Exception
@@ -0,0 +1,312 @@
+package com.framework.core.base;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ResourceLocks - Runtime locking of @Uses resources, with utilization stats
+ *
+ * Locking:
+ * - A test's resources are granted all at once or not at all, so tests can
+ *   never deadlock on each other
+ * - Waiters are served in arrival order: a test is not granted while an
+ *   earlier waiter with a conflicting claim is still queued, so an exclusive
+ *   user cannot be starved by a stream of shared users
+ * - A test that waits longer than resource.lock.timeout.ms (default 10 min)
+ *   fails with the names of the tests holding its resources
+ *
+ * Reporting (writeReport, at suite end):
+ * - Parallel utilization: time inside tests / (threads x wall time)
+ * - Per resource: acquisitions, waits, total/max wait, time held
+ * - Bottlenecks: resources tests waited on most, and the tests holding them
+ */
+@Slf4j
+public final class ResourceLocks {
+
+    private static final long TIMEOUT_MS = Long.getLong("resource.lock.timeout.ms", TimeUnit.MINUTES.toMillis(10));
+
+    private static final Object monitor = new Object();
+    private static final List<Lease> held = new ArrayList<>();
+    private static final List<Waiter> waiting = new ArrayList<>();
+    private static final Map<String, ResourceStats> stats = new HashMap<>();
+    private static final Map<String, Map<String, Integer>> blockers = new HashMap<>();
+    private static long firstStart;
+    private static long lastEnd;
+    private static long busyMillis;
+    private static int tests;
+
+    private ResourceLocks() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CLAIMS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * One resource held by a test.
+     */
+    public record Claim(String type, String id, boolean shared) {
+
+        static Claim parse(String resource, boolean shared) {
+            int colon = resource.indexOf(':');
+            return colon < 0 ? new Claim(resource.trim(), "*", shared)
+                : new Claim(resource.substring(0, colon).trim(), resource.substring(colon + 1).trim(), shared);
+        }
+
+        public boolean conflictsWith(Claim other) {
+            return type.equals(other.type)
+                && (id.equals(other.id) || "*".equals(id) || "*".equals(other.id))
+                && !(shared && other.shared);
+        }
+
+        @Override
+        public String toString() {
+            return type + ":" + id + (shared ? " (shared)" : "");
+        }
+    }
+
+    /**
+     * The class- and method-level @Uses claims of a test method.
+     *
+     * @param role replaces "{role}"; null leaves the placeholder as-is
+     */
+    public static List<Claim> claimsOf(Method method, String role) {
+        Set<Claim> claims = new LinkedHashSet<>();
+        List<Uses> uses = new ArrayList<>();
+        uses.addAll(List.of(method.getDeclaringClass().getAnnotationsByType(Uses.class)));
+        uses.addAll(List.of(method.getAnnotationsByType(Uses.class)));
+        for (Uses use : uses) {
+            for (String resource : use.value()) {
+                String resolved = role != null ? resource.replace("{role}", role) : resource;
+                claims.add(Claim.parse(resolved, use.shared()));
+            }
+        }
+        // An exclusive claim makes a shared claim on the same resource redundant
+        claims.removeIf(claim -> claim.shared() && claims.contains(new Claim(claim.type(), claim.id(), false)));
+        return List.copyOf(claims);
+    }
+
+    static boolean conflict(List<Claim> a, List<Claim> b) {
+        for (Claim left : a) {
+            for (Claim right : b) {
+                if (left.conflictsWith(right)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LOCKING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Resources held by a running test. Released by close().
+     */
+    public static final class Lease implements AutoCloseable {
+        private final String testName;
+        private final List<Claim> claims;
+        private final long grantedAt;
+        private boolean closed;
+
+        private Lease(String testName, List<Claim> claims, long grantedAt) {
+            this.testName = testName;
+            this.claims = claims;
+            this.grantedAt = grantedAt;
+        }
+
+        public List<Claim> getClaims() {
+            return claims;
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+
+    private record Waiter(String testName, List<Claim> claims) {}
+
+    /**
+     * Blocks until none of the claims conflicts with a running test or an
+     * earlier waiter, then holds them. Tests without claims return at once
+     * (they are still counted for utilization).
+     */
+    public static Lease acquire(String testName, List<Claim> claims) throws InterruptedException {
+        long requested = System.currentTimeMillis();
+        Waiter waiter = new Waiter(testName, claims);
+        boolean waited = false;
+        Map<Claim, List<String>> holders = new HashMap<>();
+
+        synchronized (monitor) {
+            waiting.add(waiter);
+            try {
+                while (!grantable(waiter)) {
+                    if (!waited) {
+                        waited = true;
+                        claims.forEach(claim -> holders.put(claim, holdersOf(List.of(claim))));
+                        log.info("{} waits for {} (held by {})", testName, claims, holdersOf(claims));
+                    }
+                    long remaining = requested + TIMEOUT_MS - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new IllegalStateException(String.format(
+                            "Timed out after %ds waiting for %s held by %s", TIMEOUT_MS / 1000, claims,
+                            holdersOf(claims)));
+                    }
+                    monitor.wait(remaining);
+                }
+            } finally {
+                waiting.remove(waiter);
+                monitor.notifyAll();
+            }
+
+            long now = System.currentTimeMillis();
+            Lease lease = new Lease(testName, claims, now);
+            held.add(lease);
+            if (firstStart == 0) {
+                firstStart = now;
+            }
+            long waitMs = now - requested;
+            for (Claim claim : claims) {
+                ResourceStats resource = stats.computeIfAbsent(claim.type() + ":" + claim.id(), k -> new ResourceStats());
+                resource.acquisitions++;
+                if (waited) {
+                    resource.waits++;
+                    resource.waitMillis += waitMs;
+                    resource.maxWaitMillis = Math.max(resource.maxWaitMillis, waitMs);
+                }
+            }
+            holders.forEach((claim, tests) -> tests.forEach(holder -> blockers
+                .computeIfAbsent(claim.type() + ":" + claim.id(), k -> new HashMap<>()).merge(holder, 1, Integer::sum)));
+            if (waited) {
+                log.info("{} got {} after {}ms", testName, claims, waitMs);
+            }
+            return lease;
+        }
+    }
+
+    private static void release(Lease lease) {
+        synchronized (monitor) {
+            if (lease.closed) {
+                return;
+            }
+            lease.closed = true;
+            held.remove(lease);
+            long now = System.currentTimeMillis();
+            long heldMs = now - lease.grantedAt;
+            busyMillis += heldMs;
+            tests++;
+            lastEnd = Math.max(lastEnd, now);
+            for (Claim claim : lease.claims) {
+                stats.get(claim.type() + ":" + claim.id()).heldMillis += heldMs;
+            }
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Caller holds the monitor.
+     */
+    private static boolean grantable(Waiter waiter) {
+        if (waiter.claims().isEmpty()) {
+            return true;
+        }
+        for (Lease lease : held) {
+            if (conflict(waiter.claims(), lease.claims)) {
+                return false;
+            }
+        }
+        for (Waiter earlier : waiting) {
+            if (earlier == waiter) {
+                return true;
+            }
+            if (conflict(waiter.claims(), earlier.claims())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> holdersOf(List<Claim> claims) {
+        return held.stream().filter(lease -> conflict(claims, lease.claims)).map(lease -> lease.testName).toList();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // REPORTING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static final class ResourceStats {
+        int acquisitions;
+        int waits;
+        long waitMillis;
+        long maxWaitMillis;
+        long heldMillis;
+    }
+
+    /**
+     * Writes utilization and contention for the suite and logs the summary.
+     *
+     * @param threads configured parallel threads
+     */
+    public static void writeReport(Path path, int threads) {
+        List<String> lines = new ArrayList<>();
+        synchronized (monitor) {
+            if (tests == 0) {
+                return;
+            }
+            long wall = Math.max(1, lastEnd - firstStart);
+            double utilization = (double) busyMillis / ((long) Math.max(1, threads) * wall);
+            lines.add(String.format("Parallel utilization: %.0f%% (%d tests, %ds in tests, %ds wall, %d threads)",
+                utilization * 100, tests, busyMillis / 1000, wall / 1000, threads));
+            lines.add("");
+            lines.add(String.format("%-40s %8s %6s %10s %10s %8s", "Resource", "Acquired", "Waits", "Wait s",
+                "Max wait s", "Held %"));
+            stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ResourceStats> e) -> e.getValue().waitMillis)
+                    .reversed())
+                .forEach(e -> {
+                    ResourceStats s = e.getValue();
+                    lines.add(String.format("%-40s %8d %6d %10.1f %10.1f %7.0f%%", e.getKey(), s.acquisitions,
+                        s.waits, s.waitMillis / 1000.0, s.maxWaitMillis / 1000.0, 100.0 * s.heldMillis / wall));
+                });
+
+            if (!blockers.isEmpty()) {
+                lines.add("");
+                lines.add("Serialization bottlenecks (tests waited on these, behind):");
+                stats.entrySet().stream()
+                    .filter(e -> e.getValue().waits > 0)
+                    .sorted(Comparator.comparingLong((Map.Entry<String, ResourceStats> e) -> e.getValue().waitMillis)
+                        .reversed())
+                    .forEach(e -> lines.add(String.format("  %s: %d waits, %.1fs - %s", e.getKey(),
+                        e.getValue().waits, e.getValue().waitMillis / 1000.0,
+                        blockers.getOrDefault(e.getKey(), Map.of()).entrySet().stream()
+                            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                            .limit(5)
+                            .map(holder -> holder.getKey() + " x" + holder.getValue())
+                            .collect(Collectors.joining(", ")))));
+            }
+        }
+
+        lines.forEach(line -> log.info("{}", line));
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(path, lines);
+        } catch (IOException e) {
+            log.warn("Could not write resource report {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.framework.core.base;
+
+import com.framework.core.data.TestDataCache;
+import com.framework.core.reporting.NetworkLogger;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * TestScope - Everything that belongs to the currently running test
+ *
+ * Replaces the per-field ThreadLocals in BaseTest with one object carried by a
+ * single ThreadLocal, so helpers resolve all test state with one lookup.
+ *
+ * Lifecycle (driven by BaseTest):
+ * - begin(): binds a new scope for the test to this thread
+ * - end(): marks the scope inactive for good and unbinds it; every test gets
+ *   its own instance, so nothing captured from one test can reach the next
+ * - The scope itself is a handful of references; its TestDataCache is
+ *   recycled per thread (cleared and given a new generation at end()), so
+ *   the data map is reset rather than reallocated
+ *
+ * Sub-tasks:
+ * - State does not leak to other threads implicitly
+ * - wrap(...) / propagating(executor) capture the caller's scope and bind it
+ *   for the duration of each task, on platform or virtual threads
+ * - runWith/callWith give ScopedValue-style dynamic binding: the scope is
+ *   visible only inside the call and the previous binding is restored after.
+ *   java.lang.ScopedValue is still a preview API on Java 21, so the binding
+ *   is backed by the same ThreadLocal
+ *
+ * Tasks still running after the test ends see an inactive scope and fail fast
+ * in current() instead of touching the next test's state.
+ */
+public final class TestScope {
+
+    private static final ThreadLocal<TestScope> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<TestDataCache> RECYCLED_DATA = new ThreadLocal<>();
+
+    private final TestDataCache testData;
+    private final String testName;
+
+    private volatile boolean active;
+    private volatile BrowserContext context;
+    private volatile Page page;
+    private volatile NetworkLogger networkLogger;
+    private volatile ResourceLocks.Lease resourceLease;
+
+    private TestScope(String testName, TestDataCache testData) {
+        this.testName = testName;
+        this.testData = testData;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LIFECYCLE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Binds a new, active scope for the test to the calling thread.
+     */
+    static TestScope begin(String testName) {
+        TestDataCache testData = RECYCLED_DATA.get();
+        RECYCLED_DATA.remove();
+        TestScope scope = new TestScope(testName, testData != null ? testData : new TestDataCache());
+        scope.active = true;
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Deactivates the calling thread's scope and unbinds it. Tasks that captured
+     * it keep an inactive scope and fail fast in current(); its TestDataCache is
+     * retired and throws if they still hold it.
+     */
+    static void end() {
+        TestScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.active = false;
+            scope.context = null;
+            scope.page = null;
+            scope.networkLogger = null;
+            RECYCLED_DATA.set(scope.testData.recycle());
+        }
+        CURRENT.remove();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ACCESS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Returns the active scope bound to this thread.
+     *
+     * @throws IllegalStateException if no test is running on this thread and
+     *                               no scope was propagated to it
+     */
+    public static TestScope current() {
+        TestScope scope = CURRENT.get();
+        if (scope == null || !scope.active) {
+            throw new IllegalStateException("No active test scope on thread " + Thread.currentThread().getName()
+                + " - propagate it with TestScope.wrap() or TestScope.propagating()");
+        }
+        return scope;
+    }
+
+    /**
+     * Returns the active scope bound to this thread, or null.
+     */
+    public static TestScope currentOrNull() {
+        TestScope scope = CURRENT.get();
+        return scope != null && scope.active ? scope : null;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public BrowserContext getContext() {
+        return context;
+    }
+
+    public Page getPage() {
+        return page;
+    }
+
+    public TestDataCache getTestData() {
+        return testData;
+    }
+
+    public NetworkLogger getNetworkLogger() {
+        return networkLogger;
+    }
+
+    void setContext(BrowserContext context) {
+        this.context = context;
+    }
+
+    void setPage(Page page) {
+        this.page = page;
+    }
+
+    void setNetworkLogger(NetworkLogger networkLogger) {
+        this.networkLogger = networkLogger;
+    }
+
+    ResourceLocks.Lease getResourceLease() {
+        return resourceLease;
+    }
+
+    void setResourceLease(ResourceLocks.Lease resourceLease) {
+        this.resourceLease = resourceLease;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PROPAGATION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Runs the task with this scope bound to the calling thread, then restores
+     * whatever was bound before.
+     */
+    public void runWith(Runnable task) {
+        TestScope previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls the task with this scope bound to the calling thread, then restores
+     * whatever was bound before.
+     */
+    public <T> T callWith(Supplier<T> task) {
+        TestScope previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Captures the caller's scope into a Runnable for another thread.
+     */
+    public static Runnable wrap(Runnable task) {
+        TestScope scope = current();
+        return () -> scope.runWith(task);
+    }
+
+    /**
+     * Captures the caller's scope into a Callable for another thread.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        TestScope scope = current();
+        return () -> {
+            TestScope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Executor that binds the submitting thread's scope around every task.
+     * Use with CompletableFuture.*Async or a virtual-thread executor.
+     */
+    public static Executor propagating(Executor delegate) {
+        return task -> delegate.execute(wrap(task));
+    }
+
+    private static void restore(TestScope previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.framework.core.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Uses - Logical resources a test holds while it runs
+ *
+ * Place on a test method, or on a test class to cover all its tests (class
+ * and method resources are combined). Resources are "type:id"; an id of "*"
+ * means every resource of that type, and "{role}" is replaced by the test's
+ * getRequiredRole(). Two tests conflict when they name the same resource (or
+ * one uses "*" for the type) and at least one of them is not shared.
+ *
+ * BaseTest acquires all of a test's resources at once before setup and
+ * releases them after teardown (ResourceLocks); ResourceScheduler orders
+ * tests so conflicting ones are not started next to each other.
+ *
+ * Example:
+ * <pre>
+ * &#64;Uses("cart:{role}")
+ * &#64;Uses(value = "showtime:*", shared = true)
+ * public void testCheckout() { ... }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Repeatable(Uses.List.class)
+public @interface Uses {
+
+    /** Resources as "type:id" */
+    String[] value();
+
+    /** Shared users of a resource may run together; exclusive users may not */
+    boolean shared() default false;
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.TYPE})
+    @interface List {
+        Uses[] value();
+    }
+}
@@ -1,6 +1,7 @@
 package com.framework.core.browser;
 
 import com.framework.core.config.FrameworkConfig;
+import com.framework.core.reporting.WebVitalsCollector;
 import com.microsoft.playwright.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -115,6 +116,9 @@ public class BrowserManager {
 
         BrowserContext context = browser.newContext(options);
 
+        // Record navigation timing / web vitals in every page (if enabled)
+        WebVitalsCollector.install(context);
+
         // Enable tracing if configured
         if (config.isTracingEnabled()) {
             context.tracing().start(new Tracing.StartOptions()
@@ -142,7 +146,9 @@ public class BrowserManager {
      */
     public BrowserContext createContext(Browser.NewContextOptions options) {
         ensureBrowserInitialized();
-        return browser.newContext(options);
+        BrowserContext context = browser.newContext(options);
+        WebVitalsCollector.install(context);
+        return context;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * FrameworkConfig - Central configuration for the test framework
  *
@@ -21,7 +24,12 @@ public class FrameworkConfig {
     private BrowserConfig browser = new BrowserConfig();
     private AuthConfig auth = new AuthConfig();
     private ParallelConfig parallel = new ParallelConfig();
+    private RetryConfig retry = new RetryConfig();
     private ReportingConfig reporting = new ReportingConfig();
+    private NetworkConfig network = new NetworkConfig();
+    private CacheConfig cache = new CacheConfig();
+    private DataGenerationConfig dataGeneration = new DataGenerationConfig();
+    private CleanupConfig cleanup = new CleanupConfig();
 
     @Data
     public static class BrowserConfig {
@@ -57,11 +65,129 @@ public class FrameworkConfig {
         private int timeoutSeconds = 30;
     }
 
+    @Data
+    public static class RetryConfig {
+        private int maxAttempts = 2;
+        private int delaySeconds = 1;
+        private int suiteBudget = 10;
+        private boolean freshAccount = true;
+        private List<String> categories = new ArrayList<>(List.of("Test Infrastructure", "Environment Issues"));
+    }
+
     @Data
     public static class ReportingConfig {
         private boolean screenshotsOnFailure = true;
         private boolean networkLogs = true;
         private boolean consoleLogs = true;
+        private boolean fullApiCapture = false;
+        private int apiCallBufferSize = 50;
+        private int apiCallMaxBodyLength = 10000;
+        private WebVitalsConfig webVitals = new WebVitalsConfig();
+        private ArtifactsConfig artifacts = new ArtifactsConfig();
+
+        @Data
+        public static class WebVitalsConfig {
+            private boolean enabled = false;
+            private String historyPath = ".perf-history/web-vitals.jsonl";
+            private String reportPath = "target/web-vitals/summary.txt";
+            private int keepRuns = 30;
+            private double regressionThreshold = 0.2;
+        }
+
+        @Data
+        public static class ArtifactsConfig {
+            private String directory = "target/artifacts";
+            private long maxSizeMb = 2048;
+            private int maxAgeDays = 14;
+        }
+    }
+
+    @Data
+    public static class NetworkConfig {
+        private boolean logRequests = true;
+        private boolean logResponses = true;
+        private String logPath = "target/network-logs";
+        private boolean captureHar = false;
+        private int maxEntries = 500;
+        private String responseBodies = "always";
+        private List<String> bodyContentTypes = new ArrayList<>(
+            List.of("application/json", "+json", "text/plain", "text/html", "application/xml", "text/xml"));
+        private List<String> bodyUrlPatterns = new ArrayList<>();
+        private BudgetConfig budgets = new BudgetConfig();
+
+        @Data
+        public static class BudgetConfig {
+            private boolean enabled = true;
+            private String enforcement = "warn";
+            private String reportPath = "target/network-logs/budget-report.txt";
+            private BudgetLimits defaults = new BudgetLimits();
+            private List<PageBudget> pages = new ArrayList<>();
+        }
+
+        @Data
+        public static class BudgetLimits {
+            private int maxRequests = -1;
+            private long maxTransferBytes = -1;
+            private long maxRequestMillis = -1;
+            private List<String> apiPatterns = new ArrayList<>();
+            private long apiP95Millis = -1;
+            private String enforcement;
+        }
+
+        /**
+         * Budget applied to tests that navigate to a document URL matching urlPattern.
+         */
+        @Data
+        @lombok.EqualsAndHashCode(callSuper = true)
+        public static class PageBudget extends BudgetLimits {
+            private String urlPattern;
+        }
+    }
+
+    @Data
+    public static class CacheConfig {
+        private long maxWeight = 10000;
+        private long defaultTtlSeconds = 0;
+        private SnapshotConfig snapshot = new SnapshotConfig();
+        private SharedConfig shared = new SharedConfig();
+
+        @Data
+        public static class SnapshotConfig {
+            private boolean enabled = false;
+            private String path = ".cache/global-data.snapshot";
+            private String schemaVersion = "1";
+            private long maxAgeMinutes = 1440;
+            private List<String> namespaces = new ArrayList<>(
+                List.of("movies", "theaters", "playbook-templates"));
+        }
+
+        @Data
+        public static class SharedConfig {
+            private boolean enabled = false;
+            private String directory = System.getProperty("java.io.tmpdir") + "/ui-automation-shared-cache";
+            private long maxAgeMinutes = 60;
+            private long lockTimeoutSeconds = 60;
+            private List<String> namespaces = new ArrayList<>(
+                List.of("movies", "theaters", "playbook-templates", "auth"));
+        }
+    }
+
+    @Data
+    public static class DataGenerationConfig {
+        private long seed = 0;
+        private int poolSize = 200;
+        private double refillThreshold = 0.25;
+        private String locale = "en-IND";
+    }
+
+    @Data
+    public static class CleanupConfig {
+        private boolean enabled = true;
+        private String journalDir = ".cache/cleanup-journal";
+        private int concurrency = 4;
+        private int batchSize = 20;
+        private int maxAttempts = 3;
+        private long flushTimeoutSeconds = 120;
     }
 
     // Convenience methods
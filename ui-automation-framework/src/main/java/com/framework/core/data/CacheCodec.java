@@ -0,0 +1,49 @@
+package com.framework.core.data;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CacheCodec - Encodes cache values for out-of-process storage
+ *
+ * Values are written as JSON together with the canonical Jackson type needed
+ * to read them back, so API models do not have to be Serializable.
+ * Shared by the warm-start snapshot and the cross-process shared tier.
+ */
+final class CacheCodec {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private CacheCodec() {
+    }
+
+    record Encoded(String type, byte[] payload) {}
+
+    static Encoded encode(Object value) throws IOException {
+        return new Encoded(typeOf(value).toCanonical(), objectMapper.writeValueAsBytes(value));
+    }
+
+    static Object decode(String type, ByteBuffer payload) throws IOException {
+        JavaType javaType = objectMapper.getTypeFactory().constructFromCanonical(type);
+        return objectMapper.readValue(new ByteBufferBackedInputStream(payload), javaType);
+    }
+
+    private static JavaType typeOf(Object value) {
+        if (value instanceof Collection<?> collection) {
+            Object first = collection.isEmpty() ? null : collection.iterator().next();
+            Class<?> elementType = first != null ? first.getClass() : Object.class;
+            return objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+        }
+        return objectMapper.getTypeFactory().constructType(value.getClass());
+    }
+}
@@ -0,0 +1,202 @@
+package com.framework.core.data;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * CacheSnapshotFile - Compact binary snapshot of GlobalDataCache entries
+ *
+ * Layout (big-endian):
+ *   int    magic ("GDC1")
+ *   int    format version
+ *   long   created at (epoch millis)
+ *   string schema version, environment, api url
+ *   int    entry count
+ *   entry* { string key, string java type, long expires at (epoch millis, -1 = never),
+ *            int payload length, byte[] JSON payload }
+ *
+ * Strings are an int length followed by UTF-8 bytes. Payloads are encoded by
+ * CacheCodec, so models do not need to be Serializable.
+ *
+ * Reads go through a read-only memory mapping; payloads are parsed straight from
+ * the mapped buffer without copying.
+ */
+@Slf4j
+class CacheSnapshotFile {
+
+    private static final int MAGIC = 0x47444331; // "GDC1"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path path;
+    private final String schemaVersion;
+    private final String environment;
+    private final String apiUrl;
+
+    CacheSnapshotFile(Path path, String schemaVersion, String environment, String apiUrl) {
+        this.path = path;
+        this.schemaVersion = schemaVersion;
+        this.environment = environment;
+        this.apiUrl = apiUrl;
+    }
+
+    record SnapshotEntry(Object value, Duration ttl) {}
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // WRITE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Writes entries to a temp file and atomically replaces the snapshot.
+     *
+     * @return number of entries written
+     */
+    int write(Map<String, SnapshotEntry> entries) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        long now = System.currentTimeMillis();
+
+        Map<String, CacheCodec.Encoded> encoded = new LinkedHashMap<>();
+        for (Map.Entry<String, SnapshotEntry> e : entries.entrySet()) {
+            Object value = e.getValue().value();
+            if (value == null) {
+                continue;
+            }
+            try {
+                encoded.put(e.getKey(), CacheCodec.encode(value));
+            } catch (Exception ex) {
+                log.debug("Skipping unserializable cache entry [{}]: {}", e.getKey(), ex.getMessage());
+            }
+        }
+
+        // Unique per writer: forks sharing the directory must not write into each other's temp file
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(now);
+                writeString(out, schemaVersion);
+                writeString(out, environment);
+                writeString(out, apiUrl);
+                out.writeInt(encoded.size());
+
+                for (Map.Entry<String, CacheCodec.Encoded> e : encoded.entrySet()) {
+                    Duration ttl = entries.get(e.getKey()).ttl();
+                    writeString(out, e.getKey());
+                    writeString(out, e.getValue().type());
+                    out.writeLong(ttl != null ? now + ttl.toMillis() : -1L);
+                    out.writeInt(e.getValue().payload().length);
+                    out.write(e.getValue().payload());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return encoded.size();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // READ
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Reads the snapshot if it exists, matches this run's schema/environment and
+     * is younger than maxAge. Expired entries are skipped.
+     *
+     * @return live entries with their remaining TTL, or an empty map
+     */
+    Map<String, SnapshotEntry> read(Duration maxAge) throws IOException {
+        Map<String, SnapshotEntry> entries = new LinkedHashMap<>();
+        if (!Files.isRegularFile(path)) {
+            return entries;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.info("Ignoring cache snapshot with unknown format: {}", path);
+                return entries;
+            }
+
+            long now = System.currentTimeMillis();
+            long createdAt = buffer.getLong();
+            String snapshotSchema = readString(buffer);
+            String snapshotEnvironment = readString(buffer);
+            String snapshotApiUrl = readString(buffer);
+
+            // Unset values are written as empty strings
+            if (!Objects.equals(Objects.toString(schemaVersion, ""), snapshotSchema)
+                    || !Objects.equals(Objects.toString(environment, ""), snapshotEnvironment)
+                    || !Objects.equals(Objects.toString(apiUrl, ""), snapshotApiUrl)) {
+                log.info("Ignoring cache snapshot from a different schema/environment ({} / {})",
+                    snapshotSchema, snapshotEnvironment);
+                return entries;
+            }
+            if (maxAge != null && now - createdAt > maxAge.toMillis()) {
+                log.info("Ignoring cache snapshot older than {}", maxAge);
+                return entries;
+            }
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                String type = readString(buffer);
+                long expiresAt = buffer.getLong();
+                int length = buffer.getInt();
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+
+                if (expiresAt >= 0 && expiresAt <= now) {
+                    continue;
+                }
+                try {
+                    Object value = CacheCodec.decode(type, payload);
+                    entries.put(key, new SnapshotEntry(value, expiresAt >= 0 ? Duration.ofMillis(expiresAt - now) : null));
+                } catch (Exception e) {
+                    log.debug("Skipping unreadable snapshot entry [{}]: {}", key, e.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            // Truncated or corrupted file - treat as no snapshot
+            log.warn("Ignoring corrupted cache snapshot {}: {}", path, e.toString());
+            entries.clear();
+        }
+
+        return entries;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,579 @@
+package com.framework.core.data;
+
+import com.framework.core.base.TestScope;
+import com.framework.core.config.FrameworkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * CleanupJournal - Deferred, batched deletion of entities tests create
+ *
+ * API clients register each entity they create (register) and the delete
+ * call for its type (registerHandler). Deletion is kept off the tests'
+ * critical path:
+ * - An entity is deleted only after the test that created it has finished
+ *   (BaseTest calls testFinished), whether it passed or not, so failing
+ *   tests no longer leak what they created
+ * - testFinished takes a callback that runs once all of the test's entities
+ *   are deleted or given up on; BaseTest releases the test's @Uses lease
+ *   from it, so the next test on those resources does not see leftovers
+ * - A background worker takes ready entities in batches (batch-size) and
+ *   deletes them with bounded concurrency (concurrency parallel calls);
+ *   failed deletes are retried up to max-attempts
+ * - Entities created outside a test (class/suite setup) and inside
+ *   detached() blocks (e.g. SharedFixtures builds, which have their own
+ *   teardown) wait for flush() at @AfterSuite
+ * - Entities deleted directly by a test (completed) are not deleted again
+ *
+ * Crash recovery:
+ * - Every registration and completion is appended to a per-process journal
+ *   file in journal-dir (<pid>-<start>.journal), so it survives the JVM
+ * - The journal's first line names the target it was written against
+ *   (environment, base-url, api-url)
+ * - start() sweeps the journals of processes that are no longer running and
+ *   deletes what they left behind, but only for journals of the same target;
+ *   the others are left for a run against their environment. Journals of
+ *   live processes (parallel forks/shards on the host) are left alone
+ * - A journal with nothing outstanding is removed after flush()
+ */
+@Slf4j
+@Component
+public class CleanupJournal {
+
+    private static final String SUFFIX = ".journal";
+    private static final String HEADER = "#target";
+    private static final ThreadLocal<Boolean> detached = new ThreadLocal<>();
+    private static final FrameworkConfig DEFAULT_CONFIG = new FrameworkConfig();
+
+    @Autowired(required = false)
+    private FrameworkConfig config;
+
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private final Map<EntityRef, Integer> outstanding = new LinkedHashMap<>();
+    private final Map<TestScope, List<EntityRef>> byTest = new IdentityHashMap<>();
+    private final List<EntityRef> unowned = new ArrayList<>();
+    private final Deque<EntityRef> ready = new ArrayDeque<>();
+    private final List<Settling> settling = new ArrayList<>();
+    private int inFlight;
+
+    private final AtomicLong registered = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong deletedInline = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    private volatile boolean started;
+    private volatile boolean stopping;
+    private Thread worker;
+    private ExecutorService deleters;
+    private BufferedWriter journal;
+    private Path journalFile;
+
+    /**
+     * One created entity.
+     */
+    public record EntityRef(String type, String id) {
+
+        @Override
+        public String toString() {
+            return type + ":" + id;
+        }
+    }
+
+    /**
+     * A finished test's entities still being deleted, and what to run after.
+     */
+    private record Settling(Set<EntityRef> left, Runnable onSettled) {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // REGISTRATION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Sets how entities of a type are deleted. Called by API clients at startup.
+     */
+    public void registerHandler(String type, Consumer<String> delete) {
+        handlers.put(type, delete);
+    }
+
+    /**
+     * Records a created entity for deletion after the current test.
+     */
+    public void register(String type, String id) {
+        if (id == null || !isEnabled()) {
+            return;
+        }
+        EntityRef ref = new EntityRef(type, id);
+        TestScope test = Boolean.TRUE.equals(detached.get()) ? null : TestScope.currentOrNull();
+        synchronized (lock) {
+            if (outstanding.putIfAbsent(ref, 0) != null) {
+                return;
+            }
+            append('+', ref);
+            if (test != null) {
+                byTest.computeIfAbsent(test, scope -> new ArrayList<>()).add(ref);
+            } else {
+                unowned.add(ref);
+            }
+        }
+        registered.incrementAndGet();
+    }
+
+    /**
+     * Records that an entity was deleted (or otherwise cleaned up) directly.
+     */
+    public void completed(String type, String id) {
+        if (id == null) {
+            return;
+        }
+        EntityRef ref = new EntityRef(type, id);
+        List<Runnable> settled = new ArrayList<>();
+        synchronized (lock) {
+            if (outstanding.remove(ref) != null) {
+                append('-', ref);
+                deletedInline.incrementAndGet();
+                settle(ref, settled);
+            }
+        }
+        runAll(settled);
+    }
+
+    /**
+     * Runs the task with registrations treated as created outside a test:
+     * they are not deleted when the test ends, only at flush().
+     */
+    public static <T> T detached(Supplier<T> task) {
+        Boolean previous = detached.get();
+        detached.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                detached.remove();
+            } else {
+                detached.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Hands the entities the test created to the worker. Called by BaseTest after each test.
+     *
+     * @param onSettled run once none of the test's entities is left to delete
+     *                  (deleted, given up on, or left to flush()); right away if
+     *                  the test created none
+     */
+    public void testFinished(TestScope test, Runnable onSettled) {
+        synchronized (lock) {
+            List<EntityRef> created = byTest.remove(test);
+            Set<EntityRef> left = new HashSet<>();
+            if (created != null) {
+                created.stream().filter(outstanding::containsKey).forEach(left::add);
+                ready.addAll(created);
+                lock.notifyAll();
+            }
+            if (!left.isEmpty() && started) {
+                settling.add(new Settling(left, onSettled));
+                return;
+            }
+        }
+        onSettled.run();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LIFECYCLE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Opens this process's journal, starts the worker and sweeps orphans of
+     * dead processes. Called once at @BeforeSuite, after the API clients have
+     * registered their handlers.
+     */
+    public void start() {
+        if (!isEnabled() || started) {
+            return;
+        }
+        Path dir = Paths.get(cleanupConfig().getJournalDir());
+        ProcessHandle self = ProcessHandle.current();
+        journalFile = dir.resolve(self.pid() + "-" + startMillis(self) + SUFFIX);
+        try {
+            Files.createDirectories(dir);
+            journal = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (Files.size(journalFile) == 0) {
+                journal.write(targetHeader());
+                journal.newLine();
+                journal.flush();
+            }
+        } catch (IOException e) {
+            log.warn("Cleanup journal unavailable ({}), crash recovery disabled: {}", journalFile, e.getMessage());
+            journal = null;
+        }
+
+        deleters = Executors.newFixedThreadPool(Math.max(1, cleanupConfig().getConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "cleanup-delete");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker = new Thread(this::drain, "cleanup-journal");
+        worker.setDaemon(true);
+        started = true;
+        worker.start();
+
+        recoverOrphans(dir);
+    }
+
+    /**
+     * Deletes everything still outstanding, waiting up to flush-timeout-seconds.
+     * What is left stays in the journal for the next run. Called at @AfterSuite.
+     */
+    public void flush() {
+        if (!started) {
+            return;
+        }
+        Duration timeout = Duration.ofSeconds(cleanupConfig().getFlushTimeoutSeconds());
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            byTest.values().forEach(ready::addAll);
+            byTest.clear();
+            ready.addAll(unowned);
+            unowned.clear();
+            lock.notifyAll();
+            try {
+                while ((!ready.isEmpty() || inFlight > 0) && System.nanoTime() < deadline) {
+                    lock.wait(Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stopping = true;
+            lock.notifyAll();
+        }
+
+        deleters.shutdownNow();
+        List<Runnable> unsettled;
+        synchronized (lock) {
+            unsettled = settling.stream().map(Settling::onSettled).toList();
+            settling.clear();
+        }
+        runAll(unsettled);
+        synchronized (lock) {
+            closeJournal();
+            if (outstanding.isEmpty() && journalFile != null) {
+                try {
+                    Files.deleteIfExists(journalFile);
+                } catch (IOException e) {
+                    log.debug("Could not remove journal {}: {}", journalFile, e.getMessage());
+                }
+            } else if (!outstanding.isEmpty()) {
+                log.warn("Cleanup: {} entities not deleted at suite end (timeout {}s or no handler), left in {} "
+                    + "for the next run", outstanding.size(), timeout.toSeconds(), journalFile);
+            }
+        }
+        started = false;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // WORKER
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private void drain() {
+        int batchSize = Math.max(1, cleanupConfig().getBatchSize());
+        while (true) {
+            List<EntityRef> batch = new ArrayList<>(batchSize);
+            synchronized (lock) {
+                while (ready.isEmpty() && !stopping) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (stopping) {
+                    return;
+                }
+                while (!ready.isEmpty() && batch.size() < batchSize) {
+                    EntityRef ref = ready.poll();
+                    // Skip entities the test already deleted itself
+                    if (outstanding.containsKey(ref)) {
+                        batch.add(ref);
+                    }
+                }
+                inFlight = batch.size();
+            }
+
+            List<Callable<Void>> deletes = batch.stream().<Callable<Void>>map(ref -> () -> {
+                delete(ref);
+                return null;
+            }).toList();
+            try {
+                deleters.invokeAll(deletes);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Executor shut down by flush() timing out
+                return;
+            } finally {
+                synchronized (lock) {
+                    inFlight = 0;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void delete(EntityRef ref) {
+        Consumer<String> handler = handlers.get(ref.type());
+        List<Runnable> settled = new ArrayList<>();
+        if (handler == null) {
+            log.warn("Cleanup: no delete handler for {}, leaving it in the journal", ref);
+            synchronized (lock) {
+                settle(ref, settled);
+            }
+            runAll(settled);
+            return;
+        }
+        try {
+            handler.accept(ref.id());
+            synchronized (lock) {
+                if (outstanding.remove(ref) != null) {
+                    append('-', ref);
+                }
+                settle(ref, settled);
+            }
+            deleted.incrementAndGet();
+        } catch (RuntimeException | AssertionError e) {
+            synchronized (lock) {
+                int attempts = outstanding.getOrDefault(ref, 0) + 1;
+                if (attempts < cleanupConfig().getMaxAttempts()) {
+                    outstanding.put(ref, attempts);
+                    ready.addLast(ref);
+                } else {
+                    // Most often the entity is already gone; do not carry it into the next run
+                    outstanding.remove(ref);
+                    append('-', ref);
+                    failed.incrementAndGet();
+                    settle(ref, settled);
+                    log.warn("Cleanup: giving up on {} after {} attempts: {}", ref, attempts, e.getMessage());
+                }
+            }
+        }
+        runAll(settled);
+    }
+
+    /**
+     * Caller holds the lock. Collects the callbacks of finished tests that
+     * have nothing left to delete once ref is settled.
+     */
+    private void settle(EntityRef ref, List<Runnable> settled) {
+        for (Iterator<Settling> it = settling.iterator(); it.hasNext(); ) {
+            Settling test = it.next();
+            if (test.left().remove(ref) && test.left().isEmpty()) {
+                it.remove();
+                settled.add(test.onSettled());
+            }
+        }
+    }
+
+    /**
+     * Runs settle callbacks outside the lock; one failing does not stop the others.
+     */
+    private static void runAll(List<Runnable> callbacks) {
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                log.warn("Cleanup: settle callback failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // JOURNAL FILES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Caller holds the lock. Each line is flushed so it survives a killed JVM.
+     */
+    private void append(char operation, EntityRef ref) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.write(operation + "\t" + ref.type() + "\t" + ref.id() + "\t" + System.currentTimeMillis());
+            journal.newLine();
+            journal.flush();
+        } catch (IOException e) {
+            log.warn("Cleanup journal write failed, crash recovery disabled: {}", e.getMessage());
+            closeJournal();
+        }
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException ignored) {
+            }
+            journal = null;
+        }
+    }
+
+    private void recoverOrphans(Path dir) {
+        int otherTargets = 0;
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : journals) {
+                if (!file.equals(journalFile) && !ownerAlive(file) && !recover(file)) {
+                    otherTargets++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cleanup: could not scan {} for orphaned journals: {}", dir, e.getMessage());
+        }
+        if (otherTargets > 0) {
+            log.info("Cleanup: leaving {} orphaned journals of other environments for a run against them",
+                otherTargets);
+        }
+    }
+
+    /**
+     * Takes over the outstanding entities of a dead process's journal.
+     * Returns false, leaving the journal in place, if it was written against
+     * another environment or base URL.
+     */
+    private boolean recover(Path file) {
+        Map<EntityRef, Boolean> left = new LinkedHashMap<>();
+        String header = null;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.startsWith(HEADER)) {
+                    header = line;
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                if (fields.length < 3) {
+                    continue;  // torn last line of a killed process
+                }
+                EntityRef ref = new EntityRef(fields[1], fields[2]);
+                if (line.charAt(0) == '+') {
+                    left.put(ref, Boolean.TRUE);
+                } else {
+                    left.remove(ref);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cleanup: could not read orphaned journal {}: {}", file, e.getMessage());
+            return true;
+        }
+        if (!left.isEmpty() && !targetHeader().equals(header)) {
+            log.debug("Cleanup: {} has {} entities of another target ({}), not recovering", file.getFileName(),
+                left.size(), header != null ? header.substring(HEADER.length()).trim() : "unknown");
+            return false;
+        }
+
+        synchronized (lock) {
+            for (EntityRef ref : left.keySet()) {
+                if (outstanding.putIfAbsent(ref, 0) == null) {
+                    append('+', ref);
+                    ready.add(ref);
+                }
+            }
+            lock.notifyAll();
+        }
+        recovered.addAndGet(left.size());
+        if (!left.isEmpty()) {
+            log.info("Cleanup: recovering {} entities left by a killed run ({})", left.size(), file.getFileName());
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not remove orphaned journal {}: {}", file, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * First journal line: what the run's entities were created against.
+     */
+    private String targetHeader() {
+        FrameworkConfig target = config != null ? config : DEFAULT_CONFIG;
+        return String.join("\t", HEADER, String.valueOf(target.getEnvironment()),
+            String.valueOf(target.getBaseUrl()), String.valueOf(target.getApiUrl()));
+    }
+
+    /**
+     * True if the process that wrote the journal is still running. The start
+     * time in the name guards against a reused pid.
+     */
+    private static boolean ownerAlive(Path file) {
+        String name = file.getFileName().toString();
+        String[] parts = name.substring(0, name.length() - SUFFIX.length()).split("-");
+        try {
+            long pid = Long.parseLong(parts[0]);
+            long start = parts.length > 1 ? Long.parseLong(parts[1]) : 0;
+            return ProcessHandle.of(pid)
+                .filter(ProcessHandle::isAlive)
+                .map(handle -> start == 0 || startMillis(handle) == start)
+                .orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static long startMillis(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CONFIGURATION & STATISTICS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private boolean isEnabled() {
+        return cleanupConfig().isEnabled();
+    }
+
+    private FrameworkConfig.CleanupConfig cleanupConfig() {
+        return (config != null ? config : DEFAULT_CONFIG).getCleanup();
+    }
+
+    public void logStatistics() {
+        if (registered.get() + recovered.get() == 0) {
+            return;
+        }
+        log.info("CleanupJournal: {} registered, {} deleted in background, {} deleted by tests, {} recovered "
+            + "from killed runs, {} given up", registered.get(), deleted.get(), deletedInline.get(),
+            recovered.get(), failed.get());
+    }
+}
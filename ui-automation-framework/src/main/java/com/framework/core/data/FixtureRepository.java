@@ -0,0 +1,472 @@
+package com.framework.core.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.framework.domains.booking.models.Movie;
+import com.framework.domains.booking.models.Theater;
+import com.framework.domains.payments.models.TestCard;
+import com.framework.domains.playbook.models.Playbook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * FixtureRepository - Indexed access to the test-data/*.json fixtures
+ *
+ * Each fixture file is parsed once, on first access, into typed models and a
+ * set of secondary indexes. Lookups after that are hash-map reads with no
+ * JSON parsing.
+ *
+ * Files:
+ * - test-data/booking/shows.json      → Movie, Theater (by id, genre, city, format)
+ * - test-data/payments/test-cards.json → TestCard (by brand + scenario, expected result)
+ * - test-data/playbook/templates.json → Playbook templates (by id, category)
+ *
+ * Indexes and lists are unmodifiable and shared by all test threads.
+ * The models themselves are the regular Lombok domain classes: treat them as
+ * read-only and copy (e.g. via the builder) before changing anything.
+ *
+ * Index keys are case-insensitive.
+ */
+@Slf4j
+@Component
+public class FixtureRepository {
+
+    private static final String SHOWS = "test-data/booking/shows.json";
+    private static final String TEST_CARDS = "test-data/payments/test-cards.json";
+    private static final String PLAYBOOK_TEMPLATES = "test-data/playbook/templates.json";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Lazy<BookingFixtures> booking = new Lazy<>(this::loadBooking);
+    private final Lazy<PaymentFixtures> payments = new Lazy<>(this::loadPayments);
+    private final Lazy<PlaybookFixtures> playbooks = new Lazy<>(this::loadPlaybooks);
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // MOVIES & THEATERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public List<Movie> getMovies() {
+        return booking.get().movies();
+    }
+
+    public Optional<Movie> findMovie(String id) {
+        return Optional.ofNullable(booking.get().moviesById().get(normalize(id)));
+    }
+
+    public Movie getMovie(String id) {
+        return findMovie(id).orElseThrow(() -> missing("movie", id, SHOWS));
+    }
+
+    public List<Movie> getMoviesByGenre(String genre) {
+        return booking.get().moviesByGenre().getOrDefault(normalize(genre), List.of());
+    }
+
+    public List<Movie> getMoviesByFormat(String format) {
+        return booking.get().moviesByFormat().getOrDefault(normalize(format), List.of());
+    }
+
+    public List<Theater> getTheaters() {
+        return booking.get().theaters();
+    }
+
+    public Optional<Theater> findTheater(String id) {
+        return Optional.ofNullable(booking.get().theatersById().get(normalize(id)));
+    }
+
+    public Theater getTheater(String id) {
+        return findTheater(id).orElseThrow(() -> missing("theater", id, SHOWS));
+    }
+
+    public List<Theater> getTheatersInCity(String city) {
+        return booking.get().theatersByCity().getOrDefault(normalize(city), List.of());
+    }
+
+    /**
+     * Theaters with at least one screen in the given format (2D, 3D, IMAX...).
+     */
+    public List<Theater> getTheatersByFormat(String format) {
+        return booking.get().theatersByFormat().getOrDefault(normalize(format), List.of());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // TEST CARDS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * @param brand    Card brand as in the fixture (visa, mastercard, amex)
+     * @param scenario Scenario name as in the fixture (success, declined, 3ds...)
+     */
+    public Optional<TestCard> findTestCard(String brand, String scenario) {
+        return Optional.ofNullable(payments.get().cardsByKey().get(cardKey(brand, scenario)));
+    }
+
+    public TestCard getTestCard(String brand, String scenario) {
+        return findTestCard(brand, scenario).orElseThrow(() -> missing("test card", brand + "." + scenario, TEST_CARDS));
+    }
+
+    public List<TestCard> getTestCards() {
+        return payments.get().cards();
+    }
+
+    public List<TestCard> getTestCards(TestCard.ExpectedResult expectedResult) {
+        return payments.get().cardsByResult().getOrDefault(expectedResult, List.of());
+    }
+
+    /**
+     * First card (in fixture order) that produces the given result.
+     */
+    public TestCard getTestCard(TestCard.ExpectedResult expectedResult) {
+        List<TestCard> cards = getTestCards(expectedResult);
+        if (cards.isEmpty()) {
+            throw missing("test card with result", expectedResult.name(), TEST_CARDS);
+        }
+        return cards.get(0);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PLAYBOOK TEMPLATES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public List<Playbook> getPlaybookTemplates() {
+        return playbooks.get().templates();
+    }
+
+    public Optional<Playbook> findPlaybookTemplate(String id) {
+        return Optional.ofNullable(playbooks.get().templatesById().get(normalize(id)));
+    }
+
+    public Playbook getPlaybookTemplate(String id) {
+        return findPlaybookTemplate(id).orElseThrow(() -> missing("playbook template", id, PLAYBOOK_TEMPLATES));
+    }
+
+    /**
+     * Templates by category (Notifications, Reporting, Integration...).
+     * The category is carried as the template's first tag.
+     */
+    public List<Playbook> getPlaybookTemplatesByCategory(String category) {
+        return playbooks.get().templatesByCategory().getOrDefault(normalize(category), List.of());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LOADING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private BookingFixtures loadBooking() {
+        JsonNode root = readResource(SHOWS);
+
+        List<Movie> movies = new ArrayList<>();
+        for (JsonNode node : root.path("movies")) {
+            movies.add(Movie.builder()
+                .id(text(node, "id"))
+                .title(text(node, "title"))
+                .genre(text(node, "genre"))
+                .duration(node.has("duration") ? Duration.ofMinutes(node.get("duration").asLong()) : null)
+                .format(text(node, "format"))
+                .rating(text(node, "rating"))
+                .language(text(node, "language"))
+                .nowShowing(node.path("nowShowing").asBoolean(true))
+                .build());
+        }
+
+        List<Theater> theaters = new ArrayList<>();
+        for (JsonNode node : root.path("theaters")) {
+            List<Theater.Screen> screens = new ArrayList<>();
+            for (JsonNode screen : node.path("screens")) {
+                screens.add(toScreen(screen));
+            }
+            theaters.add(Theater.builder()
+                .id(text(node, "id"))
+                .name(text(node, "name"))
+                .city(text(node, "city"))
+                .area(text(node, "area"))
+                .address(text(node, "address"))
+                .screens(List.copyOf(screens))
+                .build());
+        }
+
+        Map<String, List<Theater>> byFormat = new HashMap<>();
+        for (Theater theater : theaters) {
+            theater.getScreens().stream()
+                .map(Theater.Screen::getFormat)
+                .filter(Objects::nonNull)
+                .map(FixtureRepository::normalize)
+                .distinct()
+                .forEach(format -> byFormat.computeIfAbsent(format, k -> new ArrayList<>()).add(theater));
+        }
+
+        BookingFixtures fixtures = new BookingFixtures(
+            List.copyOf(movies),
+            uniqueIndex(movies, Movie::getId),
+            groupIndex(movies, Movie::getGenre),
+            groupIndex(movies, Movie::getFormat),
+            List.copyOf(theaters),
+            uniqueIndex(theaters, Theater::getId),
+            groupIndex(theaters, Theater::getCity),
+            freeze(byFormat)
+        );
+        log.debug("FixtureRepository: Loaded {} movies, {} theaters from {}", movies.size(), theaters.size(), SHOWS);
+        return fixtures;
+    }
+
+    private Theater.Screen toScreen(JsonNode screen) {
+        JsonNode layout = screen.path("seatLayout");
+        int rows = layout.path("rows").size();
+        int seatsPerRow = layout.path("seatsPerRow").asInt();
+
+        List<Theater.SeatCategory> categories = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = layout.path("categories").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> category = fields.next();
+            List<String> categoryRows = new ArrayList<>();
+            category.getValue().forEach(row -> categoryRows.add(row.asText()));
+            JsonNode price = layout.path("pricing").path(category.getKey());
+            categories.add(Theater.SeatCategory.builder()
+                .name(category.getKey())
+                .rows(List.copyOf(categoryRows))
+                .price(price.isNumber() ? price.decimalValue() : BigDecimal.ZERO)
+                .build());
+        }
+
+        return Theater.Screen.builder()
+            .id(text(screen, "id"))
+            .name(text(screen, "name"))
+            .format(screen.has("format") ? text(screen, "format") : Movie.Format.FORMAT_2D.getDisplayName())
+            .rows(rows)
+            .seatsPerRow(seatsPerRow)
+            .totalSeats(rows * seatsPerRow)
+            .categories(List.copyOf(categories))
+            .build();
+    }
+
+    private PaymentFixtures loadPayments() {
+        JsonNode root = readResource(TEST_CARDS);
+
+        Map<String, TestCard> byKey = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> brands = root.path("testCards").fields();
+        while (brands.hasNext()) {
+            Map.Entry<String, JsonNode> brand = brands.next();
+            Iterator<Map.Entry<String, JsonNode>> scenarios = brand.getValue().fields();
+            while (scenarios.hasNext()) {
+                Map.Entry<String, JsonNode> scenario = scenarios.next();
+                JsonNode node = scenario.getValue();
+                byKey.put(cardKey(brand.getKey(), scenario.getKey()), TestCard.builder()
+                    .number(text(node, "number"))
+                    .expiry(text(node, "expiry"))
+                    .cvv(text(node, "cvv"))
+                    .name(text(node, "name"))
+                    .expectedResult(TestCard.ExpectedResult.valueOf(text(node, "expectedResult")))
+                    .otpCode(text(node, "otpCode"))
+                    .build());
+            }
+        }
+
+        List<TestCard> cards = List.copyOf(byKey.values());
+        Map<TestCard.ExpectedResult, List<TestCard>> byResult = new HashMap<>();
+        for (TestCard card : cards) {
+            byResult.computeIfAbsent(card.getExpectedResult(), k -> new ArrayList<>()).add(card);
+        }
+
+        log.debug("FixtureRepository: Loaded {} test cards from {}", cards.size(), TEST_CARDS);
+        return new PaymentFixtures(cards, Map.copyOf(byKey), freeze(byResult));
+    }
+
+    private PlaybookFixtures loadPlaybooks() {
+        JsonNode root = readResource(PLAYBOOK_TEMPLATES);
+
+        List<Playbook> templates = new ArrayList<>();
+        for (JsonNode node : root.path("playbookTemplates")) {
+            List<Playbook.PlaybookStep> steps = new ArrayList<>();
+            int order = 1;
+            for (JsonNode step : node.path("steps")) {
+                steps.add(Playbook.PlaybookStep.builder()
+                    .id(text(step, "id"))
+                    .name(text(step, "name"))
+                    .type(Playbook.StepType.valueOf(text(step, "type")))
+                    .order(order++)
+                    .config(toMap(step.path("config")))
+                    .build());
+            }
+
+            Map<String, Playbook.Variable> variables = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.path("variables").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> variable = fields.next();
+                JsonNode spec = variable.getValue();
+                variables.put(variable.getKey(), Playbook.Variable.builder()
+                    .name(variable.getKey())
+                    .type(Playbook.VariableType.valueOf(spec.path("type").asText("STRING")))
+                    .defaultValue(spec.has("defaultValue") ? text(spec, "defaultValue") : null)
+                    .required(spec.path("required").asBoolean(false))
+                    .sensitive(spec.path("sensitive").asBoolean(false))
+                    .build());
+            }
+
+            JsonNode trigger = node.path("trigger");
+            templates.add(Playbook.builder()
+                .id(text(node, "id"))
+                .name(text(node, "name"))
+                .description(text(node, "description"))
+                .status(Playbook.PlaybookStatus.DRAFT)
+                .tags(node.has("category") ? List.of(text(node, "category")) : List.of())
+                .steps(List.copyOf(steps))
+                .variables(Map.copyOf(variables))
+                .trigger(Playbook.TriggerConfig.builder()
+                    .type(Playbook.TriggerType.valueOf(trigger.path("type").asText("MANUAL")))
+                    .cronExpression(text(trigger, "cronExpression"))
+                    .build())
+                .build());
+        }
+
+        log.debug("FixtureRepository: Loaded {} playbook templates from {}", templates.size(), PLAYBOOK_TEMPLATES);
+        return new PlaybookFixtures(
+            List.copyOf(templates),
+            uniqueIndex(templates, Playbook::getId),
+            groupIndex(templates, template -> template.getTags().isEmpty() ? null : template.getTags().get(0))
+        );
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private JsonNode readResource(String resource) {
+        long start = System.nanoTime();
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found on classpath: " + resource);
+            }
+            JsonNode root = objectMapper.readTree(in);
+            log.debug("FixtureRepository: Parsed {} in {}ms", resource, (System.nanoTime() - start) / 1_000_000);
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse fixture " + resource, e);
+        }
+    }
+
+    private static <T> Map<String, T> uniqueIndex(Collection<T> items, Function<T, String> key) {
+        Map<String, T> index = new HashMap<>();
+        for (T item : items) {
+            String value = key.apply(item);
+            if (value != null && index.putIfAbsent(normalize(value), item) != null) {
+                log.warn("FixtureRepository: Duplicate fixture id [{}], keeping the first", value);
+            }
+        }
+        return Map.copyOf(index);
+    }
+
+    private static <T> Map<String, List<T>> groupIndex(Collection<T> items, Function<T, String> key) {
+        Map<String, List<T>> index = new HashMap<>();
+        for (T item : items) {
+            String value = key.apply(item);
+            if (value != null) {
+                index.computeIfAbsent(normalize(value), k -> new ArrayList<>()).add(item);
+            }
+        }
+        return freeze(index);
+    }
+
+    private static <K, T> Map<K, List<T>> freeze(Map<K, List<T>> index) {
+        Map<K, List<T>> frozen = new HashMap<>();
+        index.forEach((k, v) -> frozen.put(k, List.copyOf(v)));
+        return Map.copyOf(frozen);
+    }
+
+    private static Map<String, Object> toMap(JsonNode node) {
+        if (!node.isObject()) {
+            return Map.of();
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        node.fields().forEachRemaining(e -> map.put(e.getKey(),
+            e.getValue().isValueNode() ? e.getValue().asText() : e.getValue().toString()));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String cardKey(String brand, String scenario) {
+        return normalize(brand) + "." + normalize(scenario);
+    }
+
+    private static String normalize(String key) {
+        return key == null ? null : key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static IllegalArgumentException missing(String type, String id, String resource) {
+        return new IllegalArgumentException("No " + type + " [" + id + "] in " + resource);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // INDEX HOLDERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private record BookingFixtures(
+        List<Movie> movies,
+        Map<String, Movie> moviesById,
+        Map<String, List<Movie>> moviesByGenre,
+        Map<String, List<Movie>> moviesByFormat,
+        List<Theater> theaters,
+        Map<String, Theater> theatersById,
+        Map<String, List<Theater>> theatersByCity,
+        Map<String, List<Theater>> theatersByFormat
+    ) {}
+
+    private record PaymentFixtures(
+        List<TestCard> cards,
+        Map<String, TestCard> cardsByKey,
+        Map<TestCard.ExpectedResult, List<TestCard>> cardsByResult
+    ) {}
+
+    private record PlaybookFixtures(
+        List<Playbook> templates,
+        Map<String, Playbook> templatesById,
+        Map<String, List<Playbook>> templatesByCategory
+    ) {}
+
+    /**
+     * Thread-safe lazy holder: the loader runs at most once, on first get().
+     */
+    private static final class Lazy<T> {
+        private final Supplier<T> loader;
+        private volatile T value;
+
+        Lazy(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        T get() {
+            T result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) {
+                        result = loader.get();
+                        value = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,11 +1,29 @@
 package com.framework.core.data;
 
+import com.framework.core.config.FrameworkConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * GlobalDataCache - Suite-level shared data storage
@@ -18,46 +36,205 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Authentication tokens/state
  * - Master/reference data
  * - Cached API responses
+ *
+ * Two kinds of entries:
+ * - put(): pinned values, never evicted (config, tokens)
+ * - getOrLoad(): loaded values with optional TTL, evicted least-recently-used
+ *   when the cache exceeds framework.cache.max-weight
+ *
+ * getOrLoad() is single-flight: concurrent callers for the same key wait for
+ * one loader invocation instead of each calling the API.
+ *
+ * Warm start (framework.cache.snapshot.enabled):
+ * - saveSnapshot() at @AfterSuite persists loaded entries in the configured namespaces
+ * - loadSnapshot() at @BeforeSuite restores them as "warm" entries
+ * - the first getOrLoad() hit on a warm entry returns it immediately and
+ *   refreshes it in the background with the caller's loader
+ *
+ * Shared tier (framework.cache.shared.enabled):
+ * - a host-local L2 (SharedCacheTier) behind the in-process map, shared by
+ *   surefire forks and shard processes on the same machine
+ * - getOrLoad() misses in the configured namespaces consult it before calling
+ *   the loader; only one process on the host runs the loader for a key
+ * - put() with a TTL and remove() write through to it; clear() is local only
+ *
+ * Namespaces are key prefixes up to the first ':' (e.g. "movies:MOVIE-001").
  */
 @Slf4j
 @Component
 public class GlobalDataCache {
 
-    private final ConcurrentHashMap<String, Object> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, InFlightLoad> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong loadedWeight = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong warmHits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong sharedHits = new AtomicLong();
+
+    private volatile ExecutorService revalidator;
+    private volatile SharedCacheTier sharedTier;
+    private volatile boolean sharedTierResolved;
+
+    private volatile ToIntFunction<Object> weigher = value -> 1;
+
+    @Autowired(required = false)
+    private FrameworkConfig config;
 
     // ═══════════════════════════════════════════════════════════════════════════
     // CORE OPERATIONS
     // ═══════════════════════════════════════════════════════════════════════════
 
     public void put(String key, Object value) {
-        cache.put(key, value);
+        Objects.requireNonNull(value, () -> "GlobalDataCache does not store null values: " + key);
+        replace(key, CacheEntry.pinned(value));
         log.debug("GlobalDataCache: Stored [{}] = {}", key, value);
     }
 
+    /**
+     * Stores a value that expires after the given TTL and may be evicted under memory pressure.
+     */
+    public void put(String key, Object value, Duration ttl) {
+        Objects.requireNonNull(value, () -> "GlobalDataCache does not store null values: " + key);
+        replace(key, loadedEntry(value, ttl));
+        evictIfNeeded();
+        SharedCacheTier shared = sharedTierFor(key);
+        if (shared != null) {
+            shared.write(key, value, ttl);
+        }
+        log.debug("GlobalDataCache: Stored [{}] = {} (ttl={})", key, value, ttl);
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T get(String key) {
-        return (T) cache.get(key);
+        CacheEntry entry = liveEntry(key);
+        return entry != null ? (T) entry.value : null;
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(String key, T defaultValue) {
-        return (T) cache.getOrDefault(key, defaultValue);
+        CacheEntry entry = liveEntry(key);
+        return entry != null ? (T) entry.value : defaultValue;
     }
 
     public boolean containsKey(String key) {
-        return cache.containsKey(key);
+        return liveEntry(key) != null;
     }
 
     public void remove(String key) {
-        cache.remove(key);
+        CacheEntry removed = cache.remove(key);
+        if (removed != null && !removed.pinned) {
+            loadedWeight.addAndGet(-removed.weight);
+        }
+        SharedCacheTier shared = sharedTierFor(key);
+        if (shared != null) {
+            shared.remove(key);
+        }
         log.debug("GlobalDataCache: Removed [{}]", key);
     }
 
     public void clear() {
         cache.clear();
+        loadedWeight.set(0);
         log.info("GlobalDataCache: Cleared all data");
     }
 
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LOADER-BASED ACCESS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Returns the cached value for key, loading it once if absent or expired.
+     *
+     * Concurrent callers for the same key share a single loader invocation.
+     * A loader failure is propagated to every waiting caller and nothing is cached.
+     * A loader that asks for its own key would wait for itself forever; that
+     * is rejected with an IllegalStateException instead.
+     *
+     * @param key    Cache key
+     * @param loader Loads the value on a miss (typically an API call)
+     * @param ttl    Time to live, or null / zero for no expiry
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String key, Supplier<T> loader, Duration ttl) {
+        CacheEntry entry = liveEntry(key);
+        if (entry != null) {
+            hits.incrementAndGet();
+            if (entry.warm != null) {
+                revalidateInBackground(key, entry, loader, ttl);
+            }
+            return (T) entry.value;
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        InFlightLoad load = new InFlightLoad(future, Thread.currentThread());
+        InFlightLoad existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            if (existing.owner() == Thread.currentThread()) {
+                throw new IllegalStateException("Re-entrant getOrLoad of [" + key + "] from its own loader");
+            }
+            return (T) await(existing.future());
+        }
+
+        try {
+            // Another thread may have finished loading between our miss and winning the slot
+            entry = liveEntry(key);
+            if (entry != null) {
+                future.complete(entry.value);
+                return (T) entry.value;
+            }
+
+            long start = System.nanoTime();
+            T value;
+            Duration effectiveTtl = ttl;
+            SharedCacheTier shared = sharedTierFor(key);
+            if (shared != null) {
+                SharedCacheTier.SharedValue sharedValue = shared.getOrLoad(key, loader, ttl);
+                value = (T) sharedValue.value();
+                effectiveTtl = sharedValue.ttl();
+                (sharedValue.loaded() ? loads : sharedHits).incrementAndGet();
+            } else {
+                value = loader.get();
+                loads.incrementAndGet();
+            }
+            loadNanos.addAndGet(System.nanoTime() - start);
+
+            replace(key, loadedEntry(value, effectiveTtl));
+            evictIfNeeded();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loadFailures.incrementAndGet();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * getOrLoad with the configured default TTL.
+     */
+    public <T> T getOrLoad(String key, Supplier<T> loader) {
+        return getOrLoad(key, loader, defaultTtl());
+    }
+
+    /**
+     * Sets the function used to weigh loaded entries against max-weight.
+     * Default weight is 1 per entry, i.e. max-weight is an entry count.
+     */
+    public void setWeigher(ToIntFunction<Object> weigher) {
+        this.weigher = weigher;
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // TYPED GETTERS
     // ═══════════════════════════════════════════════════════════════════════════
@@ -107,11 +284,18 @@ public class GlobalDataCache {
     }
 
     public Map<String, Object> getAll() {
-        return new ConcurrentHashMap<>(cache);
+        Map<String, Object> snapshot = new ConcurrentHashMap<>();
+        long now = System.nanoTime();
+        cache.forEach((k, e) -> {
+            if (!e.isExpired(now) && e.value != null) {
+                snapshot.put(k, e.value);
+            }
+        });
+        return snapshot;
     }
 
     public void putAll(Map<String, Object> data) {
-        cache.putAll(data);
+        data.forEach(this::put);
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -120,6 +304,334 @@ public class GlobalDataCache {
 
     public void logContents() {
         log.info("GlobalDataCache contents ({} items):", cache.size());
-        cache.forEach((k, v) -> log.info("  [{}] = {}", k, v));
+        cache.forEach((k, e) -> log.info("  [{}] = {}", k, e.value));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // WARM-START SNAPSHOT
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Restores entries from the snapshot written by a previous run.
+     * No-op unless framework.cache.snapshot.enabled is set.
+     */
+    public void loadSnapshot() {
+        if (config == null || !config.getCache().getSnapshot().isEnabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Map<String, CacheSnapshotFile.SnapshotEntry> entries =
+                snapshotFile().read(Duration.ofMinutes(config.getCache().getSnapshot().getMaxAgeMinutes()));
+
+            int restored = 0;
+            for (Map.Entry<String, CacheSnapshotFile.SnapshotEntry> e : entries.entrySet()) {
+                if (!inSnapshotNamespace(e.getKey())) {
+                    continue;
+                }
+                CacheEntry entry = loadedEntry(e.getValue().value(), e.getValue().ttl());
+                entry.warm = new AtomicBoolean();
+                if (cache.putIfAbsent(e.getKey(), entry) == null) {
+                    loadedWeight.addAndGet(entry.weight);
+                    restored++;
+                }
+            }
+            evictIfNeeded();
+
+            log.info("GlobalDataCache: Restored {} entries from snapshot in {}ms",
+                restored, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("GlobalDataCache: Could not read snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Persists loaded entries in the configured namespaces for the next run.
+     * No-op unless framework.cache.snapshot.enabled is set.
+     */
+    public void saveSnapshot() {
+        if (config == null || !config.getCache().getSnapshot().isEnabled()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Map<String, CacheSnapshotFile.SnapshotEntry> entries = new LinkedHashMap<>();
+        cache.forEach((key, entry) -> {
+            if (!entry.pinned && !entry.isExpired(now) && inSnapshotNamespace(key)) {
+                Duration ttl = entry.expiresAt == Long.MAX_VALUE ? null : Duration.ofNanos(entry.expiresAt - now);
+                entries.put(key, new CacheSnapshotFile.SnapshotEntry(entry.value, ttl));
+            }
+        });
+
+        try {
+            int written = snapshotFile().write(entries);
+            log.info("GlobalDataCache: Saved {} entries to snapshot", written);
+        } catch (IOException e) {
+            log.warn("GlobalDataCache: Could not write snapshot: {}", e.getMessage());
+        }
+    }
+
+    private CacheSnapshotFile snapshotFile() {
+        FrameworkConfig.CacheConfig.SnapshotConfig snapshot = config.getCache().getSnapshot();
+        return new CacheSnapshotFile(Paths.get(snapshot.getPath()), snapshot.getSchemaVersion(),
+            config.getEnvironment(), config.getApiUrl());
+    }
+
+    private boolean inSnapshotNamespace(String key) {
+        return inNamespace(key, config.getCache().getSnapshot().getNamespaces());
+    }
+
+    private static boolean inNamespace(String key, List<String> namespaces) {
+        int separator = key.indexOf(':');
+        return separator > 0 && namespaces.contains(key.substring(0, separator));
+    }
+
+    private <T> void revalidateInBackground(String key, CacheEntry entry, Supplier<T> loader, Duration ttl) {
+        if (!entry.warm.compareAndSet(false, true)) {
+            return;
+        }
+        warmHits.incrementAndGet();
+
+        revalidator().execute(() -> {
+            try {
+                CacheEntry fresh = loadedEntry(loader.get(), ttl);
+                if (cache.replace(key, entry, fresh)) {
+                    loadedWeight.addAndGet(fresh.weight - entry.weight);
+                    revalidations.incrementAndGet();
+                    SharedCacheTier shared = sharedTierFor(key);
+                    if (shared != null) {
+                        shared.write(key, fresh.value, ttl);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.debug("GlobalDataCache: Background revalidation of [{}] failed, keeping snapshot value: {}",
+                    key, e.getMessage());
+            }
+        });
+    }
+
+    private ExecutorService revalidator() {
+        if (revalidator == null) {
+            synchronized (this) {
+                if (revalidator == null) {
+                    revalidator = Executors.newSingleThreadExecutor(r -> {
+                        Thread thread = new Thread(r, "global-cache-revalidator");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return revalidator;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SHARED TIER
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Returns the shared tier if enabled and key is in a shared namespace, otherwise null.
+     * The tier is opened on first use; if the directory cannot be created the
+     * cache runs without it.
+     */
+    private SharedCacheTier sharedTierFor(String key) {
+        if (config == null || !config.getCache().getShared().isEnabled()
+                || !inNamespace(key, config.getCache().getShared().getNamespaces())) {
+            return null;
+        }
+        if (!sharedTierResolved) {
+            synchronized (this) {
+                if (!sharedTierResolved) {
+                    sharedTier = openSharedTier();
+                    sharedTierResolved = true;
+                }
+            }
+        }
+        return sharedTier;
+    }
+
+    private SharedCacheTier openSharedTier() {
+        FrameworkConfig.CacheConfig.SharedConfig shared = config.getCache().getShared();
+        String scope = String.join("|", config.getCache().getSnapshot().getSchemaVersion(),
+            String.valueOf(config.getEnvironment()), String.valueOf(config.getApiUrl()));
+        try {
+            SharedCacheTier tier = new SharedCacheTier(Paths.get(shared.getDirectory()), scope,
+                Duration.ofMinutes(shared.getMaxAgeMinutes()), Duration.ofSeconds(shared.getLockTimeoutSeconds()));
+            int purged = tier.purgeExpired();
+            log.info("GlobalDataCache: Shared tier at {} ({} stale files purged)", tier.getDirectory(), purged);
+            return tier;
+        } catch (IOException | RuntimeException e) {
+            log.warn("GlobalDataCache: Shared tier unavailable, continuing in-process only: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // STATISTICS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.get(), misses.get(), loads.get(), loadFailures.get(),
+            Duration.ofNanos(loadNanos.get()), evictions.get(), expirations.get(),
+            warmHits.get(), revalidations.get(), sharedHits.get(), cache.size());
+    }
+
+    /**
+     * Logs hit/miss/load statistics. Called at suite end.
+     */
+    public void logStatistics() {
+        CacheStats stats = getStats();
+        log.info("GlobalDataCache stats: {} entries, {} hits, {} misses ({}% hit rate), "
+                + "{} loads in {}ms ({} failed), {} shared-tier hits, {} evicted, {} expired, "
+                + "{} warm hits ({} revalidated)",
+            stats.size(), stats.hits(), stats.misses(), String.format("%.1f", stats.hitRate() * 100),
+            stats.loads(), stats.totalLoadTime().toMillis(), stats.loadFailures(), stats.sharedHits(),
+            stats.evictions(), stats.expirations(), stats.warmHits(), stats.revalidations());
+    }
+
+    public record CacheStats(long hits, long misses, long loads, long loadFailures,
+                             Duration totalLoadTime, long evictions, long expirations,
+                             long warmHits, long revalidations, long sharedHits, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // INTERNALS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private CacheEntry liveEntry(String key) {
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (entry.isExpired(now)) {
+            if (cache.remove(key, entry)) {
+                loadedWeight.addAndGet(-entry.weight);
+                expirations.incrementAndGet();
+            }
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry;
+    }
+
+    private void replace(String key, CacheEntry entry) {
+        CacheEntry previous = cache.put(key, entry);
+        if (previous != null && !previous.pinned) {
+            loadedWeight.addAndGet(-previous.weight);
+        }
+        if (!entry.pinned) {
+            loadedWeight.addAndGet(entry.weight);
+        }
+    }
+
+    private CacheEntry loadedEntry(Object value, Duration ttl) {
+        long expiresAt = (ttl == null || ttl.isZero() || ttl.isNegative())
+            ? Long.MAX_VALUE
+            : System.nanoTime() + ttl.toNanos();
+        return new CacheEntry(value, false, expiresAt, Math.max(1, weigher.applyAsInt(value)));
+    }
+
+    /**
+     * Evicts expired entries, then least-recently-used loaded entries, until
+     * loaded weight is back under 90% of max-weight. Batching keeps the
+     * scan cost amortised across many puts.
+     */
+    private void evictIfNeeded() {
+        long maxWeight = maxWeight();
+        if (maxWeight <= 0 || loadedWeight.get() <= maxWeight) {
+            return;
+        }
+
+        synchronized (this) {
+            if (loadedWeight.get() <= maxWeight) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            List<Map.Entry<String, CacheEntry>> candidates = new ArrayList<>();
+            for (Map.Entry<String, CacheEntry> e : cache.entrySet()) {
+                CacheEntry entry = e.getValue();
+                if (entry.pinned) {
+                    continue;
+                }
+                if (entry.isExpired(now)) {
+                    if (cache.remove(e.getKey(), entry)) {
+                        loadedWeight.addAndGet(-entry.weight);
+                        expirations.incrementAndGet();
+                    }
+                } else {
+                    candidates.add(e);
+                }
+            }
+
+            long target = maxWeight * 9 / 10;
+            candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<String, CacheEntry> e : candidates) {
+                if (loadedWeight.get() <= target) {
+                    break;
+                }
+                if (cache.remove(e.getKey(), e.getValue())) {
+                    loadedWeight.addAndGet(-e.getValue().weight);
+                    evictions.incrementAndGet();
+                    log.trace("GlobalDataCache: Evicted [{}]", e.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * A running load and the thread running its loader.
+     */
+    private record InFlightLoad(CompletableFuture<Object> future, Thread owner) {}
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private long maxWeight() {
+        return config != null ? config.getCache().getMaxWeight() : 10_000;
+    }
+
+    private Duration defaultTtl() {
+        return config != null ? Duration.ofSeconds(config.getCache().getDefaultTtlSeconds()) : null;
+    }
+
+    private static final class CacheEntry {
+        final Object value;
+        final boolean pinned;
+        final long expiresAt;
+        final int weight;
+        volatile long lastAccess;
+        // Non-null for entries restored from a snapshot; set once revalidation is claimed
+        AtomicBoolean warm;
+
+        CacheEntry(Object value, boolean pinned, long expiresAt, int weight) {
+            this.value = value;
+            this.pinned = pinned;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+            this.lastAccess = System.nanoTime();
+        }
+
+        static CacheEntry pinned(Object value) {
+            return new CacheEntry(value, true, Long.MAX_VALUE, 0);
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
     }
 }
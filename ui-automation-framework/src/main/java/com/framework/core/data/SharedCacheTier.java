@@ -0,0 +1,338 @@
+package com.framework.core.data;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * SharedCacheTier - Host-local L2 shared by every JVM on the machine
+ *
+ * Surefire forks and shard processes on one agent each have their own
+ * GlobalDataCache. This tier lets them share loaded reference data and
+ * logins through a directory of small entry files.
+ *
+ * Consistency rules:
+ * - Entries are immutable once published: writers write a temp file and
+ *   atomically rename it over the entry, so readers never see partial data
+ * - Loads are single-flight across processes: the loader runs while holding
+ *   an exclusive lock on the key's .lock file, and waiters re-read the entry
+ *   once they acquire it
+ * - Every entry carries an absolute expiry (epoch millis) capped at max-age,
+ *   so no entry outlives a run by more than max-age
+ * - Purging deletes an expired entry and then its .lock file while holding
+ *   that lock; a loader that acquires a lock whose file is gone starts over
+ * - The directory is scoped by schema version + environment + API URL;
+ *   processes against a different target never see each other's data
+ * - The tier is best-effort: any I/O error, or a lock not acquired within
+ *   lock-timeout, falls back to calling the loader directly
+ *
+ * Entry layout (big-endian):
+ *   int magic ("GDS1"), long expires at, string key, string java type,
+ *   int payload length, byte[] JSON payload
+ */
+@Slf4j
+class SharedCacheTier {
+
+    private static final int MAGIC = 0x47445331; // "GDS1"
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    private final Path directory;
+    private final Duration maxAge;
+    private final Duration lockTimeout;
+
+    SharedCacheTier(Path baseDirectory, String scope, Duration maxAge, Duration lockTimeout) throws IOException {
+        this.directory = baseDirectory.resolve(sha256(scope).substring(0, 16));
+        this.maxAge = maxAge;
+        this.lockTimeout = lockTimeout;
+
+        Files.createDirectories(directory);
+        try {
+            // Entries may hold auth tokens - keep them private to the current user
+            Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException ignored) {
+            // Non-POSIX file system
+        }
+    }
+
+    /**
+     * A value read from or published to the shared tier.
+     *
+     * @param ttl    remaining time to live, never null
+     * @param loaded true if this process ran the loader, false if another process had
+     */
+    record SharedValue(Object value, Duration ttl, boolean loaded) {}
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // OPERATIONS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Returns the shared value for key, or runs the loader under the key's
+     * cross-process lock and publishes the result.
+     */
+    SharedValue getOrLoad(String key, Supplier<?> loader, Duration ttl) {
+        SharedValue existing = read(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        Path lockFile = directory.resolve(sha256(key) + ".lock");
+        try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+
+            FileLock lock = acquire(lockChannel);
+            if (lock == null) {
+                log.debug("SharedCacheTier: Lock for [{}] not acquired within {}, loading locally", key, lockTimeout);
+                return new SharedValue(loader.get(), effectiveTtl(ttl), true);
+            }
+            if (!Files.exists(lockFile)) {
+                // Purged while we waited: other processes lock a new file now
+                lock.release();
+                return getOrLoad(key, loader, ttl);
+            }
+
+            try {
+                // Whoever held the lock before us has probably published the entry
+                existing = read(key);
+                if (existing != null) {
+                    return existing;
+                }
+                Object value = loader.get();
+                Duration effective = effectiveTtl(ttl);
+                write(key, value, effective);
+                return new SharedValue(value, effective, true);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            log.debug("SharedCacheTier: Unavailable for [{}], loading locally: {}", key, e.toString());
+            return new SharedValue(loader.get(), effectiveTtl(ttl), true);
+        }
+    }
+
+    /**
+     * Reads a live entry, or returns null if absent, expired or unreadable.
+     */
+    SharedValue read(String key) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(entryPath(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("SharedCacheTier: Could not read [{}]: {}", key, e.getMessage());
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+            long expiresAt = buffer.getLong();
+            long remaining = expiresAt - System.currentTimeMillis();
+            if (remaining <= 0 || !key.equals(readString(buffer))) {
+                return null;
+            }
+            String type = readString(buffer);
+            int length = buffer.getInt();
+            Object value = CacheCodec.decode(type, buffer.slice(buffer.position(), length));
+            return new SharedValue(value, Duration.ofMillis(remaining), false);
+        } catch (IOException | RuntimeException e) {
+            log.debug("SharedCacheTier: Ignoring unreadable entry [{}]: {}", key, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Publishes a value. The previous entry, if any, is replaced atomically.
+     */
+    void write(String key, Object value, Duration ttl) {
+        if (value == null) {
+            return;
+        }
+        Path temp = null;
+        try {
+            CacheCodec.Encoded encoded = CacheCodec.encode(value);
+            temp = Files.createTempFile(directory, sha256(key), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeLong(System.currentTimeMillis() + effectiveTtl(ttl).toMillis());
+                writeString(out, key);
+                writeString(out, encoded.type());
+                out.writeInt(encoded.payload().length);
+                out.write(encoded.payload());
+            }
+            Files.move(temp, entryPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("SharedCacheTier: Could not publish [{}]: {}", key, e.toString());
+            deleteQuietly(temp);
+        }
+    }
+
+    void remove(String key) {
+        deleteQuietly(entryPath(key));
+    }
+
+    /**
+     * Deletes expired entries with their lock files, lock files left without
+     * an entry, and orphaned temp files left by killed processes.
+     *
+     * @return number of files deleted
+     */
+    int purgeExpired() {
+        int deleted = 0;
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    if (now - Files.getLastModifiedTime(file).toMillis() > lockTimeout.toMillis() && deleteQuietly(file)) {
+                        deleted++;
+                    }
+                } else if (name.endsWith(".entry") && expiresAt(file) <= now) {
+                    deleted += purge(name.substring(0, name.length() - ".entry".length()), now);
+                } else if (name.endsWith(".lock") && now - Files.getLastModifiedTime(file).toMillis() > lockTimeout.toMillis()
+                        && !Files.exists(file.resolveSibling(name.replace(".lock", ".entry")))) {
+                    deleted += purge(name.substring(0, name.length() - ".lock".length()), now);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("SharedCacheTier: Purge failed: {}", e.getMessage());
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes an expired (or missing) entry and then its lock file, holding
+     * the lock so no process is loading the key meanwhile. Skipped if the
+     * lock is taken or the entry was republished.
+     */
+    private int purge(String hash, long now) throws IOException {
+        Path entry = directory.resolve(hash + ".entry");
+        Path lockFile = directory.resolve(hash + ".lock");
+        int deleted = 0;
+        try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.tryLock();
+            if (lock == null) {
+                return 0;
+            }
+            try {
+                if (Files.exists(entry) && expiresAt(entry) > now) {
+                    return 0;
+                }
+                if (deleteQuietly(entry)) {
+                    deleted++;
+                }
+                if (deleteQuietly(lockFile)) {
+                    deleted++;
+                }
+            } finally {
+                lock.release();
+            }
+        } catch (OverlappingFileLockException e) {
+            // This process is loading the key right now
+        }
+        return deleted;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private FileLock acquire(FileChannel channel) throws IOException {
+        long deadline = System.nanoTime() + lockTimeout.toNanos();
+        while (true) {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private Duration effectiveTtl(Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || ttl.compareTo(maxAge) > 0) {
+            return maxAge;
+        }
+        return ttl;
+    }
+
+    private long expiresAt(Path entry) {
+        try (FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(12);
+            channel.read(header, 0);
+            header.flip();
+            return header.getInt() == MAGIC ? header.getLong() : 0;
+        } catch (IOException | BufferUnderflowException e) {
+            return 0;
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(sha256(key) + ".entry");
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        if (path == null) {
+            return false;
+        }
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,310 @@
+package com.framework.core.data;
+
+import com.framework.core.base.TestScope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * SharedFixtures - Server-side fixtures built once and shared by many tests
+ *
+ * A test class declares a Fixture (key, build, teardown, optional duplicate)
+ * and asks for an instance by parameters:
+ * - share(): the shared instance for (scope, key, params). Built once with
+ *   single-flight - concurrent first users wait for one build - and handed to
+ *   every later user. Treat it as read-only.
+ * - copy(): a private instance for a test that changes the fixture. Made with
+ *   the fixture's duplicate function (e.g. DashboardApiClient.duplicateDashboard),
+ *   which copies the shared instance server-side; without one it is built from
+ *   scratch. Copies are torn down when the test ends.
+ *
+ * Reference counting:
+ * - Each test holding an instance counts as one reference until BaseTest's
+ *   teardown releases it; share() outside a test (e.g. @BeforeClass) is held
+ *   by the scope itself
+ * - CLASS instances close with the test class (SharedFixtureListener), SUITE instances
+ *   at @AfterSuite; an instance is torn down once it is closed and its last
+ *   reference is released, so a test still using it is never pulled from under
+ *
+ * Build failures are not cached: every waiting user gets the error and the
+ * next share() tries again.
+ */
+@Slf4j
+@Component
+public class SharedFixtures {
+
+    private final Object lock = new Object();
+    private final Map<InstanceKey, Instance> instances = new HashMap<>();
+    private final Map<TestScope, List<Runnable>> releases = new IdentityHashMap<>();
+
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong shares = new AtomicLong();
+    private final AtomicLong copies = new AtomicLong();
+    private final AtomicLong teardowns = new AtomicLong();
+    private final AtomicLong buildFailures = new AtomicLong();
+
+    public enum Scope {
+        /** One instance per test class, torn down after the class */
+        CLASS,
+        /** One instance for the whole suite */
+        SUITE
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // DEFINITIONS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * How to build, tear down and copy one kind of fixture.
+     */
+    public static final class Fixture<T> {
+        private final String key;
+        private final Function<List<Object>, T> build;
+        private Scope scope = Scope.CLASS;
+        private Consumer<T> teardown = value -> { };
+        private UnaryOperator<T> duplicate;
+
+        private Fixture(String key, Function<List<Object>, T> build) {
+            this.key = key;
+            this.build = build;
+        }
+
+        public Fixture<T> scope(Scope scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        public Fixture<T> teardown(Consumer<T> teardown) {
+            this.teardown = teardown;
+            return this;
+        }
+
+        /**
+         * Server-side copy used by copy(); without it copies are built from scratch.
+         */
+        public Fixture<T> duplicate(UnaryOperator<T> duplicate) {
+            this.duplicate = duplicate;
+            return this;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * @param build receives the parameters passed to share()/copy()
+     */
+    public static <T> Fixture<T> fixture(String key, Function<List<Object>, T> build) {
+        return new Fixture<>(key, build);
+    }
+
+    private record InstanceKey(Scope scope, Class<?> owner, String key, List<Object> params) {
+
+        @Override
+        public String toString() {
+            return key + (params.isEmpty() ? "" : params.toString())
+                + (owner != null ? " (" + owner.getSimpleName() + ")" : " (suite)");
+        }
+    }
+
+    private static final class Instance {
+        final CompletableFuture<Object> value = new CompletableFuture<>();
+        final Consumer<Object> teardown;
+        int references;
+        boolean closed;
+
+        @SuppressWarnings("unchecked")
+        Instance(Fixture<?> fixture) {
+            this.teardown = (Consumer<Object>) fixture.teardown;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ACCESS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * The shared instance of the fixture for these parameters. Do not modify it;
+     * use copy() instead.
+     *
+     * @param testClass owner of CLASS-scoped instances
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T share(Fixture<T> fixture, Class<?> testClass, Object... params) {
+        InstanceKey key = new InstanceKey(fixture.scope, fixture.scope == Scope.CLASS ? testClass : null,
+            fixture.key, List.of(params));
+        TestScope test = TestScope.currentOrNull();
+
+        Instance instance;
+        boolean builder = false;
+        synchronized (lock) {
+            instance = instances.get(key);
+            if (instance == null || instance.closed) {
+                instance = new Instance(fixture);
+                instances.put(key, instance);
+                builder = true;
+            }
+            if (test != null) {
+                instance.references++;
+                Instance held = instance;
+                releases.computeIfAbsent(test, scope -> new ArrayList<>()).add(() -> release(key, held));
+            }
+        }
+
+        if (builder) {
+            long started = System.nanoTime();
+            try {
+                // Shared instances are deleted by their teardown, not after the building test
+                instance.value.complete(CleanupJournal.detached(() -> fixture.build.apply(key.params())));
+                builds.incrementAndGet();
+                log.info("Shared fixture built: {} in {}ms", key, (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException | Error e) {
+                buildFailures.incrementAndGet();
+                synchronized (lock) {
+                    instances.remove(key, instance);
+                }
+                instance.value.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            shares.incrementAndGet();
+        }
+
+        try {
+            return (T) instance.value.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                : new IllegalStateException("Fixture " + key + " could not be built", e.getCause());
+        }
+    }
+
+    /**
+     * A private instance the calling test may modify, torn down when it ends.
+     */
+    public <T> T copy(Fixture<T> fixture, Class<?> testClass, Object... params) {
+        T copy = fixture.duplicate != null
+            ? fixture.duplicate.apply(share(fixture, testClass, params))
+            : fixture.build.apply(List.of(params));
+        copies.incrementAndGet();
+
+        TestScope test = TestScope.currentOrNull();
+        if (test != null) {
+            synchronized (lock) {
+                releases.computeIfAbsent(test, scope -> new ArrayList<>())
+                    .add(() -> tearDown(fixture.key + " copy", fixture.teardown, copy));
+            }
+        }
+        return copy;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // RELEASE & TEARDOWN
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Releases everything the test holds. Called by BaseTest after each test.
+     */
+    public void release(TestScope test) {
+        List<Runnable> held;
+        synchronized (lock) {
+            held = releases.remove(test);
+        }
+        if (held != null) {
+            held.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Closes the class's CLASS-scoped instances. Called after the class's last test.
+     */
+    public void closeClass(Class<?> testClass) {
+        close(key -> key.scope() == Scope.CLASS && key.owner() == testClass);
+    }
+
+    /**
+     * Closes every remaining instance, including ones still referenced. Called at suite end.
+     */
+    public void closeAll() {
+        synchronized (lock) {
+            instances.forEach((key, instance) -> {
+                if (instance.references > 0) {
+                    log.warn("Shared fixture {} still has {} users at suite end", key, instance.references);
+                    instance.references = 0;
+                }
+            });
+        }
+        close(key -> true);
+    }
+
+    private void close(Predicate<InstanceKey> selector) {
+        List<Map.Entry<InstanceKey, Instance>> idle = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<Map.Entry<InstanceKey, Instance>> entries = instances.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<InstanceKey, Instance> entry = entries.next();
+                if (selector.test(entry.getKey())) {
+                    entry.getValue().closed = true;
+                    if (entry.getValue().references == 0) {
+                        entries.remove();
+                        idle.add(entry);
+                    }
+                }
+            }
+        }
+        idle.forEach(entry -> tearDown(entry.getKey().toString(), entry.getValue().teardown,
+            entry.getValue().value.getNow(null)));
+    }
+
+    private void release(InstanceKey key, Instance instance) {
+        boolean last;
+        synchronized (lock) {
+            last = --instance.references == 0 && instance.closed;
+            if (last) {
+                // A closed instance may already have been replaced by a newer build
+                instances.remove(key, instance);
+            }
+        }
+        if (last) {
+            tearDown(key.toString(), instance.teardown, instance.value.getNow(null));
+        }
+    }
+
+    private <T> void tearDown(String name, Consumer<T> teardown, T value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            teardown.accept(value);
+            teardowns.incrementAndGet();
+            log.debug("Shared fixture torn down: {}", name);
+        } catch (RuntimeException e) {
+            log.warn("Teardown of fixture {} failed: {}", name, e.getMessage());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // STATISTICS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public void logStatistics() {
+        if (builds.get() + copies.get() + buildFailures.get() == 0) {
+            return;
+        }
+        log.info("SharedFixtures: {} built, {} reused, {} copies, {} torn down, {} build failures",
+            builds.get(), shares.get(), copies.get(), teardowns.get(), buildFailures.get());
+    }
+}
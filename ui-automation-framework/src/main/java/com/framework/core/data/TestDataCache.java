@@ -3,16 +3,25 @@ package com.framework.core.data;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * TestDataCache - Thread-isolated test data storage
+ * TestDataCache - Test-isolated data storage
  *
- * Each test thread gets its own instance via ThreadLocal in BaseTest.
- * Data is automatically cleared after each test method.
+ * Each test owns one instance through its TestScope in BaseTest.
+ * Access is synchronized so sub-tasks the test hands its scope to can share it.
+ *
+ * Reuse:
+ * - recycle() clears the storage and hands it to a new cache for the next
+ *   test on the thread, so the map is reset rather than reallocated
+ * - The storage carries a generation that recycle() advances; a cache whose
+ *   generation is no longer current throws on every access, so a task that
+ *   outlived its test can neither read nor write the next test's data
  *
  * Use cases:
  * - Store IDs created during test setup (orderId, cartId, userId)
@@ -22,30 +31,60 @@ import java.util.Set;
 @Slf4j
 public class TestDataCache {
 
-    private final Map<String, Object> cache = new HashMap<>();
+    private final Storage storage;
+    private final long generation;
+    private final Map<String, Object> cache;
+
+    public TestDataCache() {
+        this(new Storage());
+    }
+
+    private TestDataCache(Storage storage) {
+        this.storage = storage;
+        this.generation = storage.generation;
+        this.cache = storage.map;
+    }
+
+    /**
+     * Map shared by the caches recycled from one another. The generation is
+     * read and advanced under the map's lock.
+     */
+    private static final class Storage {
+        private final Map<String, Object> map = Collections.synchronizedMap(new HashMap<>());
+        private long generation;
+    }
 
     // ═══════════════════════════════════════════════════════════════════════════
     // CORE OPERATIONS
     // ═══════════════════════════════════════════════════════════════════════════
 
     public void put(String key, Object value) {
-        cache.put(key, value);
+        synchronized (cache) {
+            checkCurrent();
+            cache.put(key, value);
+        }
         log.debug("TestDataCache: Stored [{}] = {}", key, value);
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(String key) {
-        return (T) cache.get(key);
+        synchronized (cache) {
+            checkCurrent();
+            return (T) cache.get(key);
+        }
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(String key, T defaultValue) {
-        return (T) cache.getOrDefault(key, defaultValue);
+        synchronized (cache) {
+            checkCurrent();
+            return (T) cache.getOrDefault(key, defaultValue);
+        }
     }
 
     @SuppressWarnings("unchecked")
     public <T> T getRequired(String key) {
-        T value = (T) cache.get(key);
+        T value = get(key);
         if (value == null) {
             throw new IllegalStateException("Required test data not found: " + key);
         }
@@ -53,18 +92,40 @@ public class TestDataCache {
     }
 
     public boolean containsKey(String key) {
-        return cache.containsKey(key);
+        synchronized (cache) {
+            checkCurrent();
+            return cache.containsKey(key);
+        }
     }
 
     public void remove(String key) {
-        cache.remove(key);
+        synchronized (cache) {
+            checkCurrent();
+            cache.remove(key);
+        }
     }
 
     public void clear() {
-        cache.clear();
+        synchronized (cache) {
+            checkCurrent();
+            cache.clear();
+        }
         log.debug("TestDataCache: Cleared all data");
     }
 
+    /**
+     * Clears the data and returns a cache for the next test on the same
+     * storage. This cache is retired: any further access throws.
+     */
+    public TestDataCache recycle() {
+        synchronized (cache) {
+            checkCurrent();
+            cache.clear();
+            storage.generation++;
+            return new TestDataCache(storage);
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // TYPED GETTERS
     // ═══════════════════════════════════════════════════════════════════════════
@@ -129,23 +190,44 @@ public class TestDataCache {
     // ═══════════════════════════════════════════════════════════════════════════
 
     public Set<String> keys() {
-        return cache.keySet();
+        synchronized (cache) {
+            checkCurrent();
+            return Collections.unmodifiableSet(new HashSet<>(cache.keySet()));
+        }
     }
 
     public int size() {
-        return cache.size();
+        synchronized (cache) {
+            checkCurrent();
+            return cache.size();
+        }
     }
 
     public boolean isEmpty() {
-        return cache.isEmpty();
+        return size() == 0;
     }
 
     public Map<String, Object> getAll() {
-        return new HashMap<>(cache);
+        synchronized (cache) {
+            checkCurrent();
+            return new HashMap<>(cache);
+        }
     }
 
     public void putAll(Map<String, Object> data) {
-        cache.putAll(data);
+        synchronized (cache) {
+            checkCurrent();
+            cache.putAll(data);
+        }
+    }
+
+    /**
+     * Caller holds the map's lock.
+     */
+    private void checkCurrent() {
+        if (storage.generation != generation) {
+            throw new IllegalStateException("TestDataCache used after its test ended");
+        }
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -153,12 +235,15 @@ public class TestDataCache {
     // ═══════════════════════════════════════════════════════════════════════════
 
     public void logContents() {
-        log.info("TestDataCache contents ({} items):", cache.size());
-        cache.forEach((k, v) -> log.info("  [{}] = {}", k, v));
+        Map<String, Object> snapshot = getAll();
+        log.info("TestDataCache contents ({} items):", snapshot.size());
+        snapshot.forEach((k, v) -> log.info("  [{}] = {}", k, v));
     }
 
     @Override
     public String toString() {
-        return "TestDataCache{" + cache + "}";
+        synchronized (cache) {
+            return storage.generation == generation ? "TestDataCache{" + cache + "}" : "TestDataCache{retired}";
+        }
     }
 }
@@ -0,0 +1,426 @@
+package com.framework.core.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.framework.core.config.FrameworkConfig;
+import com.framework.domains.booking.models.Booking;
+import com.framework.domains.payments.models.Order;
+import com.github.javafaker.Faker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * TestDataGenerator - Seedable synthetic test data backed by javafaker
+ *
+ * Pools:
+ * - Typed pools (addresses, contacts, dashboard names, playbook variables)
+ *   are filled in parallel by prefill() at suite start
+ * - next*() never blocks: it takes a pooled item, or generates one inline
+ *   if the pool is empty
+ * - A pool that drops below its refill threshold is topped up in the background
+ *
+ * Reproducibility:
+ * - Item n of a pool is generated from a Random seeded with (seed, pool, n),
+ *   so the same seed always yields the same items regardless of thread count
+ * - Which test receives which item still depends on scheduling
+ * - framework.data-generation.seed=0 picks a random seed, logged at startup
+ *
+ * Bulk data:
+ * - orders(count) is a lazy stream - items are generated as they are consumed,
+ *   so 100k orders never sit in memory at once
+ * - writeJsonLines() streams any of these to a file for load scenarios
+ */
+@Slf4j
+@Component
+public class TestDataGenerator {
+
+    private static final List<String> HTTP_ENDPOINTS = List.of(
+        "https://httpbin.org/get", "https://httpbin.org/post", "https://httpbin.org/status/200");
+    private static final List<String> SLACK_CHANNELS = List.of("#general", "#alerts", "#test");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Autowired(required = false)
+    private FrameworkConfig config;
+
+    private volatile long seed;
+    private volatile boolean seedResolved;
+    private volatile ExecutorService refillExecutor;
+
+    // One Faker per worker thread; it is reseeded before every item
+    private final ThreadLocal<SeededFaker> fakers = ThreadLocal.withInitial(() -> new SeededFaker(locale()));
+
+    private final Pool<Order.Address> addresses = new Pool<>("addresses", this::address);
+    private final Pool<Booking.ContactInfo> contacts = new Pool<>("contacts", this::contact);
+    private final Pool<String> dashboardNames = new Pool<>("dashboard-names", this::dashboardName);
+    private final Pool<Map<String, Object>> playbookVariables = new Pool<>("playbook-variables", this::playbookVariables);
+    private final List<Pool<?>> pools = List.of(addresses, contacts, dashboardNames, playbookVariables);
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SUITE LIFECYCLE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Fills every pool to the configured size in parallel and waits for completion.
+     * Call once in @BeforeSuite.
+     */
+    public void prefill() {
+        long start = System.nanoTime();
+        int size = poolSize();
+        CompletableFuture<?>[] fills = pools.stream()
+            .map(pool -> CompletableFuture.runAsync(() -> pool.fill(size), executor()))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(fills).join();
+
+        log.info("TestDataGenerator: Pre-generated {} items per pool in {}ms (seed={})",
+            size, (System.nanoTime() - start) / 1_000_000, seed());
+    }
+
+    public void logStatistics() {
+        pools.forEach(pool -> log.info("TestDataGenerator [{}]: {} served, {} generated inline, {} pooled",
+            pool.name, pool.served.get(), pool.inline.get(), pool.size.get()));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // POOLED DATA
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public Order.Address nextAddress() {
+        return addresses.next();
+    }
+
+    public Booking.ContactInfo nextContact() {
+        return contacts.next();
+    }
+
+    public String nextDashboardName() {
+        return dashboardNames.next();
+    }
+
+    /**
+     * Variables for the playbook templates in test-data/playbook/templates.json
+     * and for parameterized playbooks (target_url, message). The returned map
+     * is owned by the caller.
+     */
+    public Map<String, Object> nextPlaybookVariables() {
+        return playbookVariables.next();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // BULK DATA
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lazy, reproducible stream of orders. Order n is the same for a given seed,
+     * so the stream may be consumed in parallel.
+     */
+    public Stream<Order> orders(long count) {
+        return stream("orders", count, this::order);
+    }
+
+    /**
+     * Lazy, reproducible stream of count items built by the generator function.
+     */
+    public <T> Stream<T> stream(String name, long count, Function<GenerationContext, T> generator) {
+        long streamSeed = mix(seed() ^ name.hashCode());
+        return LongStream.range(0, count).mapToObj(n -> generator.apply(context(streamSeed, n)));
+    }
+
+    /**
+     * Writes items as JSON lines without collecting them first.
+     *
+     * @return number of items written
+     */
+    public long writeJsonLines(Stream<?> items, Path file) {
+        AtomicLong written = new AtomicLong();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file); items) {
+                items.forEachOrdered(item -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(item));
+                        writer.newLine();
+                        written.incrementAndGet();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+        log.info("TestDataGenerator: Wrote {} items to {}", written.get(), file);
+        return written.get();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // GENERATORS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private Order.Address address(GenerationContext ctx) {
+        Faker faker = ctx.faker();
+        return Order.Address.builder()
+            .id("ADDR-" + ctx.sequence())
+            .name(faker.name().fullName())
+            .line1(faker.address().streetAddress())
+            .line2("Apartment " + faker.address().buildingNumber())
+            .city(faker.address().city())
+            .state(faker.address().state())
+            .postalCode(faker.number().digits(6))
+            .country("IN")
+            .phone(phone(faker))
+            .build();
+    }
+
+    private Booking.ContactInfo contact(GenerationContext ctx) {
+        Faker faker = ctx.faker();
+        String user = faker.name().username().replaceAll("[^a-z0-9.]", "");
+        return Booking.ContactInfo.builder()
+            // Sequence suffix keeps emails unique across the whole run
+            .email(user + "." + ctx.sequence() + "@example.com")
+            .phone(phone(faker))
+            .build();
+    }
+
+    private String dashboardName(GenerationContext ctx) {
+        Faker faker = ctx.faker();
+        return "QA " + faker.commerce().department() + " " + faker.company().buzzword() + " #" + ctx.sequence();
+    }
+
+    private Map<String, Object> playbookVariables(GenerationContext ctx) {
+        Faker faker = ctx.faker();
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("api_url", faker.options().option(HTTP_ENDPOINTS.toArray(String[]::new)));
+        variables.put("slack_channel", faker.options().option(SLACK_CHANNELS.toArray(String[]::new)));
+        variables.put("data_endpoint", faker.options().option(HTTP_ENDPOINTS.toArray(String[]::new)));
+        variables.put("recipients", faker.name().username().replaceAll("[^a-z0-9.]", "") + "@example.com");
+        variables.put("report_template", faker.lorem().word() + "-report");
+        variables.put("source_url", HTTP_ENDPOINTS.get(0));
+        variables.put("destination_url", HTTP_ENDPOINTS.get(1));
+        variables.put("target_url", faker.options().option(HTTP_ENDPOINTS.toArray(String[]::new)));
+        variables.put("message", faker.lorem().sentence());
+        return variables;
+    }
+
+    private Order order(GenerationContext ctx) {
+        Faker faker = ctx.faker();
+        int itemCount = 1 + faker.random().nextInt(4);
+        List<Order.OrderItem> items = new ArrayList<>(itemCount);
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            int quantity = 1 + faker.random().nextInt(3);
+            BigDecimal price = BigDecimal.valueOf(faker.number().numberBetween(100, 5000));
+            BigDecimal total = price.multiply(BigDecimal.valueOf(quantity));
+            items.add(Order.OrderItem.builder()
+                .id("ITEM-" + ctx.sequence() + "-" + i)
+                .productId("PROD-" + faker.number().digits(5))
+                .name(faker.commerce().productName())
+                .quantity(quantity)
+                .price(price)
+                .totalPrice(total)
+                .build());
+            subtotal = subtotal.add(total);
+        }
+
+        BigDecimal tax = subtotal.multiply(new BigDecimal("0.18")).setScale(2, RoundingMode.HALF_UP);
+        Order.Address shippingAddress = address(ctx);
+        return Order.builder()
+            .id("ORD-" + ctx.sequence())
+            .orderNumber(String.format("LT%010d", ctx.sequence()))
+            .userId("USER-" + faker.number().digits(6))
+            .status(Order.OrderStatus.PENDING)
+            .paymentStatus(Order.PaymentStatus.PENDING)
+            .items(items)
+            .shippingAddress(shippingAddress)
+            .billingAddress(shippingAddress)
+            .subtotal(subtotal)
+            .tax(tax)
+            .shipping(BigDecimal.ZERO)
+            .discount(BigDecimal.ZERO)
+            .total(subtotal.add(tax))
+            .currency("INR")
+            .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(ctx.sequence()))
+            .build();
+    }
+
+    private static String phone(Faker faker) {
+        return faker.options().option("9", "8", "7") + faker.number().digits(9);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SEEDING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public long seed() {
+        if (!seedResolved) {
+            synchronized (this) {
+                if (!seedResolved) {
+                    long configured = config != null ? config.getDataGeneration().getSeed() : 0;
+                    seed = configured != 0 ? configured : ThreadLocalRandom.current().nextLong();
+                    seedResolved = true;
+                    log.info("TestDataGenerator: Using seed {} (set framework.data-generation.seed to reproduce)", seed);
+                }
+            }
+        }
+        return seed;
+    }
+
+    /**
+     * Per-item generation state. The Faker is reseeded for this item and must
+     * not be kept beyond the generator call.
+     */
+    public record GenerationContext(Faker faker, long sequence) {}
+
+    private GenerationContext context(long streamSeed, long sequence) {
+        SeededFaker seeded = fakers.get();
+        seeded.random.setSeed(mix(streamSeed + sequence));
+        return new GenerationContext(seeded.faker, sequence);
+    }
+
+    /**
+     * SplitMix64 finalizer - spreads nearby seeds into unrelated Random states.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class SeededFaker {
+        final Random random = new Random();
+        final Faker faker;
+
+        SeededFaker(Locale locale) {
+            this.faker = new Faker(locale, random);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // POOLS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private final class Pool<T> {
+        private final String name;
+        private final Function<GenerationContext, T> generator;
+        private final ConcurrentLinkedQueue<T> items = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final AtomicLong served = new AtomicLong();
+        private final AtomicLong inline = new AtomicLong();
+        private volatile long poolSeed;
+
+        Pool(String name, Function<GenerationContext, T> generator) {
+            this.name = name;
+            this.generator = generator;
+        }
+
+        T next() {
+            served.incrementAndGet();
+            T item = items.poll();
+            if (item != null) {
+                size.decrementAndGet();
+            } else {
+                inline.incrementAndGet();
+                item = generate();
+            }
+            if (size.get() < poolSize() * refillThreshold()) {
+                scheduleRefill();
+            }
+            return item;
+        }
+
+        void fill(int target) {
+            while (size.get() < target) {
+                items.add(generate());
+                size.incrementAndGet();
+            }
+        }
+
+        private T generate() {
+            if (poolSeed == 0) {
+                poolSeed = mix(seed() ^ name.hashCode());
+            }
+            return generator.apply(context(poolSeed, sequence.getAndIncrement()));
+        }
+
+        private void scheduleRefill() {
+            if (refilling.compareAndSet(false, true)) {
+                executor().execute(() -> {
+                    try {
+                        fill(poolSize());
+                    } catch (RuntimeException e) {
+                        log.warn("TestDataGenerator: Refill of [{}] failed: {}", name, e.getMessage());
+                    } finally {
+                        refilling.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CONFIG
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private ExecutorService executor() {
+        if (refillExecutor == null) {
+            synchronized (this) {
+                if (refillExecutor == null) {
+                    AtomicInteger threadIndex = new AtomicInteger();
+                    int threads = Math.max(1, Math.min(pools.size(), Runtime.getRuntime().availableProcessors()));
+                    refillExecutor = Executors.newFixedThreadPool(threads, r -> {
+                        Thread thread = new Thread(r, "test-data-generator-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return refillExecutor;
+    }
+
+    private int poolSize() {
+        return config != null ? config.getDataGeneration().getPoolSize() : 200;
+    }
+
+    private double refillThreshold() {
+        return config != null ? config.getDataGeneration().getRefillThreshold() : 0.25;
+    }
+
+    private Locale locale() {
+        // javafaker locales use three-letter regions (en-IND), which Locale.forLanguageTag rejects
+        String[] parts = (config != null ? config.getDataGeneration().getLocale() : "en-IND").split("[-_]");
+        return parts.length > 1 ? Locale.of(parts[0], parts[1]) : Locale.of(parts[0]);
+    }
+}
@@ -0,0 +1,441 @@
+package com.framework.core.listeners;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.StatusDetails;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * DurationHistory - Per-test durations across runs, with slowdown detection
+ *
+ * Storage:
+ * - One append-only binary file per branch: <test.history.dir>/<branch>.tdh
+ *   (branch from -Dtest.history.branch, BRANCH_NAME or GIT_BRANCH, else "local")
+ * - Each record is [length][epoch ms][duration ms][outcome][test name] and is
+ *   appended in one write under a lock on <branch>.tdh.lock, so parallel
+ *   forks can share it
+ * - A torn tail from a killed run is truncated on load, and records that do
+ *   not decode are skipped
+ * - Once the file holds more than a few windows of history (or any corrupt
+ *   record) it is compacted, keeping the last KEEP records (any outcome) per
+ *   test: the new file is written next to it and atomically moved over it,
+ *   so a crash mid-write keeps the old history
+ *
+ * Detection (passed tests only):
+ * - Baseline = median and MAD of the last WINDOW passing durations from
+ *   previous runs (at least MIN_SAMPLES)
+ * - Flagged when the robust z-score 0.6745 * (x - median) / MAD exceeds
+ *   Z_THRESHOLD and the test is both MIN_RATIO times and MIN_EXTRA_MS slower
+ *   than its median, so jitter on fast tests is not reported
+ * - Flagged tests get a "SLOWDOWN" line added to their status message, which
+ *   the "Performance Regressions" Allure category matches, and are listed in
+ *   the end-of-suite summary
+ */
+@Slf4j
+public final class DurationHistory {
+
+    static final int WINDOW = 20;
+    /** Records kept per test: passing baseline plus recent failures/skips */
+    static final int KEEP = WINDOW * 2;
+    static final int MIN_SAMPLES = 5;
+    static final double Z_THRESHOLD = 3.5;
+    static final double MIN_RATIO = 1.5;
+    static final long MIN_EXTRA_MS = 1000;
+
+    /** Compact once the file holds this many windows of records per test */
+    private static final int COMPACT_FACTOR = 4;
+    private static final int MAGIC = 0x54444831; // "TDH1"
+
+    public enum Outcome { PASSED, FAILED, SKIPPED }
+
+    private final Path file;
+    private final Object lock = new Object();
+    private Map<String, Deque<Sample>> samples;
+    /** Open on the .lock file while the history is loaded; its lock guards the data file */
+    private FileChannel lockChannel;
+    private final Queue<Slowdown> slowdowns = new ConcurrentLinkedQueue<>();
+    private long recorded;
+
+    DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * History for the current branch, from system properties / CI environment.
+     */
+    static DurationHistory fromEnvironment() {
+        String branch = System.getProperty("test.history.branch");
+        if (branch == null || branch.isBlank()) {
+            branch = System.getenv("BRANCH_NAME");
+        }
+        if (branch == null || branch.isBlank()) {
+            branch = System.getenv("GIT_BRANCH");
+        }
+        if (branch == null || branch.isBlank()) {
+            branch = "local";
+        }
+        String directory = System.getProperty("test.history.dir", ".test-history");
+        return new DurationHistory(Paths.get(directory, branch.replaceAll("[^A-Za-z0-9._-]", "_") + ".tdh"));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // RECORDING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Compares a passed test with its baseline, then appends the duration.
+     * Returns the slowdown if one was detected.
+     */
+    Slowdown record(String testName, long durationMs, Outcome outcome) {
+        Slowdown slowdown = null;
+        synchronized (lock) {
+            ensureLoaded();
+            if (outcome == Outcome.PASSED) {
+                Deque<Sample> history = samples.get(testName);
+                slowdown = history != null ? detect(testName, durationMs, baseline(history)) : null;
+            }
+            append(testName, durationMs, outcome);
+        }
+
+        if (slowdown != null) {
+            slowdowns.add(slowdown);
+            log.warn("Slowdown: {} took {}ms (baseline median {}ms, MAD {}ms, z={})", testName, durationMs,
+                slowdown.medianMs(), slowdown.madMs(), String.format("%.1f", slowdown.zScore()));
+            String message = slowdown.describe();
+            Allure.getLifecycle().updateTestCase(testCase -> {
+                // Keep whatever the test or other listeners already reported
+                StatusDetails details = testCase.getStatusDetails() != null
+                    ? testCase.getStatusDetails() : new StatusDetails();
+                String existing = details.getMessage();
+                testCase.setStatusDetails(details.setMessage(
+                    existing == null || existing.isBlank() ? message : message + "\n" + existing));
+            });
+        }
+        return slowdown;
+    }
+
+    /**
+     * Median/MAD test of a duration against previous runs. Package-private for reuse.
+     */
+    static Slowdown detect(String testName, long durationMs, Deque<Long> history) {
+        if (history.size() < MIN_SAMPLES) {
+            return null;
+        }
+        long[] values = history.stream().mapToLong(Long::longValue).sorted().toArray();
+        double median = median(values);
+        double[] deviations = Arrays.stream(values).mapToDouble(v -> Math.abs(v - median)).sorted().toArray();
+        double mad = deviations.length % 2 == 1 ? deviations[deviations.length / 2]
+            : (deviations[deviations.length / 2 - 1] + deviations[deviations.length / 2]) / 2;
+        // Identical past durations give MAD 0 - use a floor so z stays finite
+        double scale = Math.max(mad, Math.max(median * 0.05, 50));
+        double z = 0.6745 * (durationMs - median) / scale;
+
+        if (z > Z_THRESHOLD && durationMs >= median * MIN_RATIO && durationMs - median >= MIN_EXTRA_MS) {
+            return new Slowdown(testName, durationMs, Math.round(median), Math.round(mad), z, values.length);
+        }
+        return null;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SUMMARY
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Logs the slowdowns detected in this run and closes the file.
+     */
+    void finish() {
+        List<Slowdown> detected = new ArrayList<>(slowdowns);
+        if (!detected.isEmpty()) {
+            detected.sort(Comparator.comparingDouble(Slowdown::zScore).reversed());
+            log.warn("Test slowdowns vs. previous runs ({}):", detected.size());
+            detected.forEach(s -> log.warn("  {}", s.describe()));
+        } else if (recorded > 0) {
+            log.info("No test slowdowns vs. previous runs ({} durations recorded to {})", recorded, file);
+        }
+
+        synchronized (lock) {
+            close();
+        }
+    }
+
+    /**
+     * Closes the file and drops the loaded samples. Caller holds the lock.
+     */
+    private void close() {
+        if (lockChannel != null) {
+            try {
+                lockChannel.close();
+            } catch (IOException e) {
+                log.debug("Could not close duration history: {}", e.getMessage());
+            }
+            lockChannel = null;
+        }
+        samples = null;
+    }
+
+    /**
+     * Median passing duration per test over the last WINDOW runs, for
+     * planning (ShardInterceptor). Reads the file and closes it again.
+     */
+    Map<String, Long> medianDurations() {
+        Map<String, Long> medians = new HashMap<>();
+        synchronized (lock) {
+            ensureLoaded();
+            samples.forEach((name, history) -> {
+                long[] passing = baseline(history).stream().mapToLong(Long::longValue).sorted().toArray();
+                if (passing.length > 0) {
+                    medians.put(name, Math.round(median(passing)));
+                }
+            });
+            close();
+        }
+        return medians;
+    }
+
+    /**
+     * Recent outcomes per test, oldest first, for ordering (TestPrioritizer).
+     * Reads the file and closes it again.
+     */
+    Map<String, List<Outcome>> recentOutcomes() {
+        Map<String, List<Outcome>> outcomes = new HashMap<>();
+        synchronized (lock) {
+            ensureLoaded();
+            samples.forEach((name, history) ->
+                outcomes.put(name, history.stream().map(Sample::outcome).toList()));
+            close();
+        }
+        return outcomes;
+    }
+
+    List<Slowdown> getSlowdowns() {
+        return List.copyOf(slowdowns);
+    }
+
+    /**
+     * One stored run of a test.
+     */
+    record Sample(long timestamp, int durationMs, Outcome outcome) {}
+
+    /**
+     * The last WINDOW passing durations of a test, oldest first.
+     */
+    private static Deque<Long> baseline(Deque<Sample> history) {
+        Deque<Long> passing = new ArrayDeque<>();
+        history.descendingIterator().forEachRemaining(sample -> {
+            if (sample.outcome() == Outcome.PASSED && passing.size() < WINDOW) {
+                passing.addFirst((long) sample.durationMs());
+            }
+        });
+        return passing;
+    }
+
+    /**
+     * A passed test that ran significantly slower than its history.
+     */
+    public record Slowdown(String testName, long durationMs, long medianMs, long madMs, double zScore, int samples) {
+
+        public String describe() {
+            return String.format("SLOWDOWN %s: %dms vs median %dms (x%.1f, MAD %dms, z=%.1f, %d runs)",
+                testName, durationMs, medianMs, (double) durationMs / Math.max(1, medianMs), madMs, zScore, samples);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // STORAGE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Loads samples from previous runs (before anything of this run is
+     * appended) and opens the lock file for appending. Caller holds the lock.
+     */
+    private void ensureLoaded() {
+        if (samples != null) {
+            return;
+        }
+        samples = new HashMap<>();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try (FileLock ignored = lockChannel.lock()) {
+                Loaded loaded = load();
+                if (loaded.corrupt() > 0
+                    || loaded.records() > (long) Math.max(1, samples.size()) * KEEP * COMPACT_FACTOR) {
+                    compact();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Duration history unavailable ({}): {}", file, e.getMessage());
+            close();
+            samples = new HashMap<>();
+        }
+    }
+
+    /**
+     * Valid and skipped record counts of one load.
+     */
+    private record Loaded(long records, long corrupt) {}
+
+    /**
+     * Reads all records into the per-test sample windows. Truncates a torn
+     * tail and skips records that do not decode. Caller holds the file lock.
+     */
+    private Loaded load() throws IOException {
+        try (FileChannel data = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = data.size();
+            if (size == 0) {
+                data.write(ByteBuffer.allocate(4).putInt(0, MAGIC), 0);
+                return new Loaded(0, 0);
+            }
+
+            long records = 0;
+            long corrupt = 0;
+            long valid = 4;
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(data.position(0))));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a duration history file");
+            }
+            try {
+                while (valid < size) {
+                    int length = in.readUnsignedShort();
+                    if (valid + 2 + length > size) {
+                        break;
+                    }
+                    byte[] record = new byte[length];
+                    in.readFully(record);
+                    valid += 2 + length;
+                    try {
+                        decode(record);
+                        records++;
+                    } catch (IOException e) {
+                        corrupt++;
+                    }
+                }
+            } catch (EOFException e) {
+                // Torn record - handled below
+            }
+            if (corrupt > 0) {
+                log.warn("Duration history {}: skipped {} corrupt records", file, corrupt);
+            }
+            if (valid < size) {
+                log.warn("Duration history {}: dropping {} bytes of incomplete record", file, size - valid);
+                data.truncate(valid);
+            }
+            return new Loaded(records, corrupt);
+        }
+    }
+
+    /**
+     * Adds one record (without its length prefix) to the sample windows.
+     * Throws if the record does not decode.
+     */
+    private void decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        long timestamp = in.readLong();
+        int duration = in.readInt();
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= Outcome.values().length) {
+            throw new IOException("unknown outcome " + ordinal);
+        }
+        String name = in.readUTF();
+        Deque<Sample> window = samples.computeIfAbsent(name, n -> new ArrayDeque<>());
+        if (window.size() == KEEP) {
+            window.pollFirst();
+        }
+        window.addLast(new Sample(timestamp, duration, Outcome.values()[ordinal]));
+    }
+
+    /**
+     * Replaces the file with one holding only the sample windows, written to
+     * a temp file and atomically moved into place. Caller holds the file lock.
+     */
+    private void compact() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        for (Map.Entry<String, Deque<Sample>> entry : samples.entrySet()) {
+            for (Sample sample : entry.getValue()) {
+                out.write(encode(entry.getKey(), sample.durationMs(), sample.outcome(), sample.timestamp()));
+            }
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        log.debug("Duration history {} compacted to {} bytes", file, bytes.size());
+    }
+
+    /**
+     * Appends one record in a single write under the file lock. The data file
+     * is opened per append, so a compaction by another fork is never missed.
+     * Caller holds the lock.
+     */
+    private void append(String testName, long durationMs, Outcome outcome) {
+        if (lockChannel == null) {
+            return;
+        }
+        try (FileLock ignored = lockChannel.lock();
+             FileChannel data = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                 StandardOpenOption.APPEND)) {
+            if (data.size() == 0) {
+                data.write(ByteBuffer.allocate(4).putInt(0, MAGIC));
+            }
+            data.write(ByteBuffer.wrap(encode(testName, durationMs, outcome, System.currentTimeMillis())));
+            recorded++;
+        } catch (IOException e) {
+            log.debug("Could not append duration for {}: {}", testName, e.getMessage());
+        }
+    }
+
+    private static byte[] encode(String testName, long durationMs, Outcome outcome, long timestamp) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(0);
+        out.writeLong(timestamp);
+        out.writeInt((int) Math.min(Integer.MAX_VALUE, durationMs));
+        out.writeByte(outcome.ordinal());
+        out.writeUTF(testName);
+        byte[] record = bytes.toByteArray();
+        int length = record.length - 2;
+        record[0] = (byte) (length >>> 8);
+        record[1] = (byte) length;
+        return record;
+    }
+
+    private static double median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+}
@@ -0,0 +1,415 @@
+package com.framework.core.listeners;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PhaseMetrics - Per-test timing breakdown aggregated across the suite
+ *
+ * Phases:
+ * - SETUP / BODY / TEARDOWN: @BeforeMethod configs, the test method and
+ *   @AfterMethod configs, timed by TestListener
+ * - API_POLL / EXPLICIT_WAIT: time inside status-polling loops and fixed
+ *   sleeps, reported by the code doing the waiting via {@link #time(Phase)}.
+ *   They overlap the phase they happen in (usually BODY)
+ *
+ * Each phase feeds a lock-free histogram (atomic bucket counters), so
+ * recording from parallel test threads never contends on a lock. A test
+ * only adds to the histogram of a phase it actually went through: a test
+ * that never polled contributes nothing to api_poll rather than a zero.
+ * Per-test breakdowns are kept for the slowest-test and slowest-phase lists.
+ *
+ * At suite end writeReports() exports:
+ * - test-phases.om: OpenMetrics text (histogram per phase)
+ * - test-phases.json: percentiles per phase plus the slowest tests/phases
+ */
+@Slf4j
+public final class PhaseMetrics {
+
+    public enum Phase {
+        SETUP, BODY, TEARDOWN, API_POLL, EXPLICIT_WAIT;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Histogram bucket upper bounds in ms (OpenMetrics le values are in seconds) */
+    static final long[] BUCKET_BOUNDS_MS = {
+        5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000, 120_000, 300_000
+    };
+
+    private static final int SLOWEST_LIMIT = 10;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final Map<Phase, Histogram> histograms = new EnumMap<>(Phase.class);
+    private static final Histogram totals = new Histogram();
+    private static final Queue<TestTiming> timings = new ConcurrentLinkedQueue<>();
+    private static final Queue<ThreadState> threadStates = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadState> state = ThreadLocal.withInitial(() -> {
+        ThreadState created = new ThreadState();
+        threadStates.add(created);
+        return created;
+    });
+
+    static {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new Histogram());
+        }
+    }
+
+    private PhaseMetrics() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // RECORDING (called by TestListener)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    static void setupStarted() {
+        ThreadState current = state.get();
+        if (current.test != null && current.phase == Phase.TEARDOWN) {
+            // Previous test on this thread is complete once the next one starts
+            current.complete();
+        }
+        current.phase = Phase.SETUP;
+        current.phaseStart = System.nanoTime();
+    }
+
+    static void testStarted(ITestResult result) {
+        ThreadState current = state.get();
+        if (current.test != null) {
+            current.complete();
+        }
+        current.test = result;
+        current.phase = Phase.BODY;
+        current.phaseStart = System.nanoTime();
+    }
+
+    static void testFinished() {
+        ThreadState current = state.get();
+        current.endPhase();
+        current.phase = Phase.TEARDOWN;
+    }
+
+    static void teardownStarted() {
+        ThreadState current = state.get();
+        current.phase = Phase.TEARDOWN;
+        current.phaseStart = System.nanoTime();
+    }
+
+    static void configFinished() {
+        state.get().endPhase();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // WAIT TIMING (called by polling / sleeping code)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Times a wait and adds it to the current test's API_POLL or EXPLICIT_WAIT.
+     *
+     * <pre>
+     * try (PhaseMetrics.Timer ignored = PhaseMetrics.time(Phase.API_POLL)) {
+     *     while (...) { ... Thread.sleep(1000); }
+     * }
+     * </pre>
+     */
+    public static Timer time(Phase phase) {
+        return new Timer(phase, System.nanoTime());
+    }
+
+    public record Timer(Phase phase, long startNanos) implements AutoCloseable {
+        @Override
+        public void close() {
+            state.get().addWait(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // REPORTS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Completes tests still pending on worker threads. Call once all test
+     * threads are done (suite end).
+     */
+    static void completeAll() {
+        for (ThreadState threadState : threadStates) {
+            if (threadState.test != null) {
+                threadState.complete();
+            }
+        }
+    }
+
+    public static List<TestTiming> getTimings() {
+        return List.copyOf(timings);
+    }
+
+    /**
+     * Writes the OpenMetrics and JSON summaries to the directory and logs the
+     * slowest tests and phases.
+     */
+    static void writeReports(Path directory) {
+        completeAll();
+        List<TestTiming> all = new ArrayList<>(timings);
+        if (all.isEmpty()) {
+            return;
+        }
+
+        List<TestTiming> slowestTests = all.stream()
+            .sorted(Comparator.comparingLong(TestTiming::totalMillis).reversed())
+            .limit(SLOWEST_LIMIT)
+            .toList();
+        List<SlowPhase> slowestPhases = all.stream()
+            .flatMap(t -> t.phaseMillis().entrySet().stream()
+                .map(e -> new SlowPhase(t.testName(), e.getKey(), e.getValue())))
+            .sorted(Comparator.comparingLong(SlowPhase::millis).reversed())
+            .limit(SLOWEST_LIMIT)
+            .toList();
+
+        log.info("Test phases ({} tests):", all.size());
+        for (Phase phase : Phase.values()) {
+            Histogram histogram = histograms.get(phase);
+            if (histogram.count() > 0) {
+                log.info("  {}: total {}s, p50 {}ms, p95 {}ms, max {}ms", phase.label(),
+                    String.format("%.1f", histogram.sum() / 1000.0), histogram.percentile(50), histogram.percentile(95), histogram.max());
+            }
+        }
+        log.info("Slowest tests:");
+        slowestTests.forEach(t -> log.info("  {}ms {} (setup {}ms, body {}ms, teardown {}ms, polls {}ms, waits {}ms)",
+            t.totalMillis(), t.testName(), t.phaseMillis().get(Phase.SETUP), t.phaseMillis().get(Phase.BODY),
+            t.phaseMillis().get(Phase.TEARDOWN), t.phaseMillis().get(Phase.API_POLL),
+            t.phaseMillis().get(Phase.EXPLICIT_WAIT)));
+        log.info("Slowest phases:");
+        slowestPhases.forEach(p -> log.info("  {}ms {} [{}]", p.millis(), p.testName(), p.phase().label()));
+
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("test-phases.om"), openMetrics());
+            objectMapper.writeValue(directory.resolve("test-phases.json").toFile(),
+                jsonSummary(all.size(), slowestTests, slowestPhases));
+            log.info("Test phase metrics written to {}", directory);
+        } catch (IOException e) {
+            log.warn("Could not write test phase metrics: {}", e.getMessage());
+        }
+    }
+
+    static String openMetrics() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# TYPE test_phase_duration_seconds histogram\n");
+        sb.append("# UNIT test_phase_duration_seconds seconds\n");
+        sb.append("# HELP test_phase_duration_seconds Time per test spent in each phase.\n");
+        for (Phase phase : Phase.values()) {
+            histograms.get(phase).appendOpenMetrics(sb, "test_phase_duration_seconds", "phase=\"" + phase.label() + "\"");
+        }
+        sb.append("# TYPE test_duration_seconds histogram\n");
+        sb.append("# UNIT test_duration_seconds seconds\n");
+        sb.append("# HELP test_duration_seconds Setup, body and teardown time per test.\n");
+        totals.appendOpenMetrics(sb, "test_duration_seconds", null);
+        sb.append("# EOF\n");
+        return sb.toString();
+    }
+
+    private static Map<String, Object> jsonSummary(int tests, List<TestTiming> slowestTests, List<SlowPhase> slowestPhases) {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            Histogram histogram = histograms.get(phase);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.count());
+            stats.put("totalMs", histogram.sum());
+            stats.put("p50Ms", histogram.percentile(50));
+            stats.put("p95Ms", histogram.percentile(95));
+            stats.put("p99Ms", histogram.percentile(99));
+            stats.put("maxMs", histogram.max());
+            phases.put(phase.label(), stats);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("tests", tests);
+        summary.put("totalMs", totals.sum());
+        summary.put("phases", phases);
+        summary.put("slowestTests", slowestTests.stream().map(t -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("test", t.testName());
+            entry.put("status", t.status());
+            entry.put("totalMs", t.totalMillis());
+            t.phaseMillis().forEach((phase, millis) -> entry.put(phase.label() + "Ms", millis));
+            return entry;
+        }).toList());
+        summary.put("slowestPhases", slowestPhases.stream().map(p -> Map.of(
+            "test", p.testName(), "phase", p.phase().label(), "ms", p.millis())).toList());
+        return summary;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // DATA CLASSES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * One test's breakdown. totalMillis is setup + body + teardown; API_POLL
+     * and EXPLICIT_WAIT are contained in those.
+     */
+    public record TestTiming(String testName, String status, Map<Phase, Long> phaseMillis) {
+
+        public long totalMillis() {
+            return phaseMillis.get(Phase.SETUP) + phaseMillis.get(Phase.BODY) + phaseMillis.get(Phase.TEARDOWN);
+        }
+    }
+
+    record SlowPhase(String testName, Phase phase, long millis) {}
+
+    /**
+     * Phase timer state for the test currently running on one worker thread.
+     * Only touched by that thread, except completeAll() at suite end.
+     */
+    private static final class ThreadState {
+        private ITestResult test;
+        private Phase phase;
+        private long phaseStart;
+        private final long[] nanos = new long[Phase.values().length];
+        private final boolean[] timed = new boolean[Phase.values().length];
+
+        void endPhase() {
+            if (phase != null && phaseStart != 0) {
+                nanos[phase.ordinal()] += System.nanoTime() - phaseStart;
+                timed[phase.ordinal()] = true;
+            }
+            phaseStart = 0;
+        }
+
+        void addWait(Phase waitPhase, long elapsed) {
+            if (phase == null) {
+                // Outside any test (suite setup) - not attributed
+                return;
+            }
+            nanos[waitPhase.ordinal()] += elapsed;
+            timed[waitPhase.ordinal()] = true;
+        }
+
+        void complete() {
+            Map<Phase, Long> millis = new EnumMap<>(Phase.class);
+            long total = 0;
+            for (Phase p : Phase.values()) {
+                long value = nanos[p.ordinal()] / 1_000_000;
+                millis.put(p, value);
+                if (timed[p.ordinal()]) {
+                    histograms.get(p).record(value);
+                }
+                if (p == Phase.SETUP || p == Phase.BODY || p == Phase.TEARDOWN) {
+                    total += value;
+                }
+            }
+            totals.record(total);
+            timings.add(new TestTiming(TestListener.testName(test), status(test), millis));
+
+            test = null;
+            phase = null;
+            phaseStart = 0;
+            Arrays.fill(nanos, 0);
+            Arrays.fill(timed, false);
+        }
+
+        private static String status(ITestResult result) {
+            return switch (result.getStatus()) {
+                case ITestResult.SUCCESS -> "passed";
+                case ITestResult.FAILURE -> "failed";
+                case ITestResult.SKIP -> "skipped";
+                default -> "other";
+            };
+        }
+    }
+
+    /**
+     * Fixed-bucket histogram of millisecond values. Lock-free: each record is
+     * one atomic increment on a bucket plus adder/max updates.
+     */
+    static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long millis) {
+            int index = 0;
+            while (index < BUCKET_BOUNDS_MS.length && millis > BUCKET_BOUNDS_MS[index]) {
+                index++;
+            }
+            buckets.incrementAndGet(index);
+            count.increment();
+            sum.add(millis);
+            max.accumulateAndGet(millis, Math::max);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long sum() {
+            return sum.sum();
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        /**
+         * Upper bound of the bucket holding the percentile (capped at max).
+         */
+        long percentile(int percentile) {
+            long total = count();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return i < BUCKET_BOUNDS_MS.length ? Math.min(BUCKET_BOUNDS_MS[i], max()) : max();
+                }
+            }
+            return max();
+        }
+
+        void appendOpenMetrics(StringBuilder sb, String name, String labels) {
+            String prefix = labels != null ? labels + "," : "";
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                cumulative += buckets.get(i);
+                sb.append(String.format(Locale.ROOT, "%s_bucket{%sle=\"%s\"} %d%n",
+                    name, prefix, seconds(BUCKET_BOUNDS_MS[i]), cumulative));
+            }
+            cumulative += buckets.get(BUCKET_BOUNDS_MS.length);
+            String braces = labels != null ? "{" + labels + "}" : "";
+            sb.append(String.format(Locale.ROOT, "%s_bucket{%sle=\"+Inf\"} %d%n", name, prefix, cumulative));
+            sb.append(String.format(Locale.ROOT, "%s_sum%s %s%n", name, braces, seconds(sum())));
+            sb.append(String.format(Locale.ROOT, "%s_count%s %d%n", name, braces, cumulative));
+        }
+
+        private static String seconds(long millis) {
+            return BigDecimal.valueOf(millis, 3).stripTrailingZeros().toPlainString();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.framework.core.listeners;
+
+import com.framework.core.base.ResourceLocks;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ResourceScheduler - Orders tests so conflicting @Uses resources are spread out
+ *
+ * TestNG starts methods roughly in the returned order, one per free thread.
+ * Placing tests with conflicting resources next to each other would make
+ * threads block in ResourceLocks while other work is available, so:
+ * - Each position takes the first remaining method (in the incoming order,
+ *   i.e. after TestPrioritizer) that conflicts with none of the previous
+ *   (threads - 1) picks - the tests likely to be running at the same time
+ * - If every remaining method conflicts, the first one is taken and will
+ *   wait for its resources at runtime
+ *
+ * Correctness does not depend on this order; ResourceLocks enforces it.
+ * "{role}" placeholders are compared literally here.
+ */
+@Slf4j
+public class ResourceScheduler implements IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Map<IMethodInstance, List<ResourceLocks.Claim>> claims = new IdentityHashMap<>();
+        for (IMethodInstance instance : methods) {
+            claims.put(instance, ResourceLocks.claimsOf(
+                instance.getMethod().getConstructorOrMethod().getMethod(), null));
+        }
+        if (claims.values().stream().allMatch(List::isEmpty)) {
+            return methods;
+        }
+
+        int window = Math.max(1, context.getCurrentXmlTest().getThreadCount() - 1);
+        LinkedList<IMethodInstance> remaining = new LinkedList<>(methods);
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        int forced = 0;
+        while (!remaining.isEmpty()) {
+            IMethodInstance next = null;
+            for (IMethodInstance candidate : remaining) {
+                if (!conflictsWithRecent(claims.get(candidate), ordered, window, claims)) {
+                    next = candidate;
+                    break;
+                }
+            }
+            if (next == null) {
+                next = remaining.getFirst();
+                forced++;
+            }
+            remaining.remove(next);
+            ordered.add(next);
+        }
+
+        log.info("Resource-aware order for '{}': {} methods, {} with @Uses, {} unavoidable conflicts "
+            + "with neighbours", context.getName(), methods.size(),
+            claims.values().stream().filter(list -> !list.isEmpty()).count(), forced);
+        return ordered;
+    }
+
+    private static boolean conflictsWithRecent(List<ResourceLocks.Claim> candidate, List<IMethodInstance> ordered,
+                                               int window, Map<IMethodInstance, List<ResourceLocks.Claim>> claims) {
+        if (candidate.isEmpty()) {
+            return false;
+        }
+        for (int i = Math.max(0, ordered.size() - window); i < ordered.size(); i++) {
+            for (ResourceLocks.Claim held : claims.get(ordered.get(i))) {
+                for (ResourceLocks.Claim claim : candidate) {
+                    if (claim.conflictsWith(held)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,287 @@
+package com.framework.core.listeners;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.StatusDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * RetryAnalyzer - In-process retry of infrastructure failures
+ *
+ * Attached to every @Test by TestListener (unless the test names its own).
+ * A failed attempt is re-run when:
+ * - Its failure falls in a retryable Allure category (framework.retry.categories),
+ *   classified with the rules in allure-categories.json the way Allure does it:
+ *   AssertionError = failed, anything else = broken, message/trace regexes
+ * - The test has attempts left (framework.retry.max-attempts, first run included)
+ * - The suite-wide budget (framework.retry.suite-budget) is not used up, so an
+ *   outage fails fast instead of multiplying the run time
+ *
+ * Only the failed method is re-run. TestNG repeats its @BeforeMethod, so the
+ * retry gets a new browser context; BaseTest also logs in again for it
+ * (isRetry) instead of reusing the suite's session.
+ *
+ * Flake statistics: retries per test with their categories and whether a
+ * retry passed, written to target/test-metrics/flaky-tests.txt at suite end.
+ * Tests that pass on a retry are marked flaky in Allure.
+ */
+@Slf4j
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    private static final String CATEGORIES_RESOURCE = "allure-categories.json";
+
+    private static volatile Policy policy = new Policy(1, 0, 0, Set.of());
+    private static final AtomicInteger budgetLeft = new AtomicInteger();
+    private static final AtomicInteger budgetDenied = new AtomicInteger();
+    private static final Map<String, Integer> retriesByResult = new ConcurrentHashMap<>();
+    private static final Map<String, FlakeStats> stats = new ConcurrentHashMap<>();
+    private static volatile List<Category> categories;
+
+    private record Policy(int maxAttempts, int delaySeconds, int suiteBudget, Set<String> categories) {}
+
+    /**
+     * Enables retries for the suite. Until called every test runs once.
+     */
+    public static void configure(int maxAttempts, int delaySeconds, int suiteBudget, List<String> retryable) {
+        policy = new Policy(Math.max(1, maxAttempts), Math.max(0, delaySeconds), Math.max(0, suiteBudget),
+            Set.copyOf(retryable));
+        budgetLeft.set(Math.max(0, suiteBudget));
+        log.info("Retries: up to {} attempts per test, {} per suite, for {}", policy.maxAttempts(),
+            policy.suiteBudget(), policy.categories());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // RETRY DECISION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public boolean retry(ITestResult result) {
+        Policy current = policy;
+        Throwable failure = result.getThrowable();
+        String key = resultKey(result);
+        int retried = retriesByResult.getOrDefault(key, 0);
+        if (failure == null || retried + 1 >= current.maxAttempts()) {
+            return false;
+        }
+
+        String category = categoriesOf(failure).stream()
+            .filter(current.categories()::contains)
+            .findFirst()
+            .orElse(null);
+        if (category == null) {
+            return false;
+        }
+
+        String testName = TestListener.testName(result);
+        if (budgetLeft.getAndUpdate(left -> Math.max(0, left - 1)) == 0) {
+            budgetDenied.incrementAndGet();
+            log.warn("Not retrying {} ({}): suite retry budget of {} is used up", testName, category,
+                current.suiteBudget());
+            return false;
+        }
+
+        retriesByResult.put(key, retried + 1);
+        stats.computeIfAbsent(testName, name -> new FlakeStats()).retried(category);
+        log.warn("↻ Retrying {} (attempt {} of {}) after {}: {}", testName, retried + 2, current.maxAttempts(),
+            category, failure.getMessage());
+
+        if (current.delaySeconds() > 0) {
+            try {
+                Thread.sleep(current.delaySeconds() * 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * True while running a retry of a failed attempt (also in its @BeforeMethod).
+     */
+    public static boolean isRetry(ITestResult result) {
+        return retriesByResult.getOrDefault(resultKey(result), 0) > 0;
+    }
+
+    /**
+     * Records the final outcome of a test that was retried; a pass is flagged
+     * flaky in Allure. Called from TestListener for passed and failed results.
+     * Ends the invocation, so a later invocation with the same key (another
+     * invocationCount round or data-provider row) starts from its first attempt.
+     */
+    static void recordOutcome(ITestResult result, boolean passed) {
+        if (retriesByResult.remove(resultKey(result)) == null) {
+            return;
+        }
+        FlakeStats flake = stats.get(TestListener.testName(result));
+        if (flake != null) {
+            flake.finished(passed);
+        }
+        if (passed) {
+            Allure.getLifecycle().updateTestCase(testCase -> testCase.setStatusDetails(
+                (testCase.getStatusDetails() != null ? testCase.getStatusDetails() : new StatusDetails())
+                    .setFlaky(true)));
+        }
+    }
+
+    /**
+     * Ends an invocation that was skipped rather than retried, e.g. a retry
+     * that threw SkipException. Called from TestListener.
+     */
+    static void recordSkip(ITestResult result) {
+        retriesByResult.remove(resultKey(result));
+    }
+
+    /**
+     * One key per test invocation: the same method in two <test> blocks or
+     * with different parameters is retried independently.
+     */
+    private static String resultKey(ITestResult result) {
+        return result.getTestContext().getName() + "|" + TestListener.testName(result)
+            + Arrays.deepToString(result.getParameters());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // FAILURE CATEGORIES (allure-categories.json)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private record Category(String name, List<String> statuses, Pattern message, Pattern trace) {
+
+        boolean matches(String status, String messageText, String traceText) {
+            return statuses.contains(status)
+                && (message == null || message.matcher(messageText).matches())
+                && (trace == null || trace.matcher(traceText).matches());
+        }
+    }
+
+    /**
+     * Names of the Allure categories a failure falls in, in file order.
+     */
+    static List<String> categoriesOf(Throwable failure) {
+        String status = failure instanceof AssertionError ? "failed" : "broken";
+        String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+        StringWriter trace = new StringWriter();
+        failure.printStackTrace(new PrintWriter(trace));
+        return categories().stream()
+            .filter(category -> category.matches(status, message, trace.toString()))
+            .map(Category::name)
+            .toList();
+    }
+
+    private static List<Category> categories() {
+        if (categories == null) {
+            synchronized (RetryAnalyzer.class) {
+                if (categories == null) {
+                    categories = loadCategories();
+                }
+            }
+        }
+        return categories;
+    }
+
+    private static List<Category> loadCategories() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader() != null
+            ? Thread.currentThread().getContextClassLoader() : RetryAnalyzer.class.getClassLoader();
+        try (InputStream in = loader.getResourceAsStream(CATEGORIES_RESOURCE)) {
+            if (in == null) {
+                log.warn("{} not found on the classpath - failures will not be retried", CATEGORIES_RESOURCE);
+                return List.of();
+            }
+            List<Category> loaded = new ArrayList<>();
+            for (JsonNode node : new ObjectMapper().readTree(in)) {
+                List<String> statuses = new ArrayList<>();
+                node.path("matchedStatuses").forEach(status -> statuses.add(status.asText()));
+                loaded.add(new Category(node.path("name").asText(), statuses,
+                    node.hasNonNull("messageRegex") ? Pattern.compile(node.get("messageRegex").asText()) : null,
+                    node.hasNonNull("traceRegex") ? Pattern.compile(node.get("traceRegex").asText()) : null));
+            }
+            return loaded;
+        } catch (IOException e) {
+            log.warn("Could not read {} - failures will not be retried: {}", CATEGORIES_RESOURCE, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // FLAKE STATISTICS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static final class FlakeStats {
+        private final Map<String, Integer> categories = new LinkedHashMap<>();
+        private int retries;
+        private int passedOnRetry;
+        private int failedAfterRetry;
+
+        synchronized void retried(String category) {
+            retries++;
+            categories.merge(category, 1, Integer::sum);
+        }
+
+        synchronized void finished(boolean passed) {
+            if (passed) {
+                passedOnRetry++;
+            } else {
+                failedAfterRetry++;
+            }
+        }
+    }
+
+    /**
+     * Writes the suite's retry usage and per-test flake statistics and logs the summary.
+     */
+    static void writeReport(Path path) {
+        if (stats.isEmpty() && budgetDenied.get() == 0) {
+            return;
+        }
+        Policy current = policy;
+        List<String> lines = new ArrayList<>();
+        int used = current.suiteBudget() - budgetLeft.get();
+        long flaky = stats.values().stream().filter(flake -> flake.passedOnRetry > 0).count();
+        long failed = stats.values().stream().filter(flake -> flake.failedAfterRetry > 0).count();
+        lines.add(String.format("Retries: %d of %d budget used, %d denied by budget; %d tests retried, "
+            + "%d passed on retry (flaky), %d failed after retry", used, current.suiteBudget(), budgetDenied.get(),
+            stats.size(), flaky, failed));
+        lines.add("");
+        lines.add(String.format("%-60s %7s %7s %7s  %s", "Test", "Retries", "Passed", "Failed", "Categories"));
+        stats.entrySet().stream()
+            .sorted(Comparator.comparingInt((Map.Entry<String, FlakeStats> e) -> e.getValue().retries).reversed()
+                .thenComparing(Map.Entry::getKey))
+            .forEach(e -> {
+                FlakeStats flake = e.getValue();
+                synchronized (flake) {
+                    lines.add(String.format("%-60s %7d %7d %7d  %s", e.getKey(), flake.retries, flake.passedOnRetry,
+                        flake.failedAfterRetry, flake.categories.entrySet().stream()
+                            .map(category -> category.getKey() + " x" + category.getValue())
+                            .collect(Collectors.joining(", "))));
+                }
+            });
+
+        lines.forEach(line -> log.info("{}", line));
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(path, lines);
+        } catch (IOException e) {
+            log.warn("Could not write retry report {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.framework.core.listeners;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestClass;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ShardInterceptor - Splits the suite across CI nodes, balanced by duration
+ *
+ * Configuration (system properties, set by surefire from the pom):
+ * - shard.total: number of nodes (1 = no sharding)
+ * - shard.index: this node, 1-based (1..shard.total)
+ * - SHARD_TOTAL / SHARD_INDEX environment variables are used when the
+ *   properties are not set
+ * - Ignored in work-queue mode (WorkQueueListener), which balances dynamically
+ *
+ * Planning:
+ * - The whole suite (every <test> block) is planned once, so every node
+ *   computes the same plan from the same inputs and history (nodes must
+ *   restore the same .test-history before the run)
+ * - Units that must stay on one node: a class with @BeforeClass/@AfterClass
+ *   fixtures of its own, and methods linked by dependsOnMethods / dependsOnGroups
+ * - Class-level configuration every test class inherits from the framework
+ *   (BaseTest, Spring's test-context hooks, TestNG) runs per JVM anyway and
+ *   does not tie a class to one node
+ * - Unit cost = median duration from DurationHistory; tests without history
+ *   use the median of known tests (or shard.default.ms, 30s)
+ * - Greedy longest-processing-time: units sorted by cost, each assigned to
+ *   the least loaded shard; ties broken by name and shard number
+ */
+@Slf4j
+public class ShardInterceptor implements IMethodInterceptor {
+
+    static final long DEFAULT_ESTIMATE_MS = Long.getLong("shard.default.ms", 30_000);
+
+    /** Packages whose @BeforeClass/@AfterClass methods do not make a class indivisible */
+    static final List<String> FRAMEWORK_PACKAGES = List.of("com.framework.core.base.", "org.springframework.", "org.testng.");
+
+    private final int total;
+    private final int index;
+    private final Map<String, Set<String>> plans = new ConcurrentHashMap<>();
+
+    public ShardInterceptor() {
+        this(intSetting("shard.total", "SHARD_TOTAL", 1), intSetting("shard.index", "SHARD_INDEX", 1));
+    }
+
+    ShardInterceptor(int total, int index) {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException(String.format(
+                "Invalid sharding shard.index=%d shard.total=%d (index is 1-based: 1..total)", index, total));
+        }
+        this.total = total;
+        this.index = index;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // INTERCEPTION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (total == 1 || WorkQueue.isEnabled()) {
+            return methods;
+        }
+        Set<String> assigned = plans.computeIfAbsent(context.getSuite().getName(),
+            name -> plan(context.getSuite().getAllMethods(), DurationHistory.fromEnvironment().medianDurations()));
+
+        List<IMethodInstance> kept = keep(methods, assigned);
+        log.info("Shard {}/{}: running {} of {} methods in '{}'", index, total, kept.size(), methods.size(),
+            context.getName());
+        return kept;
+    }
+
+    /**
+     * The instances whose methods the plan assigned to this shard, in order.
+     */
+    static List<IMethodInstance> keep(List<IMethodInstance> methods, Set<String> assigned) {
+        return methods.stream()
+            .filter(instance -> assigned.contains(key(instance.getMethod())))
+            .collect(Collectors.toList());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PLANNING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Returns the keys of the methods assigned to this shard.
+     */
+    Set<String> plan(Collection<ITestNGMethod> methods, Map<String, Long> medians) {
+        List<Unit> units = estimate(units(methods), medians);
+
+        long[] loads = new long[total];
+        int[] counts = new int[total];
+        Set<String> assigned = new HashSet<>();
+        for (Unit unit : units) {
+            int shard = 0;
+            for (int i = 1; i < total; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            loads[shard] += unit.estimateMs;
+            counts[shard] += unit.methods.size();
+            if (shard == index - 1) {
+                unit.methods.forEach(method -> assigned.add(key(method)));
+            }
+        }
+
+        long max = Arrays.stream(loads).max().orElse(0);
+        long min = Arrays.stream(loads).min().orElse(0);
+        log.info("Shard plan: {} units over {} shards, estimated {} (spread {}%, {} tests with history)",
+            units.size(), total,
+            Arrays.stream(loads).mapToObj(load -> (load / 1000) + "s").collect(Collectors.joining(" / ")),
+            max == 0 ? 0 : Math.round(100.0 * (max - min) / max), medians.size());
+        log.info("Shard {}/{}: {} methods, estimated {}s", index, total, counts[index - 1], loads[index - 1] / 1000);
+        return assigned;
+    }
+
+    /**
+     * Sets each unit's estimated duration and sorts longest first (ties by name).
+     */
+    static List<Unit> estimate(List<Unit> units, Map<String, Long> medians) {
+        long fallback = medians.values().stream().mapToLong(Long::longValue).sorted()
+            .skip(medians.size() / 2).findFirst().orElse(DEFAULT_ESTIMATE_MS);
+
+        for (Unit unit : units) {
+            unit.estimateMs = 0;
+            for (ITestNGMethod method : unit.methods) {
+                String historyName = method.getRealClass().getSimpleName() + "." + method.getMethodName();
+                unit.estimateMs += medians.getOrDefault(historyName, fallback) * Math.max(1, method.getInvocationCount());
+            }
+        }
+        units.sort(Comparator.comparingLong((Unit unit) -> unit.estimateMs).reversed()
+            .thenComparing(unit -> unit.name));
+        return units;
+    }
+
+    /**
+     * Groups methods into units that must run on the same shard.
+     */
+    static List<Unit> units(Collection<ITestNGMethod> methods) {
+        Map<String, List<ITestNGMethod>> byClass = new LinkedHashMap<>();
+        List<ITestNGMethod> sorted = new ArrayList<>(methods);
+        sorted.sort(Comparator.comparing(ShardInterceptor::key));
+        for (ITestNGMethod method : sorted) {
+            byClass.computeIfAbsent(testName(method) + "|" + method.getRealClass().getName(), k -> new ArrayList<>())
+                .add(method);
+        }
+
+        List<Unit> units = new ArrayList<>();
+        byClass.forEach((className, classMethods) -> {
+            if (hasOwnClassFixtures(classMethods.get(0).getTestClass())) {
+                units.add(new Unit(className, classMethods));
+                return;
+            }
+
+            // Union-find over dependsOnMethods / dependsOnGroups within the class
+            int[] parent = new int[classMethods.size()];
+            Arrays.setAll(parent, i -> i);
+            for (int i = 0; i < classMethods.size(); i++) {
+                ITestNGMethod method = classMethods.get(i);
+                for (int j = 0; j < classMethods.size(); j++) {
+                    if (i != j && dependsOn(method, classMethods.get(j))) {
+                        parent[find(parent, i)] = find(parent, j);
+                    }
+                }
+            }
+
+            Map<Integer, List<ITestNGMethod>> groups = new LinkedHashMap<>();
+            for (int i = 0; i < classMethods.size(); i++) {
+                groups.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(classMethods.get(i));
+            }
+            groups.values().forEach(group -> units.add(new Unit(
+                className + "#" + group.get(0).getMethodName(), group)));
+        });
+        return units;
+    }
+
+    /**
+     * True if the class, or one of its superclasses outside the framework,
+     * declares a @BeforeClass/@AfterClass method.
+     */
+    static boolean hasOwnClassFixtures(ITestClass testClass) {
+        if (testClass == null) {
+            return false;
+        }
+        return Stream.concat(Arrays.stream(testClass.getBeforeClassMethods()),
+                Arrays.stream(testClass.getAfterClassMethods()))
+            .map(method -> method.getConstructorOrMethod().getDeclaringClass().getName())
+            .anyMatch(declaringClass -> FRAMEWORK_PACKAGES.stream().noneMatch(declaringClass::startsWith));
+    }
+
+    private static boolean dependsOn(ITestNGMethod method, ITestNGMethod other) {
+        for (String dependency : method.getMethodsDependedUpon()) {
+            String name = dependency.substring(dependency.lastIndexOf('.') + 1);
+            if (name.equals(other.getMethodName())) {
+                return true;
+            }
+        }
+        Set<String> otherGroups = new HashSet<>(Arrays.asList(other.getGroups()));
+        for (String group : method.getGroupsDependedUpon()) {
+            if (otherGroups.contains(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    static final class Unit {
+        final String name;
+        final List<ITestNGMethod> methods;
+        long estimateMs;
+
+        Unit(String name, List<ITestNGMethod> methods) {
+            this.name = name;
+            this.methods = methods;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static String key(ITestNGMethod method) {
+        return testName(method) + "|" + methodKey(method);
+    }
+
+    static String methodKey(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    private static String testName(ITestNGMethod method) {
+        return method.getXmlTest() != null ? method.getXmlTest().getName() : "";
+    }
+
+    private static int intSetting(String property, String environment, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(environment);
+        }
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + property + ": " + value, e);
+        }
+    }
+}
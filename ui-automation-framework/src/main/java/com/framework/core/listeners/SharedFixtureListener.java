@@ -0,0 +1,27 @@
+package com.framework.core.listeners;
+
+import com.framework.core.base.BaseTest;
+import org.testng.IClassListener;
+import org.testng.ITestClass;
+
+/**
+ * SharedFixtureListener - Closes a test class's shared fixtures after its last test
+ *
+ * Takes the place of an @AfterClass method on BaseTest. Every test class
+ * would inherit that method, and class-level configuration makes a class one
+ * indivisible unit for sharding (ShardInterceptor, WorkQueueListener).
+ *
+ * Registered in testng.xml. Without it, CLASS fixtures are closed at suite
+ * end (SharedFixtures.closeAll).
+ */
+public class SharedFixtureListener implements IClassListener {
+
+    @Override
+    public void onAfterClass(ITestClass testClass) {
+        for (Object instance : testClass.getInstances(false)) {
+            if (instance instanceof BaseTest test) {
+                test.closeClassFixtures();
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.framework.core.listeners;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * TestImpactIndex - Maps changed source files to the test classes they affect
+ *
+ * Dependency index:
+ * - Built from bytecode: every com.framework type named in a class file's
+ *   constant pool (class references, field/method descriptors, generic
+ *   signatures), followed transitively through framework classes
+ * - Edges from core into domain classes are not followed: core helpers such
+ *   as TestDataGenerator touch several domains' models, which would otherwise
+ *   make every test depend on every domain
+ * - Computed lazily per test class from the test classpath - no build step
+ *
+ * Changes (ChangeSet):
+ * - -Dimpact.changed=path,path or `git diff --name-only <impact.base>...HEAD`
+ *   plus uncommitted changes when -Dimpact.base is set
+ * - A file under com/framework/domains/<domain>/ marks the whole domain
+ *   (its pages, API clients, playbooks, models) as changed
+ * - Other framework classes mark only that class; resources and the pom
+ *   mark everything
+ */
+@Slf4j
+final class TestImpactIndex {
+
+    private static final String CORE = "com/framework/core/";
+    private static final String DOMAINS = "com/framework/domains/";
+    private static final Pattern CLASS_REFERENCE = Pattern.compile("com/framework/[A-Za-z0-9_/$]+");
+    private static final Pattern JAVA_SOURCE = Pattern.compile(".*src/(?:main|test)/java/(com/framework/.+)\\.java");
+    private static final Pattern DOMAIN = Pattern.compile("(com/framework/domains/[^/]+/).*");
+
+    private final ClassLoader loader;
+    private final Map<String, Set<String>> references = new HashMap<>();
+    private final Map<Class<?>, Set<String>> dependencies = new HashMap<>();
+
+    TestImpactIndex(ClassLoader loader) {
+        this.loader = loader;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // DEPENDENCIES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * All framework classes (internal names) the test class reaches, itself included.
+     */
+    synchronized Set<String> dependencies(Class<?> testClass) {
+        return dependencies.computeIfAbsent(testClass, type -> {
+            Set<String> reached = new HashSet<>();
+            Deque<String> pending = new ArrayDeque<>();
+            pending.add(type.getName().replace('.', '/'));
+            while (!pending.isEmpty()) {
+                String next = pending.poll();
+                if (reached.add(next)) {
+                    boolean core = next.startsWith(CORE);
+                    references(next).stream()
+                        .filter(name -> !reached.contains(name))
+                        .filter(name -> !core || !name.startsWith(DOMAINS))
+                        .forEach(pending::add);
+                }
+            }
+            return reached;
+        });
+    }
+
+    boolean isImpacted(Class<?> testClass, ChangeSet changes) {
+        if (changes.global()) {
+            return true;
+        }
+        for (String dependency : dependencies(testClass)) {
+            String outer = dependency.contains("$") ? dependency.substring(0, dependency.indexOf('$')) : dependency;
+            if (changes.classes().contains(outer)
+                || changes.domains().stream().anyMatch(dependency::startsWith)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> references(String internalName) {
+        return references.computeIfAbsent(internalName, name -> {
+            try (InputStream in = loader.getResourceAsStream(name + ".class")) {
+                if (in == null) {
+                    return Set.of();
+                }
+                Set<String> found = new HashSet<>();
+                for (String text : constantPoolStrings(in)) {
+                    Matcher matcher = CLASS_REFERENCE.matcher(text);
+                    while (matcher.find()) {
+                        found.add(matcher.group());
+                    }
+                }
+                found.remove(name);
+                return found;
+            } catch (IOException e) {
+                log.debug("Could not read bytecode of {}: {}", name, e.getMessage());
+                return Set.of();
+            }
+        });
+    }
+
+    /**
+     * The CONSTANT_Utf8 entries of a class file.
+     */
+    static List<String> constantPoolStrings(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(classFile);
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("not a class file");
+        }
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        int count = in.readUnsignedShort();
+        List<String> strings = new ArrayList<>();
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> strings.add(in.readUTF());
+                case 7, 8, 16, 19, 20 -> in.skipNBytes(2);
+                case 15 -> in.skipNBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+                case 5, 6 -> {
+                    in.skipNBytes(8);
+                    i++;
+                }
+                default -> throw new IOException("unknown constant pool tag " + tag);
+            }
+        }
+        return strings;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CHANGES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Changed classes and domains (internal-name prefixes); global = everything affected.
+     */
+    record ChangeSet(Set<String> classes, Set<String> domains, boolean global, int files) {
+
+        static ChangeSet of(List<String> paths) {
+            Set<String> classes = new HashSet<>();
+            Set<String> domains = new HashSet<>();
+            boolean global = false;
+            for (String raw : paths) {
+                String path = raw.trim().replace('\\', '/');
+                Matcher source = JAVA_SOURCE.matcher(path);
+                if (source.matches()) {
+                    Matcher domain = DOMAIN.matcher(source.group(1));
+                    if (domain.matches()) {
+                        domains.add(domain.group(1));
+                    } else {
+                        classes.add(source.group(1));
+                    }
+                } else if (path.contains("src/main/resources/") || path.contains("src/test/resources/")
+                    || path.endsWith("pom.xml")) {
+                    global = true;
+                }
+            }
+            return new ChangeSet(classes, domains, global, paths.size());
+        }
+
+        /**
+         * Changes from -Dimpact.changed or git against -Dimpact.base; null when neither is set.
+         */
+        static ChangeSet fromEnvironment() {
+            String listed = System.getProperty("impact.changed");
+            if (listed != null && !listed.isBlank()) {
+                return of(Arrays.asList(listed.split(",")));
+            }
+            String base = System.getProperty("impact.base");
+            if (base == null || base.isBlank()) {
+                return null;
+            }
+            try {
+                List<String> paths = new ArrayList<>(git("diff", "--name-only", base + "...HEAD"));
+                paths.addAll(git("diff", "--name-only", "HEAD"));
+                paths.addAll(git("ls-files", "--others", "--exclude-standard"));
+                return of(paths);
+            } catch (IOException e) {
+                log.warn("Change impact unavailable (git diff against {} failed: {})", base, e.getMessage());
+                return null;
+            }
+        }
+
+        private static List<String> git(String... args) throws IOException {
+            List<String> command = new ArrayList<>(List.of("git"));
+            command.addAll(Arrays.asList(args));
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines().filter(line -> !line.isBlank()).forEach(lines::add);
+            }
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                    throw new IOException(String.join(" ", command) + " failed: " + String.join(" ", lines));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", e);
+            }
+            return lines;
+        }
+    }
+}
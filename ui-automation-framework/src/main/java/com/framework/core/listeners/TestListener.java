@@ -3,17 +3,35 @@ package com.framework.core.listeners;
 import io.qameta.allure.Allure;
 import lombok.extern.slf4j.Slf4j;
 import org.testng.*;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
 
 /**
  * TestListener - Custom TestNG listener for test lifecycle events
  *
  * Provides:
  * - Test timing
- * - Retry logging
+ * - In-process retries (RetryAnalyzer on every @Test) and retry logging;
+ *   flake statistics are written to target/test-metrics/flaky-tests.txt
  * - Allure enhancements
+ * - Setup/body/teardown phase metrics (PhaseMetrics), written at suite end
+ *   to target/test-metrics (override with -Dtest.metrics.dir)
+ * - Per-branch duration history with slowdown detection (DurationHistory)
  */
 @Slf4j
-public class TestListener implements ITestListener, ISuiteListener {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener,
+        IAnnotationTransformer {
+
+    private static final String METRICS_DIR = System.getProperty("test.metrics.dir", "target/test-metrics");
+
+    /** What @Test(retryAnalyzer) holds when a test does not set one */
+    private static final Class<?> NO_RETRY_ANALYZER = defaultRetryAnalyzer();
+
+    private final DurationHistory durationHistory = DurationHistory.fromEnvironment();
 
     // ═══════════════════════════════════════════════════════════════════════════
     // SUITE EVENTS
@@ -31,6 +49,62 @@ public class TestListener implements ITestListener, ISuiteListener {
         log.info("╔═══════════════════════════════════════════════════════════════╗");
         log.info("║ Suite Finished: {}", suite.getName());
         log.info("╚═══════════════════════════════════════════════════════════════╝");
+
+        PhaseMetrics.writeReports(Paths.get(METRICS_DIR));
+        RetryAnalyzer.writeReport(Paths.get(METRICS_DIR, "flaky-tests.txt"));
+        durationHistory.finish();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ANNOTATIONS (retry analyzer)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+                          Method testMethod) {
+        Class<? extends IRetryAnalyzer> analyzer = annotation.getRetryAnalyzerClass();
+        if (analyzer == null || analyzer == NO_RETRY_ANALYZER) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    /**
+     * The retryAnalyzer default declared on @Test, read from the public
+     * annotation rather than naming TestNG's internal placeholder class.
+     */
+    private static Class<?> defaultRetryAnalyzer() {
+        try {
+            return (Class<?>) Test.class.getMethod("retryAnalyzer").getDefaultValue();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // METHOD INVOCATIONS (phase timing)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            PhaseMetrics.testStarted(testResult);
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            PhaseMetrics.setupStarted();
+        } else if (testMethod.isAfterMethodConfiguration()) {
+            PhaseMetrics.teardownStarted();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            PhaseMetrics.testFinished();
+        } else if (testMethod.isBeforeMethodConfiguration() || testMethod.isAfterMethodConfiguration()) {
+            PhaseMetrics.configFinished();
+        }
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -52,12 +126,16 @@ public class TestListener implements ITestListener, ISuiteListener {
     public void onTestSuccess(ITestResult result) {
         long duration = result.getEndMillis() - result.getStartMillis();
         log.info("✓ Test Passed: {} ({}ms)", getTestName(result), duration);
+        durationHistory.record(getTestName(result), duration, DurationHistory.Outcome.PASSED);
+        RetryAnalyzer.recordOutcome(result, true);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
         long duration = result.getEndMillis() - result.getStartMillis();
         log.error("✗ Test Failed: {} ({}ms)", getTestName(result), duration);
+        durationHistory.record(getTestName(result), duration, DurationHistory.Outcome.FAILED);
+        RetryAnalyzer.recordOutcome(result, false);
 
         Throwable throwable = result.getThrowable();
         if (throwable != null) {
@@ -67,7 +145,17 @@ public class TestListener implements ITestListener, ISuiteListener {
 
     @Override
     public void onTestSkipped(ITestResult result) {
+        // A failed attempt that is being retried: history still sees the failure
+        if (result.wasRetried()) {
+            long duration = result.getEndMillis() - result.getStartMillis();
+            log.warn("↻ Test Failed, retrying: {} ({}ms)", getTestName(result), duration);
+            durationHistory.record(getTestName(result), duration, DurationHistory.Outcome.FAILED);
+            return;
+        }
+
         log.warn("⊘ Test Skipped: {}", getTestName(result));
+        durationHistory.record(getTestName(result), 0, DurationHistory.Outcome.SKIPPED);
+        RetryAnalyzer.recordSkip(result);
 
         Throwable throwable = result.getThrowable();
         if (throwable != null) {
@@ -90,6 +178,10 @@ public class TestListener implements ITestListener, ISuiteListener {
     // ═══════════════════════════════════════════════════════════════════════════
 
     private String getTestName(ITestResult result) {
+        return testName(result);
+    }
+
+    static String testName(ITestResult result) {
         return result.getTestClass().getRealClass().getSimpleName() + "." +
                result.getMethod().getMethodName();
     }
@@ -0,0 +1,147 @@
+package com.framework.core.listeners;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TestPrioritizer - Orders tests for fast feedback
+ *
+ * Order (-Dtest.order=failure-first, the default; "declared" keeps suite order):
+ * 1. Tests impacted by the change (TestImpactIndex), when -Dimpact.base or
+ *    -Dimpact.changed is given
+ * 2. Tests that failed in their last recorded run
+ * 3. Flaky tests: most pass/fail flips, then highest failure rate, over the
+ *    recent runs kept by DurationHistory
+ * 4. Shorter tests first; otherwise the declared order is kept
+ *
+ * Impacted-only mode (-Dimpact.only=true) drops tests the change cannot
+ * affect. Without change information every test runs.
+ *
+ * Note: with parallel="classes" TestNG keeps each class together, so the
+ * order applies between classes (by their highest-priority method) and
+ * between methods within a class.
+ */
+@Slf4j
+public class TestPrioritizer implements IMethodInterceptor {
+
+    private static final boolean DECLARED_ORDER = "declared".equalsIgnoreCase(
+        System.getProperty("test.order", "failure-first"));
+    private static final boolean IMPACT_ONLY = Boolean.getBoolean("impact.only");
+
+    private static volatile Inputs inputs;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Inputs loaded = inputs();
+        if (DECLARED_ORDER && loaded.changes() == null) {
+            return methods;
+        }
+
+        Map<ITestNGMethod, Priority> priorities = new HashMap<>();
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            Priority priority = priorities.computeIfAbsent(instance.getMethod(), method -> priority(method, loaded));
+            if (!IMPACT_ONLY || loaded.changes() == null || priority.impacted()) {
+                selected.add(instance);
+            }
+        }
+
+        if (!DECLARED_ORDER) {
+            // List.sort is stable, so equal priorities keep the declared order
+            selected.sort(Comparator.comparing(instance -> priorities.get(instance.getMethod())));
+        }
+
+        long impacted = priorities.values().stream().filter(Priority::impacted).count();
+        long failedLast = priorities.values().stream().filter(Priority::failedLastRun).count();
+        long flaky = priorities.values().stream().filter(priority -> priority.flips() > 0).count();
+        log.info("Test order for '{}': {} of {} methods{}, {} failed last run, {} flaky{}", context.getName(),
+            selected.size(), methods.size(),
+            loaded.changes() != null ? String.format(" (%d impacted by %d changed files)", impacted,
+                loaded.changes().files()) : "",
+            failedLast, flaky, DECLARED_ORDER ? " - declared order kept" : "");
+        return selected;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PRIORITY
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Sort key; natural order = run first.
+     */
+    record Priority(boolean impacted, boolean failedLastRun, int flips, double failureRate, long medianMs)
+            implements Comparable<Priority> {
+
+        private static final Comparator<Priority> ORDER = Comparator
+            .comparing(Priority::impacted).reversed()
+            .thenComparing(Comparator.comparing(Priority::failedLastRun).reversed())
+            .thenComparing(Comparator.comparingInt(Priority::flips).reversed())
+            .thenComparing(Comparator.comparingDouble(Priority::failureRate).reversed())
+            .thenComparingLong(Priority::medianMs);
+
+        @Override
+        public int compareTo(Priority other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    static Priority priority(ITestNGMethod method, Inputs inputs) {
+        String historyName = method.getRealClass().getSimpleName() + "." + method.getMethodName();
+        List<DurationHistory.Outcome> outcomes = inputs.outcomes().getOrDefault(historyName, List.of());
+
+        int passed = 0;
+        int failed = 0;
+        int flips = 0;
+        DurationHistory.Outcome previous = null;
+        for (DurationHistory.Outcome outcome : outcomes) {
+            if (outcome == DurationHistory.Outcome.SKIPPED) {
+                continue;
+            }
+            if (outcome == DurationHistory.Outcome.PASSED) {
+                passed++;
+            } else {
+                failed++;
+            }
+            if (previous != null && previous != outcome) {
+                flips++;
+            }
+            previous = outcome;
+        }
+
+        boolean impacted = inputs.changes() != null
+            && inputs.index().isImpacted(method.getRealClass(), inputs.changes());
+        return new Priority(impacted, previous == DurationHistory.Outcome.FAILED, flips,
+            passed + failed == 0 ? 0 : (double) failed / (passed + failed),
+            inputs.medians().getOrDefault(historyName, Long.MAX_VALUE));
+    }
+
+    /**
+     * History and change information, loaded once per JVM.
+     */
+    record Inputs(Map<String, List<DurationHistory.Outcome>> outcomes, Map<String, Long> medians,
+                  TestImpactIndex.ChangeSet changes, TestImpactIndex index) {}
+
+    private static synchronized Inputs inputs() {
+        if (inputs == null) {
+            DurationHistory history = DurationHistory.fromEnvironment();
+            TestImpactIndex.ChangeSet changes = TestImpactIndex.ChangeSet.fromEnvironment();
+            if (changes != null) {
+                log.info("Change impact: {} files, domains {}, classes {}{}", changes.files(), changes.domains(),
+                    changes.classes().size(), changes.global() ? " (resources/pom changed - all tests impacted)" : "");
+            }
+            inputs = new Inputs(history.recentOutcomes(), history.medianDurations(), changes,
+                new TestImpactIndex(Thread.currentThread().getContextClassLoader() != null
+                    ? Thread.currentThread().getContextClassLoader() : TestPrioritizer.class.getClassLoader()));
+        }
+        return inputs;
+    }
+}
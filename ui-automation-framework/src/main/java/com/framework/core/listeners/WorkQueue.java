@@ -0,0 +1,320 @@
+package com.framework.core.listeners;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * WorkQueue - Shared-directory work queue for dynamic test distribution
+ *
+ * Layout: <workqueue.dir>/<run>/<block>/ where run is workqueue.run,
+ * BUILD_TAG or BUILD_NUMBER, and block is a <test> name from the suite:
+ * - plan.tsv: units longest first (id, estimated ms, method keys); written
+ *   by whichever worker gets there first, read by all others
+ * - claims/<id>: created exclusively by the worker that takes a unit
+ * - done/<id>: created when the unit has finished
+ * - ../workers/<worker>: heartbeat, touched every few seconds
+ *
+ * A unit claimed by a worker whose heartbeat is older than workqueue.dead.ms
+ * (default 60s) and not done is handed out again; a worker with nothing left
+ * to claim waits for the other workers' units so that it can take them over. Only file creation, hard
+ * links and renames are used, so any shared file system (NFS, SMB, a
+ * local directory for two JVMs on one machine) works without a server.
+ */
+@Slf4j
+public final class WorkQueue {
+
+    static final String DIR_PROPERTY = "workqueue.dir";
+    private static final long HEARTBEAT_SECONDS = 5;
+
+    private final Path root;
+    private final String workerId;
+    private final Duration deadAfter;
+    private final Map<String, List<PlannedUnit>> plans = new ConcurrentHashMap<>();
+    private ScheduledExecutorService heartbeat;
+
+    WorkQueue(Path root, String workerId, Duration deadAfter) {
+        this.root = root;
+        this.workerId = workerId;
+        this.deadAfter = deadAfter;
+    }
+
+    /**
+     * Work-queue mode is on when -Dworkqueue.dir is set.
+     */
+    public static boolean isEnabled() {
+        String dir = System.getProperty(DIR_PROPERTY);
+        return dir != null && !dir.isBlank();
+    }
+
+    static WorkQueue fromEnvironment() {
+        String run = System.getProperty("workqueue.run");
+        if (run == null || run.isBlank()) {
+            run = System.getenv("BUILD_TAG");
+        }
+        if (run == null || run.isBlank()) {
+            run = System.getenv("BUILD_NUMBER");
+        }
+        if (run == null || run.isBlank()) {
+            run = "default";
+        }
+        return new WorkQueue(Paths.get(System.getProperty(DIR_PROPERTY), safe(run)), defaultWorkerId(),
+            Duration.ofMillis(Long.getLong("workqueue.dead.ms", 60_000)));
+    }
+
+    /**
+     * A unit of work: methods that must run together on one worker.
+     */
+    public record PlannedUnit(String id, long estimateMs, List<String> methodKeys) {}
+
+    String getWorkerId() {
+        return workerId;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PLAN
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Returns the block's plan, publishing the planner's result if no worker
+     * has published one yet.
+     */
+    List<PlannedUnit> plan(String block, Supplier<List<PlannedUnit>> planner) throws IOException {
+        List<PlannedUnit> cached = plans.get(block);
+        if (cached != null) {
+            return cached;
+        }
+        Path blockDir = blockDir(block);
+        Files.createDirectories(blockDir.resolve("claims"));
+        Files.createDirectories(blockDir.resolve("done"));
+        Path planFile = blockDir.resolve("plan.tsv");
+
+        if (!Files.exists(planFile)) {
+            List<PlannedUnit> planned = planner.get();
+            StringBuilder text = new StringBuilder();
+            planned.forEach(unit -> text.append(unit.id()).append('\t').append(unit.estimateMs()).append('\t')
+                .append(String.join(",", unit.methodKeys())).append('\n'));
+            Path temp = Files.createTempFile(blockDir, "plan", ".tmp");
+            Files.writeString(temp, text, StandardCharsets.UTF_8);
+            try {
+                // A hard link fails if the plan exists, so exactly one worker publishes
+                Files.createLink(planFile, temp);
+                log.info("Work queue: published plan for '{}' ({} units)", block, planned.size());
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Work queue: plan for '{}' already published", block);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        List<PlannedUnit> loaded = new ArrayList<>();
+        for (String line : Files.readAllLines(planFile, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length == 3) {
+                loaded.add(new PlannedUnit(fields[0], Long.parseLong(fields[1]),
+                    fields[2].isEmpty() ? List.of() : Arrays.asList(fields[2].split(","))));
+            }
+        }
+        plans.put(block, loaded);
+        return loaded;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CLAIMS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Claims the longest unit nobody has taken, or one abandoned by a dead worker.
+     */
+    Optional<PlannedUnit> claimNext(String block) throws IOException {
+        List<PlannedUnit> plan = plans.getOrDefault(block, List.of());
+        for (PlannedUnit unit : plan) {
+            if (tryClaim(block, unit)) {
+                return Optional.of(unit);
+            }
+        }
+        for (PlannedUnit unit : plan) {
+            if (reclaimIfAbandoned(block, unit) && tryClaim(block, unit)) {
+                log.warn("Work queue: took over unit {} in '{}' from a dead worker", unit.id(), block);
+                return Optional.of(unit);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Claims the next unit, waiting while other workers still hold unfinished
+     * units of the block: if one of them dies, its unit is taken over here.
+     * Returns empty once every unit is done or claimed by this worker.
+     */
+    Optional<PlannedUnit> awaitNext(String block) throws IOException {
+        while (true) {
+            Optional<PlannedUnit> unit = claimNext(block);
+            if (unit.isPresent() || !othersPending(block)) {
+                return unit;
+            }
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(HEARTBEAT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+    }
+
+    void complete(String block, List<PlannedUnit> units) {
+        for (PlannedUnit unit : units) {
+            try {
+                Files.createFile(blockDir(block).resolve("done").resolve(unit.id()));
+            } catch (FileAlreadyExistsException e) {
+                // Also finished by a worker that took it over
+            } catch (IOException e) {
+                log.warn("Work queue: could not mark unit {} done: {}", unit.id(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean othersPending(String block) throws IOException {
+        Path dir = blockDir(block);
+        for (PlannedUnit unit : plans.getOrDefault(block, List.of())) {
+            if (Files.exists(dir.resolve("done").resolve(unit.id()))) {
+                continue;
+            }
+            try {
+                if (!Files.readString(dir.resolve("claims").resolve(unit.id()), StandardCharsets.UTF_8).trim()
+                        .equals(workerId)) {
+                    return true;
+                }
+            } catch (NoSuchFileException e) {
+                // Released or being reclaimed right now
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryClaim(String block, PlannedUnit unit) throws IOException {
+        Path dir = blockDir(block);
+        if (Files.exists(dir.resolve("done").resolve(unit.id()))) {
+            return false;
+        }
+        try {
+            Files.writeString(Files.createFile(dir.resolve("claims").resolve(unit.id())), workerId,
+                StandardCharsets.UTF_8);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Releases the claim on an unfinished unit whose owner stopped heartbeating.
+     * The rename succeeds for exactly one worker.
+     */
+    private boolean reclaimIfAbandoned(String block, PlannedUnit unit) throws IOException {
+        Path dir = blockDir(block);
+        Path claim = dir.resolve("claims").resolve(unit.id());
+        if (Files.exists(dir.resolve("done").resolve(unit.id())) || !Files.exists(claim)) {
+            return false;
+        }
+        try {
+            String owner = Files.readString(claim, StandardCharsets.UTF_8).trim();
+            if (owner.equals(workerId) || isAlive(owner, Files.getLastModifiedTime(claim))) {
+                return false;
+            }
+            Files.move(claim, claim.resolveSibling(unit.id() + "." + safe(owner) + ".abandoned"),
+                StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private boolean isAlive(String owner, FileTime claimedAt) throws IOException {
+        // An empty owner is a claim being written right now - judge it by the claim's age
+        Path beat = root.resolve("workers").resolve(safe(owner));
+        long last = !owner.isEmpty() && Files.exists(beat) ? Files.getLastModifiedTime(beat).toMillis() : claimedAt.toMillis();
+        return System.currentTimeMillis() - last < deadAfter.toMillis();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HEARTBEAT
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    synchronized void startHeartbeat() throws IOException {
+        if (heartbeat != null) {
+            return;
+        }
+        Path beat = root.resolve("workers").resolve(safe(workerId));
+        Files.createDirectories(beat.getParent());
+        if (!Files.exists(beat)) {
+            Files.createFile(beat);
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "work-queue-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(() -> {
+            try {
+                Files.setLastModifiedTime(beat, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException e) {
+                log.debug("Work queue heartbeat failed: {}", e.getMessage());
+            }
+        }, 0, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    synchronized void stopHeartbeat() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private Path blockDir(String block) {
+        return root.resolve(safe(block));
+    }
+
+    private static String safe(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String defaultWorkerId() {
+        String configured = System.getProperty("workqueue.worker");
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "localhost";
+        }
+        return host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+}
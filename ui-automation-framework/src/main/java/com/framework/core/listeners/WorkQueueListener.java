@@ -0,0 +1,240 @@
+package com.framework.core.listeners;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlSuite.ParallelMode;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * WorkQueueListener - Dynamic (work-stealing) distribution of tests across JVMs
+ *
+ * Enabled with -Dworkqueue.dir=<shared directory>; every worker runs the same
+ * suite pointing at the same directory (see WorkQueue for the layout).
+ *
+ * How it plugs into TestNG:
+ * - alter(): each <test> block is repeated as slots, so @BeforeSuite setup
+ *   (browser, authentication) runs once per worker. There is one slot per
+ *   test method of the block (workqueue.slots overrides this), so a worker
+ *   can run every unit by itself and no slot has to take more than its share
+ * - intercept(): TestNG calls the interceptor when a slot starts; the slot
+ *   claims units one at a time - longest first, as planned by the first worker
+ *   from DurationHistory medians - up to the block's thread-count, so a
+ *   parallel block keeps about that many units in flight, and runs only
+ *   their methods. The next slot claims again once they have finished
+ * - A slot with nothing left to claim waits until the other workers' units
+ *   are done, taking over any whose worker's heartbeat stopped, so a block
+ *   never ends with work unassigned. Empty slots are no-ops after that
+ * - Units are the same as for ShardInterceptor: classes with class-level
+ *   fixtures and dependsOn chains stay together
+ */
+@Slf4j
+public class WorkQueueListener implements IAlterSuiteListener, IMethodInterceptor, ITestListener, ISuiteListener {
+
+    static final String BLOCK_PARAMETER = "workqueue.block";
+    static final int SLOTS = Integer.getInteger("workqueue.slots", -1);
+    private static final int FALLBACK_SLOTS = 32;
+
+    // Static: TestNG may create separate instances for alter() and the other callbacks
+    private static volatile WorkQueue queue;
+    private static volatile Map<String, Long> medians;
+
+    private static final Map<String, List<WorkQueue.PlannedUnit>> claimedBySlot = new ConcurrentHashMap<>();
+    private static final AtomicInteger unitsRun = new AtomicInteger();
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SUITE SHAPE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!WorkQueue.isEnabled()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            List<XmlTest> originals = new ArrayList<>(suite.getTests());
+            List<XmlTest> slots = new ArrayList<>();
+            for (XmlTest original : originals) {
+                String block = original.getName();
+                int count = SLOTS > 0 ? SLOTS : slotCount(original);
+                original.addParameter(BLOCK_PARAMETER, block);
+                original.setName(block + " [1]");
+                slots.add(original);
+
+                for (int slot = 2; slot <= count; slot++) {
+                    // clone() registers the copy with the suite; order is fixed below
+                    XmlTest copy = (XmlTest) original.clone();
+                    copy.setName(block + " [" + slot + "]");
+                    copy.addParameter(BLOCK_PARAMETER, block);
+                    slots.add(copy);
+                }
+                log.info("Work queue: test block '{}' x {} slots", block, count);
+            }
+            suite.setTests(slots);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CLAIMING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String block = context.getCurrentXmlTest().getParameter(BLOCK_PARAMETER);
+        if (!WorkQueue.isEnabled() || block == null) {
+            return methods;
+        }
+        try {
+            WorkQueue workQueue = queue();
+            workQueue.plan(block, () -> plan(methods));
+
+            int batch = batchSize(context.getCurrentXmlTest());
+            List<WorkQueue.PlannedUnit> claimed = new ArrayList<>();
+            while (claimed.size() < batch) {
+                // Only wait for other workers when there is nothing to run meanwhile
+                Optional<WorkQueue.PlannedUnit> unit = claimed.isEmpty()
+                    ? workQueue.awaitNext(block)
+                    : workQueue.claimNext(block);
+                if (unit.isEmpty()) {
+                    break;
+                }
+                claimed.add(unit.get());
+            }
+            if (claimed.isEmpty()) {
+                return List.of();
+            }
+            claimedBySlot.put(context.getName(), claimed);
+            unitsRun.addAndGet(claimed.size());
+
+            Set<String> keys = new HashSet<>();
+            claimed.forEach(unit -> keys.addAll(unit.methodKeys()));
+            List<IMethodInstance> kept = methods.stream()
+                .filter(instance -> keys.contains(ShardInterceptor.methodKey(instance.getMethod())))
+                .collect(Collectors.toList());
+            log.info("Work queue: {} took {} in '{}' ({} methods, estimated {}s)", workQueue.getWorkerId(),
+                claimed.stream().map(WorkQueue.PlannedUnit::id).collect(Collectors.joining(",")), block,
+                kept.size(), claimed.stream().mapToLong(WorkQueue.PlannedUnit::estimateMs).sum() / 1000);
+            return kept;
+        } catch (IOException e) {
+            // Without the queue this worker cannot know what others run - fail loudly
+            throw new UncheckedIOException("Work queue unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        List<WorkQueue.PlannedUnit> claimed = claimedBySlot.remove(context.getName());
+        if (claimed != null) {
+            queue().complete(context.getCurrentXmlTest().getParameter(BLOCK_PARAMETER), claimed);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (queue != null) {
+            queue.stopHeartbeat();
+            log.info("Work queue: {} ran {} units", queue.getWorkerId(), unitsRun.get());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Units of the block, longest first (only used by the worker that publishes the plan).
+     */
+    private static List<WorkQueue.PlannedUnit> plan(List<IMethodInstance> methods) {
+        if (medians == null) {
+            medians = DurationHistory.fromEnvironment().medianDurations();
+        }
+        List<ITestNGMethod> testMethods = methods.stream().map(IMethodInstance::getMethod)
+            .distinct().collect(Collectors.toList());
+        List<ShardInterceptor.Unit> units = ShardInterceptor.estimate(ShardInterceptor.units(testMethods), medians);
+
+        List<WorkQueue.PlannedUnit> planned = new ArrayList<>();
+        for (int i = 0; i < units.size(); i++) {
+            ShardInterceptor.Unit unit = units.get(i);
+            planned.add(new WorkQueue.PlannedUnit(String.format("u%04d", i + 1), unit.estimateMs,
+                unit.methods.stream().map(ShardInterceptor::methodKey).distinct().collect(Collectors.toList())));
+        }
+        return planned;
+    }
+
+    /**
+     * Units run concurrently by one slot: the thread count when the block
+     * runs classes, methods or instances in parallel, otherwise one.
+     */
+    private static int batchSize(XmlTest test) {
+        ParallelMode mode = test.getParallel();
+        return mode != null && mode.isParallel() && mode != ParallelMode.TESTS
+            ? Math.max(1, test.getThreadCount())
+            : 1;
+    }
+
+    /**
+     * One slot per test method of the block, an upper bound on its units.
+     * Falls back to a fixed count when the classes cannot be loaded here.
+     */
+    private static int slotCount(XmlTest test) {
+        try {
+            List<XmlClass> classes = new ArrayList<>(test.getXmlClasses());
+            test.getXmlPackages().forEach(xmlPackage -> classes.addAll(xmlPackage.getXmlClasses()));
+            int methods = 0;
+            for (XmlClass xmlClass : classes) {
+                if (!xmlClass.getIncludedMethods().isEmpty()) {
+                    methods += xmlClass.getIncludedMethods().size();
+                    continue;
+                }
+                Class<?> type = xmlClass.getSupportClass();
+                boolean classLevel = type.isAnnotationPresent(Test.class);
+                for (Method method : type.getMethods()) {
+                    if (method.isAnnotationPresent(Test.class)
+                            || classLevel && method.getDeclaringClass() != Object.class) {
+                        methods++;
+                    }
+                }
+            }
+            return Math.max(1, methods);
+        } catch (RuntimeException | LinkageError e) {
+            log.warn("Work queue: could not count the tests of '{}' ({}), using {} slots",
+                test.getName(), e.getMessage(), FALLBACK_SLOTS);
+            return FALLBACK_SLOTS;
+        }
+    }
+
+    private static synchronized WorkQueue queue() {
+        if (queue == null) {
+            WorkQueue created = WorkQueue.fromEnvironment();
+            try {
+                created.startHeartbeat();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Work queue unavailable: " + e.getMessage(), e);
+            }
+            queue = created;
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,228 @@
+package com.framework.core.reporting;
+
+import io.qameta.allure.Allure;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ApiCallRecorder - Deferred Allure capture of RestAssured calls
+ *
+ * Replacement for AllureRestAssured in the default request specs.
+ * Every API call is stored as a compact record in a bounded per-thread ring,
+ * and nothing is formatted or attached while the test is running.
+ *
+ * At the end of a test, BaseTest calls {@link #flush(boolean)}:
+ * - Failed test: buffered calls are rendered and attached to Allure
+ * - Passed test: buffer is discarded and the avoided attachment bytes are counted
+ *
+ * Set framework.reporting.full-api-capture=true to restore AllureRestAssured
+ * for every call.
+ */
+@Slf4j
+public class ApiCallRecorder implements OrderedFilter {
+
+    private static final ThreadLocal<Deque<ApiCallRecord>> buffer = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final AtomicLong attachedCalls = new AtomicLong();
+    private static final AtomicLong discardedCalls = new AtomicLong();
+    private static final AtomicLong droppedCalls = new AtomicLong();
+    private static final AtomicLong savedBytes = new AtomicLong();
+
+    private final int capacity;
+    private final int maxBodyLength;
+
+    public ApiCallRecorder(int capacity, int maxBodyLength) {
+        this.capacity = Math.max(1, capacity);
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // FILTER
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        String requestBody = bodyAsString(requestSpec.getBody());
+        String responseBody = response.asString();
+
+        ApiCallRecord record = new ApiCallRecord(
+            requestSpec.getMethod(),
+            requestSpec.getURI(),
+            response.statusCode(),
+            response.getTime(),
+            headersAsString(requestSpec.getHeaders().asList()),
+            headersAsString(response.getHeaders().asList()),
+            truncate(requestBody),
+            truncate(responseBody),
+            length(requestBody) + length(responseBody)
+        );
+
+        Deque<ApiCallRecord> calls = buffer.get();
+        if (calls.size() >= capacity) {
+            calls.pollFirst();
+            droppedCalls.incrementAndGet();
+        }
+        calls.addLast(record);
+
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // Run last so the recorded request reflects every other filter
+        return Integer.MAX_VALUE;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // TEST LIFECYCLE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Attaches buffered calls to Allure if the test failed, otherwise discards them.
+     * Always leaves the current thread's buffer empty.
+     */
+    public static void flush(boolean failed) {
+        Deque<ApiCallRecord> calls = buffer.get();
+        if (calls.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (failed) {
+                int index = 1;
+                for (ApiCallRecord call : calls) {
+                    Allure.addAttachment(
+                        String.format("API Call %d - %s %s [%d]", index++, call.method(), call.uri(), call.status()),
+                        "text/plain", call.render());
+                }
+                attachedCalls.addAndGet(calls.size());
+                log.debug("Attached {} buffered API calls to Allure", calls.size());
+            } else {
+                long bytes = calls.stream().mapToLong(ApiCallRecord::estimatedAttachmentBytes).sum();
+                discardedCalls.addAndGet(calls.size());
+                savedBytes.addAndGet(bytes);
+                log.trace("Discarded {} buffered API calls (~{} bytes)", calls.size(), bytes);
+            }
+        } finally {
+            calls.clear();
+        }
+    }
+
+    /**
+     * Clears the current thread's buffer without attaching anything.
+     */
+    public static void reset() {
+        buffer.get().clear();
+    }
+
+    /**
+     * Returns a snapshot of the calls recorded on the current thread.
+     */
+    public static List<ApiCallRecord> getBufferedCalls() {
+        return new ArrayList<>(buffer.get());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // STATISTICS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public static long getSavedBytes() {
+        return savedBytes.get();
+    }
+
+    public static long getDiscardedCalls() {
+        return discardedCalls.get();
+    }
+
+    public static long getAttachedCalls() {
+        return attachedCalls.get();
+    }
+
+    public static void logSummary() {
+        log.info("API call capture: {} attached, {} discarded (~{} KB of attachments avoided), {} dropped by ring limit",
+            attachedCalls.get(), discardedCalls.get(), savedBytes.get() / 1024, droppedCalls.get());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private String truncate(String text) {
+        if (text == null) return null;
+        if (text.length() <= maxBodyLength) return text;
+        return text.substring(0, maxBodyLength) + "... [truncated]";
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static String bodyAsString(Object body) {
+        if (body == null) return null;
+        if (body instanceof byte[] bytes) return new String(bytes, StandardCharsets.UTF_8);
+        return body.toString();
+    }
+
+    private static String headersAsString(List<Header> headers) {
+        StringBuilder sb = new StringBuilder();
+        for (Header header : headers) {
+            sb.append("    ").append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // DATA CLASS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public record ApiCallRecord(
+        String method,
+        String uri,
+        int status,
+        long durationMs,
+        String requestHeaders,
+        String responseHeaders,
+        String requestBody,
+        String responseBody,
+        int fullBodyLength
+    ) {
+
+        /**
+         * Approximate size of what AllureRestAssured would have attached for this call.
+         */
+        long estimatedAttachmentBytes() {
+            return (long) fullBodyLength + requestHeaders.length() + responseHeaders.length() + uri.length();
+        }
+
+        String render() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(method).append(' ').append(uri).append('\n');
+            sb.append("Status: ").append(status).append(" (").append(durationMs).append("ms)\n\n");
+            sb.append("Request Headers:\n").append(requestHeaders);
+            if (requestBody != null && !requestBody.isEmpty()) {
+                sb.append("\nRequest Body:\n").append(requestBody).append('\n');
+            }
+            sb.append("\nResponse Headers:\n").append(responseHeaders);
+            if (responseBody != null && !responseBody.isEmpty()) {
+                sb.append("\nResponse Body:\n").append(responseBody).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.framework.core.reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.util.PropertiesUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * ArtifactStore - Content-addressed store for screenshots, traces, HTML and diffs
+ *
+ * Layout under the store directory (default target/artifacts):
+ * - blobs/ab/abcdef...{ext}: one file per distinct content, named by SHA-256,
+ *   so identical screenshots or pages are written once and parameterized
+ *   runs can no longer overwrite each other's files
+ * - index.tsv: one line per stored artifact
+ *   (sha256, size, extension, epoch ms, test, name) - the only per-test record
+ *
+ * Allure:
+ * - attach() hard-links the blob into the Allure results directory instead of
+ *   copying the bytes again (falls back to a copy across file systems)
+ *
+ * Retention (enforceRetention, at suite end):
+ * - Blobs not referenced for longer than max age are deleted
+ * - Then least recently referenced blobs are deleted until the store fits
+ *   max size; the index is rewritten without them
+ * - Appends to the index and its rewrite hold index.tsv.lock, so lines other
+ *   forks record during a sweep are kept
+ * - A deduplicated store touches the blob, and the sweep skips blobs touched
+ *   after it started, so a fork sharing the store never loses a blob it
+ *   just deduplicated against (if the touch finds the blob gone, the
+ *   content is written again)
+ */
+@Slf4j
+public class ArtifactStore {
+
+    private static volatile ArtifactStore shared = new ArtifactStore(
+        Paths.get("target", "artifacts"), 2048L * 1024 * 1024, Duration.ofDays(14));
+
+    private final Path root;
+    private final Path blobs;
+    private final Path tmp;
+    private final Path index;
+    private final Path indexLockFile;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final Object indexLock = new Object();
+
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong linked = new AtomicLong();
+
+    public ArtifactStore(Path root, long maxBytes, Duration maxAge) {
+        this.root = root;
+        this.blobs = root.resolve("blobs");
+        this.tmp = root.resolve("tmp");
+        this.index = root.resolve("index.tsv");
+        this.indexLockFile = root.resolve("index.tsv.lock");
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Store shared by the framework (BaseTest, VisualTestingUtils).
+     */
+    public static ArtifactStore shared() {
+        return shared;
+    }
+
+    /**
+     * Replaces the shared store. Called once at suite start.
+     */
+    public static void configure(Path root, long maxBytes, Duration maxAge) {
+        shared = new ArtifactStore(root, maxBytes, maxAge);
+        log.debug("Artifact store at {}", root.toAbsolutePath());
+    }
+
+    /**
+     * A stored blob. deduplicated is true when the content was already present.
+     */
+    public record StoredArtifact(String sha256, Path path, long size, String extension, boolean deduplicated) {}
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // STORING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Stores bytes. Nothing is written if identical content is already stored.
+     *
+     * @param extension file extension including the dot, e.g. ".png"
+     * @param testName  test the artifact belongs to (for the index)
+     */
+    public StoredArtifact store(byte[] data, String name, String extension, String testName) throws IOException {
+        String sha256 = HexFormat.of().formatHex(digest().digest(data));
+        Path blob = blobPath(sha256, extension);
+
+        boolean existed = touch(blob);
+        if (!existed) {
+            Path temp = newTempFile(extension);
+            Files.write(temp, data);
+            existed = !moveIntoPlace(temp, blob);
+        }
+        return record(new StoredArtifact(sha256, blob, data.length, extension, existed), name, testName);
+    }
+
+    /**
+     * Stores a file by moving it into the store (or deleting it if the content
+     * is already stored). Use newTempFile() for tools that write to a path,
+     * such as Playwright traces.
+     */
+    public StoredArtifact storeFile(Path file, String name, String extension, String testName) throws IOException {
+        MessageDigest digest = digest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        long size = Files.size(file);
+        Path blob = blobPath(sha256, extension);
+
+        boolean existed = touch(blob) || !moveIntoPlace(file, blob);
+        Files.deleteIfExists(file);
+        return record(new StoredArtifact(sha256, blob, size, extension, existed), name, testName);
+    }
+
+    /**
+     * A fresh path inside the store's temp directory, on the same file system
+     * as the blobs so storeFile() can move it without copying.
+     */
+    public Path newTempFile(String extension) throws IOException {
+        Files.createDirectories(tmp);
+        return Files.createTempFile(tmp, "artifact-", extension);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ALLURE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Adds the artifact to the current Allure test/step by reference.
+     */
+    public void attach(StoredArtifact artifact, String name, String contentType) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, contentType, artifact.extension());
+        Path resultsDirectory = Paths.get(PropertiesUtils.loadAllureProperties()
+            .getProperty("allure.results.directory", "allure-results"));
+        Path target = resultsDirectory.resolve(source);
+        try {
+            Files.createDirectories(resultsDirectory);
+            Files.createLink(target, artifact.path().toAbsolutePath());
+            linked.incrementAndGet();
+        } catch (IOException | UnsupportedOperationException e) {
+            // Different file system or no hard link support - copy instead
+            try (InputStream in = Files.newInputStream(artifact.path())) {
+                lifecycle.writeAttachment(source, in);
+            } catch (IOException copyFailure) {
+                log.warn("Could not attach {} to Allure: {}", name, copyFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stores bytes and attaches them to Allure.
+     */
+    public StoredArtifact storeAndAttach(byte[] data, String name, String contentType, String extension,
+                                         String testName) throws IOException {
+        StoredArtifact artifact = store(data, name, extension, testName);
+        attach(artifact, name, contentType);
+        return artifact;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // RETENTION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Deletes blobs past max age, then least recently referenced blobs until
+     * the store fits max size, and rewrites the index.
+     */
+    public void enforceRetention() {
+        if (!Files.isDirectory(blobs)) {
+            return;
+        }
+        synchronized (indexLock) {
+            long sweepStarted = System.currentTimeMillis();
+            // Blobs touched since (less the mtime resolution of some file systems) are in use
+            long inUseSince = sweepStarted - 2_000;
+            try {
+                Map<String, Long> lastReferenced = new HashMap<>();
+                List<String> lines = Files.exists(index) ? Files.readAllLines(index) : List.of();
+                for (String line : lines) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length >= 4) {
+                        lastReferenced.merge(fields[0], Long.parseLong(fields[3]), Math::max);
+                    }
+                }
+
+                List<BlobFile> files = new ArrayList<>();
+                try (Stream<Path> walk = Files.walk(blobs)) {
+                    walk.filter(Files::isRegularFile).forEach(path -> {
+                        String name = path.getFileName().toString();
+                        String sha256 = name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+                        try {
+                            long seen = lastReferenced.getOrDefault(sha256,
+                                Files.getLastModifiedTime(path).toMillis());
+                            files.add(new BlobFile(sha256, path, Files.size(path), seen));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+
+                long cutoff = sweepStarted - maxAge.toMillis();
+                long total = files.stream().mapToLong(BlobFile::size).sum();
+                files.sort((a, b) -> Long.compare(a.lastReferenced(), b.lastReferenced()));
+
+                List<String> removed = new ArrayList<>();
+                long freed = 0;
+                for (BlobFile file : files) {
+                    if (file.lastReferenced() >= cutoff && total <= maxBytes) {
+                        break;
+                    }
+                    if (modifiedSince(file.path(), inUseSince)) {
+                        continue;
+                    }
+                    Files.deleteIfExists(file.path());
+                    removed.add(file.sha256());
+                    total -= file.size();
+                    freed += file.size();
+                }
+
+                if (!removed.isEmpty()) {
+                    compactIndex(new HashSet<>(removed));
+                    log.info("Artifact retention: removed {} blobs ({} MB), store now {} MB",
+                        removed.size(), freed / (1024 * 1024), total / (1024 * 1024));
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Artifact retention failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rewrites the index without the removed blobs. The index is read again
+     * under the file lock, so lines appended since the sweep read it survive.
+     */
+    private void compactIndex(Set<String> gone) throws IOException {
+        try (FileChannel lockChannel = FileChannel.open(indexLockFile,
+                 StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+            List<String> lines = Files.exists(index) ? Files.readAllLines(index) : List.of();
+            Path temp = Files.createTempFile(root, "index", ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    for (String line : lines) {
+                        int tab = line.indexOf('\t');
+                        if (tab > 0 && !gone.contains(line.substring(0, tab))) {
+                            writer.write(line);
+                            writer.newLine();
+                        }
+                    }
+                }
+                Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private record BlobFile(String sha256, Path path, long size, long lastReferenced) {}
+
+    private static boolean modifiedSince(Path path, long millis) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis() >= millis;
+        } catch (IOException e) {
+            // Already gone
+            return false;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // STATISTICS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public long getDeduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public void logStatistics() {
+        if (stored.get() == 0) {
+            return;
+        }
+        log.info("Artifact store: {} artifacts, {} deduplicated, {} KB written, {} KB not rewritten, {} Allure links",
+            stored.get(), deduplicated.get(), bytesWritten.get() / 1024, bytesSaved.get() / 1024, linked.get());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private Path blobPath(String sha256, String extension) {
+        return blobs.resolve(sha256.substring(0, 2)).resolve(sha256 + (extension != null ? extension : ""));
+    }
+
+    /**
+     * Marks an existing blob as just used, so a concurrent retention sweep
+     * keeps it. Returns false if there is no such blob (anymore).
+     */
+    private static boolean touch(Path blob) throws IOException {
+        try {
+            Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Moves a temp file to its blob path. Returns false if another writer
+     * stored the same content first (the temp file is discarded).
+     */
+    private boolean moveIntoPlace(Path source, Path blob) throws IOException {
+        Files.createDirectories(blob.getParent());
+        try {
+            Files.move(source, blob, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(source);
+            return false;
+        } catch (IOException e) {
+            if (Files.exists(blob)) {
+                Files.deleteIfExists(source);
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private StoredArtifact record(StoredArtifact artifact, String name, String testName) {
+        stored.incrementAndGet();
+        if (artifact.deduplicated()) {
+            deduplicated.incrementAndGet();
+            bytesSaved.addAndGet(artifact.size());
+        } else {
+            bytesWritten.addAndGet(artifact.size());
+        }
+
+        String line = String.join("\t", artifact.sha256(), String.valueOf(artifact.size()),
+            artifact.extension() != null ? artifact.extension() : "", String.valueOf(System.currentTimeMillis()),
+            clean(testName), clean(name)) + "\n";
+        synchronized (indexLock) {
+            // The file lock keeps the line from landing between another fork's compaction read and rename
+            try (FileChannel lockChannel = FileChannel.open(indexLockFile,
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                Files.writeString(index, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.debug("Could not update artifact index: {}", e.getMessage());
+            }
+        }
+        log.debug("Stored {} as {} ({} bytes{})", name, artifact.sha256().substring(0, 12), artifact.size(),
+            artifact.deduplicated() ? ", deduplicated" : "");
+        return artifact;
+    }
+
+    private static String clean(String text) {
+        return text == null ? "" : text.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
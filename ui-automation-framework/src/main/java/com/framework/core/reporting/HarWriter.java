@@ -0,0 +1,285 @@
+package com.framework.core.reporting;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.microsoft.playwright.options.Sizes;
+import com.microsoft.playwright.options.Timing;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HarWriter - Streams HAR 1.2 entries to a gzip file as requests complete
+ *
+ * The file is opened with the HAR header and an open "entries" array. Each
+ * completed request is written straight through a Jackson JsonGenerator into
+ * the gzip stream, and close() ends the array and the document. Memory use is
+ * one entry at a time, however many requests the test makes.
+ *
+ * Timings come from Playwright's Request.timing() (connection phases relative
+ * to startTime); sizes from Request.sizes() when available.
+ *
+ * The result opens in any HAR viewer (Chrome DevTools, har-analyzer, ...)
+ * after gunzip, or directly in tools that read .har.gz.
+ */
+@Slf4j
+public class HarWriter implements Closeable {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Path file;
+    private final JsonGenerator json;
+    private int entryCount;
+    private boolean closed;
+
+    public HarWriter(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.json = jsonFactory.createGenerator(
+            new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), 64 * 1024),
+            JsonEncoding.UTF8);
+
+        json.writeStartObject();
+        json.writeObjectFieldStart("log");
+        json.writeStringField("version", "1.2");
+        json.writeObjectFieldStart("creator");
+        json.writeStringField("name", "ui-automation-framework");
+        json.writeStringField("version", "1.0");
+        json.writeEndObject();
+        json.writeArrayFieldStart("pages");
+        json.writeEndArray();
+        json.writeArrayFieldStart("entries");
+    }
+
+    /**
+     * Request/response data collected by NetworkLogger for one HAR entry.
+     * Response fields are null/0 for requests that failed before a response.
+     */
+    public record HarEntry(
+        Instant startedAt,
+        String method,
+        String url,
+        Map<String, String> requestHeaders,
+        String postData,
+        int status,
+        String statusText,
+        Map<String, String> responseHeaders,
+        String responseBody,
+        String failure,
+        Timing timing,
+        Sizes sizes
+    ) {}
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // WRITING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Appends one entry. Safe to call from Playwright event threads.
+     */
+    public synchronized void write(HarEntry entry) {
+        if (closed) {
+            return;
+        }
+        try {
+            writeEntry(entry);
+            entryCount++;
+        } catch (IOException e) {
+            log.debug("HarWriter: Could not write entry for {}: {}", entry.url(), e.getMessage());
+        }
+    }
+
+    /**
+     * Ends the document and closes the file. Further writes are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+            json.close();
+            log.debug("HarWriter: Wrote {} entries to {}", entryCount, file);
+        } catch (IOException e) {
+            log.warn("HarWriter: Could not finish {}: {}", file, e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized int getEntryCount() {
+        return entryCount;
+    }
+
+    private void writeEntry(HarEntry entry) throws IOException {
+        Timings timings = Timings.from(entry.timing());
+        Sizes sizes = entry.sizes();
+        String requestMime = header(entry.requestHeaders(), "content-type");
+        String responseMime = header(entry.responseHeaders(), "content-type");
+
+        json.writeStartObject();
+        json.writeStringField("startedDateTime", entry.startedAt().toString());
+        json.writeNumberField("time", timings.total());
+
+        json.writeObjectFieldStart("request");
+        json.writeStringField("method", entry.method());
+        json.writeStringField("url", entry.url());
+        json.writeStringField("httpVersion", "HTTP/1.1");
+        json.writeArrayFieldStart("cookies");
+        json.writeEndArray();
+        writeHeaders(entry.requestHeaders());
+        writeQueryString(entry.url());
+        if (entry.postData() != null) {
+            json.writeObjectFieldStart("postData");
+            json.writeStringField("mimeType", requestMime != null ? requestMime : "");
+            json.writeStringField("text", entry.postData());
+            json.writeEndObject();
+        }
+        json.writeNumberField("headersSize", sizes != null ? sizes.requestHeadersSize : -1);
+        json.writeNumberField("bodySize", sizes != null ? sizes.requestBodySize
+            : entry.postData() != null ? entry.postData().length() : 0);
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("response");
+        json.writeNumberField("status", Math.max(0, entry.status()));
+        json.writeStringField("statusText", entry.statusText() != null ? entry.statusText() : "");
+        json.writeStringField("httpVersion", "HTTP/1.1");
+        json.writeArrayFieldStart("cookies");
+        json.writeEndArray();
+        writeHeaders(entry.responseHeaders());
+        json.writeObjectFieldStart("content");
+        json.writeNumberField("size", sizes != null ? sizes.responseBodySize : -1);
+        json.writeStringField("mimeType", responseMime != null ? responseMime : "");
+        if (entry.responseBody() != null) {
+            json.writeStringField("text", entry.responseBody());
+        }
+        json.writeEndObject();
+        String location = header(entry.responseHeaders(), "location");
+        json.writeStringField("redirectURL", location != null ? location : "");
+        json.writeNumberField("headersSize", sizes != null ? sizes.responseHeadersSize : -1);
+        json.writeNumberField("bodySize", sizes != null ? sizes.responseBodySize : -1);
+        if (entry.failure() != null) {
+            json.writeStringField("_error", entry.failure());
+        }
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("cache");
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("timings");
+        json.writeNumberField("blocked", -1);
+        json.writeNumberField("dns", timings.dns());
+        json.writeNumberField("connect", timings.connect());
+        json.writeNumberField("ssl", timings.ssl());
+        json.writeNumberField("send", timings.send());
+        json.writeNumberField("wait", timings.waitTime());
+        json.writeNumberField("receive", timings.receive());
+        json.writeEndObject();
+
+        json.writeEndObject();
+    }
+
+    private void writeHeaders(Map<String, String> headers) throws IOException {
+        json.writeArrayFieldStart("headers");
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                json.writeStartObject();
+                json.writeStringField("name", header.getKey());
+                json.writeStringField("value", header.getValue());
+                json.writeEndObject();
+            }
+        }
+        json.writeEndArray();
+    }
+
+    private void writeQueryString(String url) throws IOException {
+        json.writeArrayFieldStart("queryString");
+        String query = null;
+        try {
+            query = URI.create(url).getRawQuery();
+        } catch (IllegalArgumentException ignored) {
+            // Not a valid URI - no query parameters recorded
+        }
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int eq = pair.indexOf('=');
+                json.writeStartObject();
+                json.writeStringField("name", decode(eq >= 0 ? pair.substring(0, eq) : pair));
+                json.writeStringField("value", eq >= 0 ? decode(pair.substring(eq + 1)) : "");
+                json.writeEndObject();
+            }
+        }
+        json.writeEndArray();
+    }
+
+    private static String decode(String text) {
+        try {
+            return URLDecoder.decode(text, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return text;
+        }
+    }
+
+    private static String header(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // TIMINGS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * HAR timing phases in ms. Optional phases are -1 when not applicable;
+     * send/wait/receive are never negative as the spec requires.
+     */
+    record Timings(double dns, double connect, double ssl, double send, double waitTime, double receive) {
+
+        static Timings from(Timing timing) {
+            if (timing == null) {
+                return new Timings(-1, -1, -1, 0, 0, 0);
+            }
+            double dns = phase(timing.domainLookupStart, timing.domainLookupEnd);
+            double connect = phase(timing.connectStart, timing.connectEnd);
+            double ssl = phase(timing.secureConnectionStart, timing.connectEnd);
+            double wait = Math.max(0, phase(timing.requestStart, timing.responseStart));
+            double receive = Math.max(0, phase(timing.responseStart, timing.responseEnd));
+            return new Timings(dns, connect, ssl, 0, wait, receive);
+        }
+
+        double total() {
+            return Math.max(0, dns) + Math.max(0, connect) + send + waitTime + receive;
+        }
+
+        private static double phase(double start, double end) {
+            return start >= 0 && end >= start ? end - start : -1;
+        }
+    }
+}
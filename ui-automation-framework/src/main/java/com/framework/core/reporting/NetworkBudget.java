@@ -0,0 +1,54 @@
+package com.framework.core.reporting;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * NetworkBudget - Network performance limits for a test
+ *
+ * Place on a test method, or on a test class to cover all its tests. Method
+ * values override class values, which override page budgets and defaults
+ * from framework.network.budgets. Unset limits (-1) inherit.
+ *
+ * Checked by BaseTest in @AfterMethod against the test's NetworkLogger.
+ *
+ * Example:
+ * <pre>
+ * &#64;NetworkBudget(maxRequests = 120, apiPatterns = "/api/booking/*", apiP95Millis = 800,
+ *                enforcement = NetworkBudget.Enforcement.FAIL)
+ * public void testSeatSelection() { ... }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface NetworkBudget {
+
+    /** Maximum number of captured requests */
+    int maxRequests() default -1;
+
+    /** Maximum total response bytes (content-length, or fetched body size) */
+    long maxTransferBytes() default -1;
+
+    /** Maximum duration of any single request, in ms */
+    long maxRequestMillis() default -1;
+
+    /** URL patterns ('*' wildcard) whose requests the p95 latency applies to */
+    String[] apiPatterns() default {};
+
+    /** Maximum p95 latency of requests matching apiPatterns, in ms */
+    long apiP95Millis() default -1;
+
+    /** What a violation does; INHERIT takes the enforcement from config */
+    Enforcement enforcement() default Enforcement.INHERIT;
+
+    enum Enforcement {
+        /** Use the next level's enforcement (config default: WARN) */
+        INHERIT,
+        /** Log and attach the violation; the test result is unchanged */
+        WARN,
+        /** Fail the test */
+        FAIL
+    }
+}
@@ -0,0 +1,357 @@
+package com.framework.core.reporting;
+
+import com.framework.core.config.FrameworkConfig.NetworkConfig.BudgetConfig;
+import com.framework.core.config.FrameworkConfig.NetworkConfig.BudgetLimits;
+import com.framework.core.config.FrameworkConfig.NetworkConfig.PageBudget;
+import com.framework.core.reporting.NetworkBudget.Enforcement;
+import com.framework.core.reporting.NetworkLogger.NetworkEntry;
+import io.qameta.allure.Allure;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+/**
+ * NetworkBudgetChecker - Enforces per-test network performance budgets
+ *
+ * Budgets come from, most specific first:
+ * - @NetworkBudget on the test method
+ * - @NetworkBudget on the test class
+ * - framework.network.budgets.pages entries whose url-pattern matches a
+ *   document the test loaded
+ * - framework.network.budgets.defaults
+ *
+ * Checked after each test against the NetworkLogger:
+ * - request count and transferred bytes (totals since attach, including
+ *   entries the ring buffer dropped)
+ * - slowest single request and p95 latency of requests matching the API
+ *   patterns (over retained entries), from the browser's request timing;
+ *   requests that failed or had not finished have no timing and are left out
+ *
+ * WARN budgets log and attach the violations; FAIL budgets fail the test.
+ * Every checked test is recorded for the suite-level report.
+ */
+@Slf4j
+public final class NetworkBudgetChecker {
+
+    private static final Queue<BudgetResult> results = new ConcurrentLinkedQueue<>();
+    private static final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    private NetworkBudgetChecker() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // BUDGET RESOLUTION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Limits for one test. A value of -1 means no limit.
+     */
+    public record Budget(int maxRequests, long maxTransferBytes, long maxRequestMillis,
+                         List<String> apiPatterns, long apiP95Millis, Enforcement enforcement) {
+
+        public static final Budget NONE = new Budget(-1, -1, -1, List.of(), -1, Enforcement.INHERIT);
+
+        public static Budget of(NetworkBudget annotation) {
+            return new Budget(annotation.maxRequests(), annotation.maxTransferBytes(),
+                annotation.maxRequestMillis(), List.of(annotation.apiPatterns()),
+                annotation.apiP95Millis(), annotation.enforcement());
+        }
+
+        public static Budget of(BudgetLimits limits) {
+            return new Budget(limits.getMaxRequests(), limits.getMaxTransferBytes(),
+                limits.getMaxRequestMillis(), List.copyOf(limits.getApiPatterns()),
+                limits.getApiP95Millis(), parseEnforcement(limits.getEnforcement()));
+        }
+
+        /**
+         * Returns this budget with every limit the other budget sets replaced.
+         */
+        public Budget overriddenBy(Budget other) {
+            return new Budget(
+                other.maxRequests >= 0 ? other.maxRequests : maxRequests,
+                other.maxTransferBytes >= 0 ? other.maxTransferBytes : maxTransferBytes,
+                other.maxRequestMillis >= 0 ? other.maxRequestMillis : maxRequestMillis,
+                other.apiPatterns.isEmpty() ? apiPatterns : other.apiPatterns,
+                other.apiP95Millis >= 0 ? other.apiP95Millis : apiP95Millis,
+                other.enforcement != Enforcement.INHERIT ? other.enforcement : enforcement);
+        }
+
+        public boolean isEmpty() {
+            return maxRequests < 0 && maxTransferBytes < 0 && maxRequestMillis < 0
+                && (apiP95Millis < 0 || apiPatterns.isEmpty());
+        }
+    }
+
+    /**
+     * Resolves the budget for a test from config, the pages it loaded and
+     * its annotations.
+     *
+     * @param testMethod the test method (its declaring class is checked too)
+     * @param config     framework.network.budgets
+     * @param entries    captured network entries, used to match page budgets
+     */
+    public static Budget resolve(Method testMethod, BudgetConfig config, List<NetworkEntry> entries) {
+        Budget budget = Budget.of(config.getDefaults());
+
+        for (PageBudget page : config.getPages()) {
+            if (page.getUrlPattern() != null && entries.stream()
+                    .anyMatch(e -> "document".equals(e.getResourceType()) && matches(page.getUrlPattern(), e.getUrl()))) {
+                budget = budget.overriddenBy(Budget.of(page));
+            }
+        }
+
+        if (testMethod != null) {
+            NetworkBudget onClass = testMethod.getDeclaringClass().getAnnotation(NetworkBudget.class);
+            if (onClass != null) {
+                budget = budget.overriddenBy(Budget.of(onClass));
+            }
+            NetworkBudget onMethod = testMethod.getAnnotation(NetworkBudget.class);
+            if (onMethod != null) {
+                budget = budget.overriddenBy(Budget.of(onMethod));
+            }
+        }
+
+        if (budget.enforcement() == Enforcement.INHERIT) {
+            Enforcement fallback = parseEnforcement(config.getEnforcement());
+            budget = budget.overriddenBy(new Budget(-1, -1, -1, List.of(), -1,
+                fallback != Enforcement.INHERIT ? fallback : Enforcement.WARN));
+        }
+        return budget;
+    }
+
+    /**
+     * Whether any budget that can apply to the test limits transferred bytes,
+     * i.e. whether measured transfer sizes are needed. Page budgets count
+     * regardless of their url-pattern, since the pages are not known yet.
+     */
+    public static boolean limitsTransfer(Method testMethod, BudgetConfig config) {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        if (config.getDefaults().getMaxTransferBytes() >= 0
+                || config.getPages().stream().anyMatch(page -> page.getMaxTransferBytes() >= 0)) {
+            return true;
+        }
+        if (testMethod == null) {
+            return false;
+        }
+        NetworkBudget onClass = testMethod.getDeclaringClass().getAnnotation(NetworkBudget.class);
+        NetworkBudget onMethod = testMethod.getAnnotation(NetworkBudget.class);
+        return onClass != null && onClass.maxTransferBytes() >= 0
+            || onMethod != null && onMethod.maxTransferBytes() >= 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CHECKING
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Measured values and violations for one test.
+     */
+    public record BudgetResult(String testName, Budget budget, long requests, long transferBytes,
+                               long slowestMillis, String slowestUrl, long apiP95Millis, int apiSamples,
+                               List<String> violations) {
+
+        public boolean hasViolations() {
+            return !violations.isEmpty();
+        }
+
+        /**
+         * True when the violations should fail the test.
+         */
+        public boolean isFailure() {
+            return hasViolations() && budget.enforcement() == Enforcement.FAIL;
+        }
+    }
+
+    /**
+     * Measures the logger against the budget and records the result for the
+     * suite report. Violations are logged and attached to Allure.
+     */
+    public static BudgetResult check(String testName, Budget budget, NetworkLogger logger) {
+        List<NetworkEntry> entries = logger.getEntries();
+        long requests = logger.getTotalCaptured();
+        long bytes = logger.getTotalTransferBytes();
+
+        NetworkEntry slowest = entries.stream()
+            .filter(NetworkBudgetChecker::isTimed)
+            .max(Comparator.comparingLong(NetworkEntry::getDuration))
+            .orElse(null);
+        long slowestMillis = slowest != null ? slowest.getDuration() : 0;
+
+        long[] apiDurations = entries.stream()
+            .filter(NetworkBudgetChecker::isTimed)
+            .filter(e -> budget.apiPatterns().stream().anyMatch(p -> matches(p, e.getUrl())))
+            .mapToLong(NetworkEntry::getDuration)
+            .sorted()
+            .toArray();
+        long apiP95 = percentile(apiDurations, 95);
+
+        List<String> violations = new ArrayList<>();
+        if (budget.maxRequests() >= 0 && requests > budget.maxRequests()) {
+            violations.add(String.format("requests: %d > %d", requests, budget.maxRequests()));
+        }
+        if (budget.maxTransferBytes() >= 0 && bytes > budget.maxTransferBytes()) {
+            violations.add(String.format("transfer: %d KB > %d KB", bytes / 1024, budget.maxTransferBytes() / 1024));
+        }
+        if (budget.maxRequestMillis() >= 0 && slowestMillis > budget.maxRequestMillis()) {
+            violations.add(String.format("slowest request: %dms > %dms (%s)",
+                slowestMillis, budget.maxRequestMillis(), slowest.getUrl()));
+        }
+        if (budget.apiP95Millis() >= 0 && apiDurations.length > 0 && apiP95 > budget.apiP95Millis()) {
+            violations.add(String.format("p95 %s: %dms > %dms (%d requests)",
+                budget.apiPatterns(), apiP95, budget.apiP95Millis(), apiDurations.length));
+        }
+
+        BudgetResult result = new BudgetResult(testName, budget, requests, bytes, slowestMillis,
+            slowest != null ? slowest.getUrl() : null, apiP95, apiDurations.length, List.copyOf(violations));
+        results.add(result);
+
+        if (result.hasViolations()) {
+            String summary = String.join("; ", violations);
+            if (result.isFailure()) {
+                log.error("Network budget exceeded: {} - {}", testName, summary);
+            } else {
+                log.warn("Network budget exceeded: {} - {}", testName, summary);
+            }
+            Allure.addAttachment("Network Budget", "text/plain", formatResult(result));
+        } else {
+            log.debug("Network budget OK: {} ({} requests, {} KB)", testName, requests, bytes / 1024);
+        }
+        return result;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SUITE REPORT
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Logs the suite summary and writes the full report. Called at suite end.
+     */
+    public static void writeSuiteReport(Path reportPath) {
+        List<BudgetResult> all = new ArrayList<>(results);
+        if (all.isEmpty()) {
+            return;
+        }
+        long withViolations = all.stream().filter(BudgetResult::hasViolations).count();
+        long failed = all.stream().filter(BudgetResult::isFailure).count();
+        log.info("Network budgets: {} tests checked, {} over budget ({} failed)", all.size(), withViolations, failed);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("═══════════════════════════════════════════════════════════════\n");
+        sb.append("                  NETWORK BUDGET REPORT                         \n");
+        sb.append("═══════════════════════════════════════════════════════════════\n\n");
+        sb.append(String.format("%-50s %8s %10s %10s %10s  %s%n",
+            "Test", "Requests", "KB", "Slowest", "API p95", "Result"));
+
+        all.sort(Comparator.comparing(BudgetResult::hasViolations).reversed()
+            .thenComparing(BudgetResult::testName));
+        for (BudgetResult result : all) {
+            sb.append(String.format("%-50s %8d %10d %8dms %8s  %s%n",
+                abbreviate(result.testName(), 50), result.requests(), result.transferBytes() / 1024,
+                result.slowestMillis(), result.apiSamples() > 0 ? result.apiP95Millis() + "ms" : "-",
+                result.isFailure() ? "FAIL" : result.hasViolations() ? "WARN" : "OK"));
+            for (String violation : result.violations()) {
+                sb.append("    ").append(violation).append('\n');
+            }
+        }
+
+        sb.append("\n═══════════════════════════════════════════════════════════════\n");
+        sb.append(String.format("Tests checked: %d%n", all.size()));
+        sb.append(String.format("Over budget:   %d (%d failed)%n", withViolations, failed));
+
+        try {
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            Files.writeString(reportPath, sb.toString());
+            log.info("Network budget report written to {}", reportPath);
+        } catch (IOException e) {
+            log.warn("Could not write network budget report: {}", e.getMessage());
+        }
+    }
+
+    public static List<BudgetResult> getResults() {
+        return List.copyOf(results);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static String formatResult(BudgetResult result) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Enforcement: %s%n", result.budget().enforcement()));
+        sb.append(String.format("Requests: %d (limit %s)%n", result.requests(), limit(result.budget().maxRequests())));
+        sb.append(String.format("Transfer: %d KB (limit %s)%n", result.transferBytes() / 1024,
+            result.budget().maxTransferBytes() >= 0 ? result.budget().maxTransferBytes() / 1024 + " KB" : "none"));
+        sb.append(String.format("Slowest: %dms %s (limit %s)%n", result.slowestMillis(),
+            result.slowestUrl() != null ? result.slowestUrl() : "", limit(result.budget().maxRequestMillis())));
+        sb.append(String.format("API p95 %s: %dms over %d requests (limit %s)%n", result.budget().apiPatterns(),
+            result.apiP95Millis(), result.apiSamples(), limit(result.budget().apiP95Millis())));
+        sb.append("\nViolations:\n");
+        result.violations().forEach(v -> sb.append("  - ").append(v).append('\n'));
+        return sb.toString();
+    }
+
+    private static String limit(long value) {
+        return value >= 0 ? String.valueOf(value) : "none";
+    }
+
+    private static Enforcement parseEnforcement(String value) {
+        if (value == null || value.isBlank()) {
+            return Enforcement.INHERIT;
+        }
+        return Enforcement.valueOf(value.trim().toUpperCase());
+    }
+
+    /**
+     * Answered, with a duration from request.timing() (-1 until it finishes).
+     */
+    private static boolean isTimed(NetworkEntry entry) {
+        return entry.getStatus() > 0 && entry.getDuration() >= 0;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values; 0 when empty.
+     */
+    static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * URL pattern match: '*' matches any run of characters, and the pattern
+     * may match anywhere in the URL ("/api/booking/*").
+     */
+    static boolean matches(String pattern, String url) {
+        return patterns.computeIfAbsent(pattern, p -> {
+            StringBuilder regex = new StringBuilder();
+            for (String part : p.split("\\*", -1)) {
+                if (!regex.isEmpty()) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            return Pattern.compile(regex.toString());
+        }).matcher(url).find();
+    }
+
+    private static String abbreviate(String text, int max) {
+        return text.length() <= max ? text : "…" + text.substring(text.length() - max + 1);
+    }
+}
@@ -3,14 +3,23 @@ package com.framework.core.reporting;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Request;
 import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.Sizes;
+import com.microsoft.playwright.options.Timing;
 import io.qameta.allure.Allure;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * NetworkLogger - Captures network requests/responses for debugging
@@ -18,15 +27,97 @@ import java.util.stream.Collectors;
  * Attaches to a Page and records all network activity.
  * Can filter to relevant domains/paths.
  * Exports to Allure report as attachment.
+ *
+ * Storage:
+ * - Entries live in a bounded ring buffer (default 500). When it is full the
+ *   oldest entry is dropped and counted, so memory stays flat on
+ *   long-polling pages
+ * - Responses and failures are matched to their entry through an identity
+ *   map keyed by the Playwright Request, in O(1) and without mixing up
+ *   concurrent duplicate requests
+ * - All state is guarded by one lock; readers get copies, so the test thread
+ *   can query while events are still arriving
+ *
+ * Response bodies:
+ * - Fetching a body is an IPC round-trip that copies it into the JVM, so
+ *   only responses whose content type (JSON, text by default) and URL match
+ *   the body policy are fetched
+ * - BodyCapture.ON_FAILURE keeps a handle to eligible responses and fetches
+ *   them in completeBodies(true) only if the test failed
+ * - Fetched, skipped and deferred bodies are counted per logger and for the
+ *   whole run (logBodyCaptureSummary)
+ *
+ * Transfer sizes:
+ * - Estimated from content-length or the fetched body
+ * - When recording a HAR or measuring for a transfer budget, a finished
+ *   request's size is replaced by what Playwright measured on the wire
+ *   (request.sizes(): response body + headers, two round-trips to the driver)
+ * - Requests that fail or never finish keep the estimate
+ *
+ * HAR export:
+ * - recordHar(path) streams every captured request to a gzip HAR 1.2 file as
+ *   it finishes, with Playwright timing phases and transfer sizes
+ * - Entries go straight to disk (HarWriter), so the HAR is complete even
+ *   when the ring buffer has dropped older entries
  */
 @Slf4j
 public class NetworkLogger {
 
-    private final List<NetworkEntry> entries = new ArrayList<>();
-    private final List<String> filterPatterns = new ArrayList<>();
-    private boolean captureRequestBody = true;
-    private boolean captureResponseBody = true;
-    private int maxBodyLength = 10000;
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private final Object lock = new Object();
+    private NetworkEntry[] ring = new NetworkEntry[DEFAULT_CAPACITY];
+    private Request[] ringRequests = new Request[DEFAULT_CAPACITY];
+    private int start;
+    private int count;
+    private final Map<Request, NetworkEntry> inFlight = new IdentityHashMap<>();
+
+    private long totalCaptured;
+    private long droppedEntries;
+    private long unmatchedEvents;
+    private long transferBytes;
+
+    private final List<String> filterPatterns = new CopyOnWriteArrayList<>();
+    private volatile boolean captureRequestBody = true;
+    private volatile boolean captureResponseBody = true;
+    private volatile int maxBodyLength = 10000;
+
+    private volatile boolean measureTransferSizes;
+
+    private volatile BodyCapture bodyCapture = BodyCapture.ALWAYS;
+    private final List<String> bodyContentTypes = new CopyOnWriteArrayList<>(DEFAULT_BODY_CONTENT_TYPES);
+    private final List<String> bodyUrlPatterns = new CopyOnWriteArrayList<>();
+    private final Map<NetworkEntry, Response> deferredBodies = new IdentityHashMap<>();
+    private final Map<NetworkEntry, Long> skippedBodies = new IdentityHashMap<>();
+
+    private volatile HarWriter harWriter;
+    private final Map<Request, HarPending> harPending = new IdentityHashMap<>();
+
+    private long bodiesFetched;
+    private long bodiesSkipped;
+    private long bodiesDiscarded;
+    private long bytesFetched;
+    private long bytesAvoided;
+
+    private static final AtomicLong totalBodiesFetched = new AtomicLong();
+    private static final AtomicLong totalRoundTripsAvoided = new AtomicLong();
+    private static final AtomicLong totalBytesFetched = new AtomicLong();
+    private static final AtomicLong totalBytesAvoided = new AtomicLong();
+
+    public static final List<String> DEFAULT_BODY_CONTENT_TYPES = List.of(
+        "application/json", "+json", "text/plain", "text/html", "application/xml", "text/xml");
+
+    /**
+     * When response bodies are fetched from the browser.
+     */
+    public enum BodyCapture {
+        /** Fetch eligible bodies as responses arrive */
+        ALWAYS,
+        /** Fetch eligible bodies at the end of the test, only if it failed */
+        ON_FAILURE,
+        /** Never fetch response bodies */
+        NEVER
+    }
 
     // ═══════════════════════════════════════════════════════════════════════════
     // CONFIGURATION
@@ -51,11 +142,69 @@ public class NetworkLogger {
         return this;
     }
 
+    /**
+     * Whether finished requests are measured with request.sizes() when no HAR
+     * is being recorded. Only worth the driver round-trips when a transfer
+     * budget is checked against the totals.
+     */
+    public NetworkLogger setMeasureTransferSizes(boolean measure) {
+        this.measureTransferSizes = measure;
+        return this;
+    }
+
+    public NetworkLogger setBodyCapture(BodyCapture bodyCapture) {
+        this.bodyCapture = bodyCapture;
+        return this;
+    }
+
+    /**
+     * Content types whose bodies may be fetched (substring match on the
+     * content-type header). Replaces the defaults.
+     */
+    public NetworkLogger setBodyContentTypes(List<String> contentTypes) {
+        bodyContentTypes.clear();
+        bodyContentTypes.addAll(contentTypes);
+        return this;
+    }
+
+    /**
+     * URL substrings whose bodies may be fetched. Empty means any captured URL.
+     */
+    public NetworkLogger setBodyUrlPatterns(List<String> urlPatterns) {
+        bodyUrlPatterns.clear();
+        bodyUrlPatterns.addAll(urlPatterns);
+        return this;
+    }
+
     public NetworkLogger setMaxBodyLength(int length) {
         this.maxBodyLength = length;
         return this;
     }
 
+    /**
+     * Sets the maximum number of entries kept. Existing entries beyond the new
+     * capacity are dropped oldest-first.
+     */
+    public NetworkLogger setCapacity(int capacity) {
+        int size = Math.max(1, capacity);
+        synchronized (lock) {
+            while (count > size) {
+                evictOldest();
+            }
+            NetworkEntry[] newRing = new NetworkEntry[size];
+            Request[] newRequests = new Request[size];
+            for (int i = 0; i < count; i++) {
+                int index = (start + i) % ring.length;
+                newRing[i] = ring[index];
+                newRequests[i] = ringRequests[index];
+            }
+            ring = newRing;
+            ringRequests = newRequests;
+            start = 0;
+        }
+        return this;
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // ATTACHMENT
     // ═══════════════════════════════════════════════════════════════════════════
@@ -67,6 +216,7 @@ public class NetworkLogger {
         page.onRequest(this::onRequest);
         page.onResponse(this::onResponse);
         page.onRequestFailed(this::onRequestFailed);
+        page.onRequestFinished(this::onRequestFinished);
         log.debug("NetworkLogger attached to page");
     }
 
@@ -77,6 +227,7 @@ public class NetworkLogger {
 
         NetworkEntry entry = new NetworkEntry();
         entry.setTimestamp(Instant.now());
+        entry.setDuration(-1);
         entry.setMethod(request.method());
         entry.setUrl(request.url());
         entry.setResourceType(request.resourceType());
@@ -88,7 +239,14 @@ public class NetworkLogger {
         // Store headers
         entry.setRequestHeaders(request.headers().toString());
 
-        entries.add(entry);
+        append(request, entry);
+        if (harWriter != null) {
+            HarPending pending = new HarPending(entry.getTimestamp(), request.method(), request.url(),
+                request.headers(), request.postData());
+            synchronized (lock) {
+                harPending.put(request, pending);
+            }
+        }
         log.trace("Request: {} {}", request.method(), request.url());
     }
 
@@ -97,25 +255,62 @@ public class NetworkLogger {
             return;
         }
 
-        // Find matching entry
-        NetworkEntry entry = findEntry(response.url(), response.request().method());
-        if (entry != null) {
-            entry.setStatus(response.status());
-            entry.setStatusText(response.statusText());
-            entry.setResponseHeaders(response.headers().toString());
-            entry.setDuration(java.time.Duration.between(entry.getTimestamp(), Instant.now()).toMillis());
-
-            if (captureResponseBody) {
-                try {
-                    String body = response.text();
-                    entry.setResponseBody(truncate(body, maxBodyLength));
-                } catch (Exception e) {
-                    entry.setResponseBody("[Binary or unreadable content]");
-                }
+        Request request = response.request();
+        synchronized (lock) {
+            if (!inFlight.containsKey(request)) {
+                unmatchedEvents++;
+                return;
+            }
+        }
+
+        // Read everything from Playwright before taking the lock
+        int status = response.status();
+        String statusText = response.statusText();
+        Map<String, String> headerMap = response.headers();
+        boolean eligible = isBodyEligible(response.url(), headerMap.get("content-type"));
+        long bodySize = contentLength(headerMap);
+        String body = null;
+        if (eligible && bodyCapture == BodyCapture.ALWAYS) {
+            body = fetchBody(response);
+        }
+
+        synchronized (lock) {
+            NetworkEntry entry = inFlight.get(request);
+            if (entry == null) {
+                // Evicted while the body was being read
+                unmatchedEvents++;
+                return;
+            }
+            entry.setStatus(status);
+            entry.setStatusText(statusText);
+            entry.setResponseHeaders(headerMap.toString());
+            entry.setTransferSize(bodySize > 0 || body == null ? bodySize : body.length());
+            transferBytes += entry.getTransferSize();
+
+            HarPending pending = harPending.get(request);
+            if (pending != null) {
+                pending.status = status;
+                pending.statusText = statusText;
+                pending.responseHeaders = headerMap;
+                pending.responseBody = body;
             }
 
-            log.trace("Response: {} {} - {}", response.request().method(), response.url(), response.status());
+            if (body != null) {
+                entry.setResponseBody(body);
+                recordFetched(body);
+            } else if (eligible && bodyCapture == BodyCapture.ON_FAILURE) {
+                deferredBodies.put(entry, response);
+            } else if (captureResponseBody) {
+                // Filtered out by the body policy - one round-trip not made
+                bodiesSkipped++;
+                bytesAvoided += bodySize;
+                totalRoundTripsAvoided.incrementAndGet();
+                totalBytesAvoided.addAndGet(bodySize);
+                skippedBodies.put(entry, bodySize);
+            }
         }
+
+        log.trace("Response: {} {} - {}", request.method(), response.url(), status);
     }
 
     private void onRequestFailed(Request request) {
@@ -123,11 +318,240 @@ public class NetworkLogger {
             return;
         }
 
-        NetworkEntry entry = findEntry(request.url(), request.method());
+        String failure = request.failure();
+        HarPending pending;
+        NetworkEntry entry;
+        synchronized (lock) {
+            pending = harPending.remove(request);
+            entry = inFlight.remove(request);
+            if (entry == null) {
+                unmatchedEvents++;
+            } else {
+                entry.setStatus(-1);
+                entry.setStatusText("FAILED: " + failure);
+                skippedBodies.remove(entry);
+            }
+        }
+        if (pending != null) {
+            writeHar(pending, failure, readTiming(request), null);
+        }
+        if (entry == null) {
+            return;
+        }
+        log.warn("Request failed: {} {} - {}", request.method(), request.url(), failure);
+    }
+
+    private void onRequestFinished(Request request) {
+        HarPending pending;
+        NetworkEntry entry;
+        synchronized (lock) {
+            entry = inFlight.remove(request);
+            pending = harPending.remove(request);
+        }
+        if (entry == null && pending == null) {
+            return;
+        }
+        Timing timing = readTiming(request);
+        Sizes sizes = pending != null || measureTransferSizes ? readSizes(request) : null;
         if (entry != null) {
-            entry.setStatus(-1);
-            entry.setStatusText("FAILED: " + request.failure());
-            log.warn("Request failed: {} {} - {}", request.method(), request.url(), request.failure());
+            applyTiming(entry, timing);
+            if (sizes != null) {
+                applySizes(entry, sizes);
+            }
+        }
+        if (pending != null) {
+            writeHar(pending, null, timing, sizes);
+        }
+    }
+
+    /**
+     * Sets the duration from the browser's own timing. Handlers run on the
+     * test thread whenever it next calls into Playwright, so the time an
+     * event is seen here says nothing about the request.
+     */
+    private void applyTiming(NetworkEntry entry, Timing timing) {
+        // responseEnd is relative to startTime, i.e. already responseEnd - startTime
+        if (timing != null && timing.responseEnd >= 0) {
+            synchronized (lock) {
+                entry.setDuration(Math.round(timing.responseEnd));
+            }
+        }
+    }
+
+    /**
+     * Replaces the content-length estimates taken in onResponse with the
+     * sizes Playwright measured, correcting the running totals by the difference.
+     */
+    private void applySizes(NetworkEntry entry, Sizes sizes) {
+        long body = Math.max(0, sizes.responseBodySize);
+        long received = body + Math.max(0, sizes.responseHeadersSize);
+        synchronized (lock) {
+            transferBytes += received - entry.getTransferSize();
+            entry.setTransferSize(received);
+
+            Long estimated = skippedBodies.remove(entry);
+            if (estimated != null) {
+                bytesAvoided += body - estimated;
+                totalBytesAvoided.addAndGet(body - estimated);
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HAR EXPORT
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Starts streaming captured requests to a gzip HAR file. Call before
+     * attachToPage so the first requests are included.
+     */
+    public NetworkLogger recordHar(Path file) throws IOException {
+        closeHar();
+        harWriter = new HarWriter(file);
+        log.debug("NetworkLogger: Recording HAR to {}", file);
+        return this;
+    }
+
+    /**
+     * Finishes the HAR file. Requests still in flight are written without
+     * timings. Returns the file, or null if no HAR was being recorded.
+     */
+    public Path closeHar() {
+        HarWriter writer = harWriter;
+        if (writer == null) {
+            return null;
+        }
+        Map<Request, HarPending> unfinished;
+        synchronized (lock) {
+            unfinished = new IdentityHashMap<>(harPending);
+            harPending.clear();
+        }
+        unfinished.forEach((request, pending) -> writeHar(pending, null, readTiming(request), null));
+        harWriter = null;
+        writer.close();
+        return writer.getFile();
+    }
+
+    private void writeHar(HarPending pending, String failure, Timing timing, Sizes sizes) {
+        HarWriter writer = harWriter;
+        if (writer == null) {
+            return;
+        }
+        writer.write(new HarWriter.HarEntry(pending.startedAt, pending.method, pending.url,
+            pending.requestHeaders, pending.postData, pending.status, pending.statusText,
+            pending.responseHeaders, pending.responseBody, failure, timing, sizes));
+    }
+
+    private static Timing readTiming(Request request) {
+        try {
+            return request.timing();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Sizes readSizes(Request request) {
+        try {
+            return request.sizes();
+        } catch (Exception e) {
+            // Context already closing - sizes are optional in HAR
+            return null;
+        }
+    }
+
+    /**
+     * Request data held until the request finishes and its HAR entry is written.
+     */
+    private static final class HarPending {
+        final Instant startedAt;
+        final String method;
+        final String url;
+        final Map<String, String> requestHeaders;
+        final String postData;
+        int status;
+        String statusText;
+        Map<String, String> responseHeaders;
+        String responseBody;
+
+        HarPending(Instant startedAt, String method, String url, Map<String, String> requestHeaders, String postData) {
+            this.startedAt = startedAt;
+            this.method = method;
+            this.url = url;
+            this.requestHeaders = requestHeaders;
+            this.postData = postData;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // DEFERRED BODIES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Resolves bodies deferred by BodyCapture.ON_FAILURE. Call before the
+     * browser context is closed.
+     *
+     * @param failed true to fetch the deferred bodies, false to drop them
+     * @return number of bodies fetched
+     */
+    public int completeBodies(boolean failed) {
+        Map<NetworkEntry, Response> pending;
+        synchronized (lock) {
+            if (deferredBodies.isEmpty()) {
+                return 0;
+            }
+            pending = new IdentityHashMap<>(deferredBodies);
+            deferredBodies.clear();
+        }
+
+        if (!failed) {
+            long bytes = pending.values().stream().mapToLong(r -> contentLength(r.headers())).sum();
+            synchronized (lock) {
+                bodiesDiscarded += pending.size();
+                bytesAvoided += bytes;
+            }
+            totalRoundTripsAvoided.addAndGet(pending.size());
+            totalBytesAvoided.addAndGet(bytes);
+            return 0;
+        }
+
+        int fetched = 0;
+        for (Map.Entry<NetworkEntry, Response> e : pending.entrySet()) {
+            String body = fetchBody(e.getValue());
+            synchronized (lock) {
+                e.getKey().setResponseBody(body);
+                recordFetched(body);
+            }
+            fetched++;
+        }
+        return fetched;
+    }
+
+    public BodyCaptureStats getBodyCaptureStats() {
+        synchronized (lock) {
+            return new BodyCaptureStats(bodiesFetched, bodiesSkipped, bodiesDiscarded, deferredBodies.size(),
+                bytesFetched, bytesAvoided);
+        }
+    }
+
+    /**
+     * Logs body capture totals across all loggers. Called at suite end.
+     */
+    public static void logBodyCaptureSummary() {
+        log.info("Network body capture: {} bodies fetched ({} KB), {} round-trips avoided (~{} KB not transferred)",
+            totalBodiesFetched.get(), totalBytesFetched.get() / 1024,
+            totalRoundTripsAvoided.get(), totalBytesAvoided.get() / 1024);
+    }
+
+    /**
+     * Per-logger body capture counters. Byte counts for skipped bodies are the
+     * measured body sizes of finished requests; for the others they come from
+     * content-length and are 0 when the server did not send it.
+     */
+    public record BodyCaptureStats(long fetched, long skipped, long discarded, long pending,
+                                   long bytesFetched, long bytesAvoided) {
+
+        public long roundTripsAvoided() {
+            return skipped + discarded;
         }
     }
 
@@ -139,11 +563,12 @@ public class NetworkLogger {
      * Attaches network log to Allure report.
      */
     public void attachToAllureReport() {
+        List<NetworkEntry> entries = getEntries();
         if (entries.isEmpty()) {
             return;
         }
 
-        String report = generateReport();
+        String report = generateReport(entries);
         Allure.addAttachment("Network Log", "text/plain", report);
         log.debug("Network log attached to Allure ({} entries)", entries.size());
     }
@@ -152,6 +577,10 @@ public class NetworkLogger {
      * Generates human-readable report.
      */
     public String generateReport() {
+        return generateReport(getEntries());
+    }
+
+    private String generateReport(List<NetworkEntry> entries) {
         StringBuilder sb = new StringBuilder();
         sb.append("═══════════════════════════════════════════════════════════════\n");
         sb.append("                     NETWORK LOG                                \n");
@@ -161,7 +590,9 @@ public class NetworkLogger {
             NetworkEntry entry = entries.get(i);
             sb.append(String.format("[%d] %s %s\n", i + 1, entry.getMethod(), entry.getUrl()));
             sb.append(String.format("    Status: %d %s\n", entry.getStatus(), entry.getStatusText()));
-            sb.append(String.format("    Duration: %dms\n", entry.getDuration()));
+            sb.append(entry.getDuration() >= 0
+                ? String.format("    Duration: %dms\n", entry.getDuration())
+                : "    Duration: n/a\n");
 
             if (entry.getRequestBody() != null && !entry.getRequestBody().isEmpty()) {
                 sb.append("    Request Body:\n");
@@ -178,7 +609,14 @@ public class NetworkLogger {
 
         sb.append("═══════════════════════════════════════════════════════════════\n");
         sb.append(String.format("Total requests: %d\n", entries.size()));
-        sb.append(String.format("Failed requests: %d\n", getFailedCount()));
+        sb.append(String.format("Failed requests: %d\n", entries.stream().filter(NetworkEntry::isFailed).count()));
+        long dropped = getDroppedCount();
+        if (dropped > 0) {
+            sb.append(String.format("Dropped (older than last %d): %d\n", entries.size(), dropped));
+        }
+        BodyCaptureStats bodies = getBodyCaptureStats();
+        sb.append(String.format("Response bodies: %d fetched, %d not fetched (~%d KB avoided)\n",
+            bodies.fetched(), bodies.roundTripsAvoided(), bodies.bytesAvoided() / 1024));
         return sb.toString();
     }
 
@@ -186,30 +624,88 @@ public class NetworkLogger {
     // QUERIES
     // ═══════════════════════════════════════════════════════════════════════════
 
+    /**
+     * Copies of the retained entries, oldest first.
+     */
     public List<NetworkEntry> getEntries() {
-        return new ArrayList<>(entries);
+        return snapshot(e -> true);
     }
 
     public List<NetworkEntry> getEntriesForUrl(String urlPattern) {
-        return entries.stream()
-            .filter(e -> e.getUrl().contains(urlPattern))
-            .collect(Collectors.toList());
+        return snapshot(e -> e.getUrl().contains(urlPattern));
     }
 
     public List<NetworkEntry> getFailedRequests() {
-        return entries.stream()
-            .filter(e -> e.getStatus() < 0 || e.getStatus() >= 400)
-            .collect(Collectors.toList());
+        return snapshot(NetworkEntry::isFailed);
     }
 
     public int getFailedCount() {
-        return (int) entries.stream()
-            .filter(e -> e.getStatus() < 0 || e.getStatus() >= 400)
-            .count();
+        synchronized (lock) {
+            int failed = 0;
+            for (int i = 0; i < count; i++) {
+                if (ring[(start + i) % ring.length].isFailed()) {
+                    failed++;
+                }
+            }
+            return failed;
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return count;
+        }
+    }
+
+    /**
+     * Requests captured since attach, including dropped ones.
+     */
+    public long getTotalCaptured() {
+        synchronized (lock) {
+            return totalCaptured;
+        }
+    }
+
+    /**
+     * Response bytes received since attach, including dropped entries.
+     * Measured body + header sizes for finished requests; content-length, or
+     * the fetched body size, for the rest.
+     */
+    public long getTotalTransferBytes() {
+        synchronized (lock) {
+            return transferBytes;
+        }
+    }
+
+    /**
+     * Entries evicted because the ring buffer was full.
+     */
+    public long getDroppedCount() {
+        synchronized (lock) {
+            return droppedEntries;
+        }
+    }
+
+    /**
+     * Responses/failures whose request was never captured or already evicted.
+     */
+    public long getUnmatchedCount() {
+        synchronized (lock) {
+            return unmatchedEvents;
+        }
     }
 
     public void clear() {
-        entries.clear();
+        synchronized (lock) {
+            Arrays.fill(ring, null);
+            Arrays.fill(ringRequests, null);
+            start = 0;
+            count = 0;
+            inFlight.clear();
+            deferredBodies.clear();
+            skippedBodies.clear();
+            harPending.clear();
+        }
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -223,14 +719,92 @@ public class NetworkLogger {
         return filterPatterns.stream().anyMatch(url::contains);
     }
 
-    private NetworkEntry findEntry(String url, String method) {
-        for (int i = entries.size() - 1; i >= 0; i--) {
-            NetworkEntry entry = entries.get(i);
-            if (entry.getUrl().equals(url) && entry.getMethod().equals(method)) {
-                return entry;
+    private void append(Request request, NetworkEntry entry) {
+        synchronized (lock) {
+            if (count == ring.length) {
+                evictOldest();
+            }
+            int index = (start + count) % ring.length;
+            ring[index] = entry;
+            ringRequests[index] = request;
+            count++;
+            totalCaptured++;
+            inFlight.put(request, entry);
+        }
+    }
+
+    /**
+     * Removes the oldest entry. Caller holds the lock.
+     */
+    private void evictOldest() {
+        Request request = ringRequests[start];
+        if (request != null && inFlight.get(request) == ring[start]) {
+            inFlight.remove(request);
+        }
+        deferredBodies.remove(ring[start]);
+        skippedBodies.remove(ring[start]);
+        ring[start] = null;
+        ringRequests[start] = null;
+        start = (start + 1) % ring.length;
+        count--;
+        droppedEntries++;
+    }
+
+    private List<NetworkEntry> snapshot(Predicate<NetworkEntry> filter) {
+        synchronized (lock) {
+            List<NetworkEntry> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                NetworkEntry entry = ring[(start + i) % ring.length];
+                if (filter.test(entry)) {
+                    result.add(entry.copy());
+                }
             }
+            return result;
+        }
+    }
+
+    private boolean isBodyEligible(String url, String contentType) {
+        if (!captureResponseBody || bodyCapture == BodyCapture.NEVER || contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        if (bodyContentTypes.stream().noneMatch(type::contains)) {
+            return false;
+        }
+        return bodyUrlPatterns.isEmpty() || bodyUrlPatterns.stream().anyMatch(url::contains);
+    }
+
+    private String fetchBody(Response response) {
+        try {
+            return truncate(response.text(), maxBodyLength);
+        } catch (Exception e) {
+            return "[Binary or unreadable content]";
+        }
+    }
+
+    /**
+     * Caller holds the lock.
+     */
+    private void recordFetched(String body) {
+        bodiesFetched++;
+        bytesFetched += body.length();
+        totalBodiesFetched.incrementAndGet();
+        totalBytesFetched.addAndGet(body.length());
+    }
+
+    /**
+     * Transfer size estimate used until request.sizes() is available.
+     */
+    private static long contentLength(Map<String, String> headers) {
+        String length = headers.get("content-length");
+        if (length == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return 0;
         }
-        return null;
     }
 
     private String truncate(String text, int maxLength) {
@@ -255,6 +829,29 @@ public class NetworkLogger {
         private String statusText;
         private String responseHeaders;
         private String responseBody;
+        /** Browser-measured time to the last response byte, -1 until the request finishes */
         private long duration;
+        private long transferSize;
+
+        public boolean isFailed() {
+            return status < 0 || status >= 400;
+        }
+
+        NetworkEntry copy() {
+            NetworkEntry copy = new NetworkEntry();
+            copy.timestamp = timestamp;
+            copy.method = method;
+            copy.url = url;
+            copy.resourceType = resourceType;
+            copy.requestHeaders = requestHeaders;
+            copy.requestBody = requestBody;
+            copy.status = status;
+            copy.statusText = statusText;
+            copy.responseHeaders = responseHeaders;
+            copy.responseBody = responseBody;
+            copy.duration = duration;
+            copy.transferSize = transferSize;
+            return copy;
+        }
     }
 }
@@ -0,0 +1,377 @@
+package com.framework.core.reporting;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * WebVitalsCollector - Navigation timing and Web Vitals per page object
+ *
+ * - install(context) adds a PerformanceObserver init script to the context,
+ *   so every document records FCP, LCP, layout shifts and long tasks from
+ *   its first paint (buffered observers, nothing polled)
+ * - collect(page, pageClass) reads the navigation timing entry and the
+ *   observer state in one evaluate call after BasePage navigation, and
+ *   tags the sample with the page-object class
+ *
+ * Metrics (ms unless noted):
+ * - TTFB: navigation responseStart
+ * - FCP, LCP: paint / largest-contentful-paint start time (-1 if none yet)
+ * - CLS: sum of layout shifts without recent input (unitless)
+ * - Long tasks and total blocking time (sum of task time over 50ms)
+ * - DOMContentLoaded and load event end
+ *
+ * History:
+ * - Each run's samples are appended to a JSON-lines time series
+ *   (framework.reporting.web-vitals.history-path), trimmed to keep-runs runs
+ * - At suite end the run's medians per page object are compared with the
+ *   median of the previous runs in the same environment; increases above
+ *   regression-threshold are reported as regressions
+ */
+@Slf4j
+public class WebVitalsCollector {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    static final String OBSERVER_SCRIPT = """
+        (() => {
+          if (window.__frameworkVitals) return;
+          const v = window.__frameworkVitals = { fcp: -1, lcp: -1, cls: 0, longTasks: 0, tbt: 0 };
+          const observe = (type, onEntry) => {
+            try {
+              new PerformanceObserver(list => list.getEntries().forEach(onEntry))
+                .observe({ type, buffered: true });
+            } catch (e) { /* entry type not supported by this browser */ }
+          };
+          observe('paint', e => { if (e.name === 'first-contentful-paint') v.fcp = e.startTime; });
+          observe('largest-contentful-paint', e => { v.lcp = e.startTime; });
+          observe('layout-shift', e => { if (!e.hadRecentInput) v.cls += e.value; });
+          observe('longtask', e => { v.longTasks++; v.tbt += Math.max(0, e.duration - 50); });
+        })();
+        """;
+
+    static final String COLLECT_SCRIPT = """
+        () => {
+          const v = window.__frameworkVitals;
+          const nav = performance.getEntriesByType('navigation')[0];
+          return {
+            installed: !!v,
+            url: location.href,
+            navigationType: nav ? nav.type : null,
+            ttfb: nav ? nav.responseStart : -1,
+            domContentLoaded: nav ? nav.domContentLoadedEventEnd : -1,
+            load: nav ? nav.loadEventEnd : -1,
+            fcp: v ? v.fcp : -1,
+            lcp: v ? v.lcp : -1,
+            cls: v ? v.cls : -1,
+            longTasks: v ? v.longTasks : -1,
+            tbt: v ? v.tbt : -1
+          };
+        }
+        """;
+
+    /** Metrics compared across runs, with the smallest change worth reporting */
+    private static final Map<String, Metric> METRICS = new LinkedHashMap<>();
+
+    static {
+        METRICS.put("TTFB", new Metric(VitalsSample::ttfb, 50));
+        METRICS.put("FCP", new Metric(VitalsSample::fcp, 100));
+        METRICS.put("LCP", new Metric(VitalsSample::lcp, 100));
+        METRICS.put("CLS", new Metric(VitalsSample::cls, 0.02));
+        METRICS.put("TBT", new Metric(VitalsSample::totalBlockingTime, 50));
+    }
+
+    private static final Queue<VitalsSample> samples = new ConcurrentLinkedQueue<>();
+
+    private static volatile boolean enabled;
+    private static volatile String runId = Instant.now().toString();
+    private static volatile String environment = "dev";
+
+    private WebVitalsCollector() {
+    }
+
+    private record Metric(ToDoubleFunction<VitalsSample> value, double minimumChange) {}
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // CONFIGURATION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Enables collection for this run. Called once at suite start.
+     */
+    public static void configure(boolean enable, String env) {
+        enabled = enable;
+        environment = env;
+        runId = Instant.now().toString();
+        samples.clear();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // COLLECTION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Adds the observer script to every page of the context. No-op when disabled.
+     */
+    public static void install(BrowserContext context) {
+        if (enabled) {
+            context.addInitScript(OBSERVER_SCRIPT);
+        }
+    }
+
+    /**
+     * Records the current document's metrics, tagged with the page object.
+     * Never fails the caller; returns null when disabled or unavailable.
+     */
+    public static VitalsSample collect(Page page, Class<?> pageObject) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> raw = (Map<String, Object>) page.evaluate(COLLECT_SCRIPT);
+            if (raw == null || !Boolean.TRUE.equals(raw.get("installed"))) {
+                return null;
+            }
+            VitalsSample sample = new VitalsSample(
+                Instant.now(), runId, environment, pageObject.getSimpleName(),
+                (String) raw.get("url"), (String) raw.get("navigationType"),
+                number(raw, "ttfb"), number(raw, "fcp"), number(raw, "lcp"), number(raw, "cls"),
+                (int) number(raw, "longTasks"), number(raw, "tbt"),
+                number(raw, "domContentLoaded"), number(raw, "load"));
+            samples.add(sample);
+            log.debug("Web vitals {}: TTFB {}ms, FCP {}ms, LCP {}ms, CLS {}, {} long tasks",
+                sample.pageObject(), Math.round(sample.ttfb()), Math.round(sample.fcp()),
+                Math.round(sample.lcp()), String.format("%.3f", sample.cls()), sample.longTasks());
+            return sample;
+        } catch (Exception e) {
+            log.debug("Web vitals not collected for {}: {}", pageObject.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    public static List<VitalsSample> getSamples() {
+        return List.copyOf(samples);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HISTORY
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Appends this run to the time series, trims it to the last keepRuns runs,
+     * and writes a summary with regressions against the previous runs.
+     * Called at suite end.
+     */
+    public static void writeRun(Path historyPath, Path reportPath, int keepRuns, double regressionThreshold) {
+        List<VitalsSample> current = new ArrayList<>(samples);
+        if (current.isEmpty()) {
+            return;
+        }
+
+        List<VitalsSample> history = readHistory(historyPath);
+        List<VitalsSample> previous = history.stream()
+            .filter(s -> environment.equals(s.environment()) && !runId.equals(s.runId()))
+            .toList();
+
+        String report = buildReport(current, previous, regressionThreshold);
+        try {
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            Files.writeString(reportPath, report);
+            log.info("Web vitals report written to {}", reportPath);
+        } catch (IOException e) {
+            log.warn("Could not write web vitals report: {}", e.getMessage());
+        }
+
+        List<VitalsSample> combined = new ArrayList<>(history);
+        combined.addAll(current);
+        writeHistory(historyPath, trim(combined, keepRuns));
+    }
+
+    static List<VitalsSample> readHistory(Path historyPath) {
+        if (!Files.exists(historyPath)) {
+            return List.of();
+        }
+        List<VitalsSample> history = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(historyPath)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    history.add(objectMapper.readValue(line, VitalsSample.class));
+                } catch (IOException e) {
+                    log.debug("Skipping unreadable web vitals history line: {}", e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read web vitals history {}: {}", historyPath, e.getMessage());
+        }
+        return history;
+    }
+
+    private static void writeHistory(Path historyPath, List<VitalsSample> history) {
+        try {
+            Path directory = historyPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "web-vitals", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                for (VitalsSample sample : history) {
+                    writer.write(objectMapper.writeValueAsString(sample));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, historyPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write web vitals history {}: {}", historyPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps the samples of the newest keepRuns runs per environment.
+     */
+    private static List<VitalsSample> trim(List<VitalsSample> history, int keepRuns) {
+        Map<String, List<String>> runsByEnvironment = new LinkedHashMap<>();
+        for (VitalsSample sample : history) {
+            List<String> runs = runsByEnvironment.computeIfAbsent(sample.environment(), e -> new ArrayList<>());
+            if (!runs.contains(sample.runId())) {
+                runs.add(sample.runId());
+            }
+        }
+        Set<String> kept = new LinkedHashSet<>();
+        runsByEnvironment.values().forEach(runs ->
+            kept.addAll(runs.subList(Math.max(0, runs.size() - Math.max(1, keepRuns)), runs.size())));
+        return history.stream().filter(s -> kept.contains(s.runId())).toList();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // REPORT
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static String buildReport(List<VitalsSample> current, List<VitalsSample> previous, double threshold) {
+        Map<String, List<VitalsSample>> currentByPage = byPage(current);
+        Map<String, List<VitalsSample>> previousByPage = byPage(previous);
+        long previousRuns = previous.stream().map(VitalsSample::runId).distinct().count();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("═══════════════════════════════════════════════════════════════\n");
+        sb.append("                     WEB VITALS                                 \n");
+        sb.append("═══════════════════════════════════════════════════════════════\n");
+        sb.append(String.format("Run %s (%s), compared with %d previous runs%n%n", runId, environment, previousRuns));
+        sb.append(String.format("%-28s %7s %8s %8s %8s %7s %8s %6s%n",
+            "Page object", "Samples", "TTFB", "FCP", "LCP", "CLS", "TBT", "Tasks"));
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, List<VitalsSample>> entry : currentByPage.entrySet()) {
+            String pageObject = entry.getKey();
+            List<VitalsSample> pageSamples = entry.getValue();
+            sb.append(String.format("%-28s %7d %6.0fms %6.0fms %6.0fms %7.3f %6.0fms %6.0f%n",
+                pageObject, pageSamples.size(),
+                median(pageSamples, VitalsSample::ttfb), median(pageSamples, VitalsSample::fcp),
+                median(pageSamples, VitalsSample::lcp), median(pageSamples, VitalsSample::cls),
+                median(pageSamples, VitalsSample::totalBlockingTime), median(pageSamples, VitalsSample::longTasks)));
+
+            List<VitalsSample> baseline = previousByPage.get(pageObject);
+            if (baseline == null) {
+                continue;
+            }
+            METRICS.forEach((name, metric) -> {
+                double now = median(pageSamples, metric.value());
+                double before = median(baseline, metric.value());
+                if (now >= 0 && before > 0 && now - before > metric.minimumChange() && now > before * (1 + threshold)) {
+                    String format = "CLS".equals(name) ? "%s %s: %.3f -> %.3f (+%.0f%%)" : "%s %s: %.0fms -> %.0fms (+%.0f%%)";
+                    regressions.add(String.format(format, pageObject, name, before, now, (now / before - 1) * 100));
+                }
+            });
+        }
+
+        sb.append("\n═══════════════════════════════════════════════════════════════\n");
+        if (regressions.isEmpty()) {
+            sb.append("No regressions above ").append(Math.round(threshold * 100)).append("%\n");
+        } else {
+            sb.append("Regressions:\n");
+            regressions.forEach(r -> sb.append("  - ").append(r).append('\n'));
+            regressions.forEach(r -> log.warn("Web vitals regression: {}", r));
+        }
+        return sb.toString();
+    }
+
+    private static Map<String, List<VitalsSample>> byPage(List<VitalsSample> samples) {
+        return samples.stream().collect(Collectors.groupingBy(VitalsSample::pageObject, TreeMap::new, Collectors.toList()));
+    }
+
+    /**
+     * Median of the available (non-negative) values; -1 when there are none.
+     */
+    private static double median(List<VitalsSample> samples, ToDoubleFunction<VitalsSample> metric) {
+        double[] values = samples.stream().mapToDouble(metric).filter(v -> v >= 0).sorted().toArray();
+        if (values.length == 0) {
+            return -1;
+        }
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private static double number(Map<String, Object> raw, String key) {
+        Object value = raw.get(key);
+        return value instanceof Number number ? number.doubleValue() : -1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // DATA CLASS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * One navigation's metrics. Timing values are ms from navigation start;
+     * -1 means the browser did not report the metric.
+     */
+    public record VitalsSample(
+        Instant timestamp,
+        String runId,
+        String environment,
+        String pageObject,
+        String url,
+        String navigationType,
+        double ttfb,
+        double fcp,
+        double lcp,
+        double cls,
+        int longTasks,
+        double totalBlockingTime,
+        double domContentLoaded,
+        double load
+    ) {}
+}
@@ -1,15 +1,19 @@
 package com.framework.domains.booking.api;
 
 import com.framework.core.base.BaseApiClient;
+import com.framework.core.listeners.PhaseMetrics;
 import com.framework.domains.booking.models.Booking;
 import com.framework.domains.booking.models.Booking.BookingStatus;
 import com.framework.domains.booking.models.Seat;
 import io.restassured.response.Response;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * BookingApiClient - API operations for movie bookings
@@ -18,17 +22,34 @@ import java.util.Map;
  * - Seat availability checks
  * - Seat locking (race condition protection)
  * - Booking creation and management
- * - Test data cleanup
+ * - Test data cleanup: seat locks and bookings are released/cancelled
+ *   after the creating test by the CleanupJournal. A seat lock whose seats
+ *   were booked (createBooking, or seatsBooked after a UI booking) belongs
+ *   to the booking and is not released
  */
 @Slf4j
 @Component
 public class BookingApiClient extends BaseApiClient {
 
+    private static final String SEAT_LOCK = "seat-lock";
+    private static final String BOOKING = "booking";
+
+    private final Map<String, LockedSeats> heldLocks = new ConcurrentHashMap<>();
+
+    private record LockedSeats(String showTimeId, Set<String> seatIds) {
+    }
+
     @Override
     protected String getBasePath() {
         return "/api/v1/bookings";
     }
 
+    @PostConstruct
+    void registerCleanup() {
+        cleanupJournal.registerHandler(SEAT_LOCK, this::releaseSeats);
+        cleanupJournal.registerHandler(BOOKING, this::cancelBooking);
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // SEAT AVAILABILITY
     // ═══════════════════════════════════════════════════════════════════════════
@@ -70,7 +91,13 @@ public class BookingApiClient extends BaseApiClient {
         Response response = post("/showtimes/" + showTimeId + "/lock", Map.of(
             "seatIds", seatIds
         ));
-        return getOkAs(response, SeatLockResponse.class);
+        SeatLockResponse lock = getOkAs(response, SeatLockResponse.class);
+        cleanupJournal.register(SEAT_LOCK, lock.lockId);
+        if (lock.lockId != null) {
+            heldLocks.put(lock.lockId, new LockedSeats(showTimeId,
+                Set.copyOf(lock.lockedSeats != null ? lock.lockedSeats : seatIds)));
+        }
+        return lock;
     }
 
     /**
@@ -79,6 +106,26 @@ public class BookingApiClient extends BaseApiClient {
     public void releaseSeats(String lockId) {
         log.info("Releasing seat lock: {}", lockId);
         delete("/locks/" + lockId);
+        heldLocks.remove(lockId);
+        cleanupJournal.completed(SEAT_LOCK, lockId);
+    }
+
+    /**
+     * Records that the seats were booked. Seat locks covering only these seats
+     * were consumed by the booking and are no longer released at cleanup.
+     * Called by createBooking and by flows that book through the UI.
+     */
+    public void seatsBooked(String showTimeId, List<String> seatIds) {
+        if (showTimeId == null || seatIds == null) {
+            return;
+        }
+        heldLocks.forEach((lockId, locked) -> {
+            if (locked.showTimeId().equals(showTimeId) && seatIds.containsAll(locked.seatIds())
+                    && heldLocks.remove(lockId, locked)) {
+                log.debug("Seat lock {} consumed by booking of {}", lockId, seatIds);
+                cleanupJournal.completed(SEAT_LOCK, lockId);
+            }
+        });
     }
 
     /**
@@ -102,7 +149,10 @@ public class BookingApiClient extends BaseApiClient {
     public Booking createBooking(CreateBookingRequest request) {
         log.info("Creating booking for show: {} with {} seats", request.showTimeId, request.seatIds.size());
         Response response = post("", request);
-        return getCreatedAs(response, Booking.class);
+        Booking booking = getCreatedAs(response, Booking.class);
+        cleanupJournal.register(BOOKING, booking.getId());
+        seatsBooked(request.showTimeId, request.seatIds);
+        return booking;
     }
 
     /**
@@ -138,7 +188,9 @@ public class BookingApiClient extends BaseApiClient {
     public Booking cancelBooking(String bookingId) {
         log.info("Cancelling booking: {}", bookingId);
         Response response = post("/" + bookingId + "/cancel");
-        return getOkAs(response, Booking.class);
+        Booking cancelled = getOkAs(response, Booking.class);
+        cleanupJournal.completed(BOOKING, bookingId);
+        return cancelled;
     }
 
     /**
@@ -147,7 +199,9 @@ public class BookingApiClient extends BaseApiClient {
     public Booking cancelBooking(String bookingId, String reason) {
         log.info("Cancelling booking: {} with reason: {}", bookingId, reason);
         Response response = post("/" + bookingId + "/cancel", Map.of("reason", reason));
-        return getOkAs(response, Booking.class);
+        Booking cancelled = getOkAs(response, Booking.class);
+        cleanupJournal.completed(BOOKING, bookingId);
+        return cancelled;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -163,23 +217,25 @@ public class BookingApiClient extends BaseApiClient {
         long startTime = System.currentTimeMillis();
         long maxWaitMs = maxWaitSeconds * 1000L;
 
-        while (System.currentTimeMillis() - startTime < maxWaitMs) {
-            Booking booking = getBooking(bookingId);
-            if (booking.getStatus() == expectedStatus) {
-                log.info("Booking reached status: {}", expectedStatus);
-                return booking;
-            }
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while waiting for booking status", e);
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.API_POLL)) {
+            while (System.currentTimeMillis() - startTime < maxWaitMs) {
+                Booking booking = getBooking(bookingId);
+                if (booking.getStatus() == expectedStatus) {
+                    log.info("Booking reached status: {}", expectedStatus);
+                    return booking;
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for booking status", e);
+                }
             }
-        }
 
-        throw new RuntimeException(String.format(
-            "Booking %s did not reach status %s within %d seconds",
-            bookingId, expectedStatus, maxWaitSeconds));
+            throw new RuntimeException(String.format(
+                "Booking %s did not reach status %s within %d seconds",
+                bookingId, expectedStatus, maxWaitSeconds));
+        }
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.framework.domains.booking.playbooks;
 
 import com.framework.core.data.TestDataCache;
+import com.framework.core.data.TestDataGenerator;
 import com.framework.domains.booking.api.BookingApiClient;
 import com.framework.domains.booking.api.BookingApiClient.SeatLockResponse;
 import com.framework.domains.booking.models.Booking;
@@ -33,6 +34,7 @@ public class BookingFlowPlaybook {
 
     private final BookingSetupPlaybook bookingSetupPlaybook;
     private final BookingApiClient bookingApi;
+    private final TestDataGenerator testDataGenerator;
 
     // ═══════════════════════════════════════════════════════════════════════════
     // COMPLETE BOOKING FLOWS
@@ -56,6 +58,7 @@ public class BookingFlowPlaybook {
         // API: Setup and lock seats
         BookingSetupPlaybook.BookingTestData setup =
             bookingSetupPlaybook.setupBookingScenario(seatCount, testData);
+        boolean booked = false;
 
         try {
             // UI: Navigate to movie
@@ -75,12 +78,17 @@ public class BookingFlowPlaybook {
             BookingPaymentPage paymentPage = seatPage.proceedToPayment();
 
             // Complete payment
+            Booking.ContactInfo contact = testDataGenerator.nextContact();
             BookingConfirmationPage confirmationPage = paymentPage.payWithCard(
                 card,
-                "test@example.com",
-                "9876543210"
+                contact.getEmail(),
+                contact.getPhone()
             );
 
+            // The booking now owns the locked seats
+            booked = true;
+            bookingApi.seatsBooked(setup.getShowTimeId(), setup.getLockedSeats());
+
             // Store booking info
             testData.put("bookingNumber", confirmationPage.getBookingNumber());
 
@@ -90,12 +98,8 @@ public class BookingFlowPlaybook {
 
         } finally {
             // Release lock if it wasn't consumed by booking
-            if (setup.getLockId() != null) {
-                try {
-                    bookingSetupPlaybook.releaseLock(setup.getLockId());
-                } catch (Exception e) {
-                    log.debug("Lock already released or consumed by booking");
-                }
+            if (!booked) {
+                safeReleaseLock(setup.getLockId());
             }
         }
     }
@@ -122,7 +126,11 @@ public class BookingFlowPlaybook {
 
         // Complete payment
         BookingPaymentPage paymentPage = seatPage.proceedToPayment();
-        return paymentPage.payWithCard(card, "test@example.com", "9876543210");
+        Booking.ContactInfo contact = testDataGenerator.nextContact();
+        BookingConfirmationPage confirmationPage =
+            paymentPage.payWithCard(card, contact.getEmail(), contact.getPhone());
+        bookingApi.seatsBooked(showTimeId, lockedSeats);
+        return confirmationPage;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -138,6 +146,7 @@ public class BookingFlowPlaybook {
 
         BookingSetupPlaybook.BookingTestData setup =
             bookingSetupPlaybook.setupBookingScenario(seatCount, testData);
+        boolean booked = false;
 
         try {
             // Navigate directly to seat selection
@@ -146,10 +155,17 @@ public class BookingFlowPlaybook {
             seatPage.selectSeats(setup.getLockedSeats());
 
             BookingPaymentPage paymentPage = seatPage.proceedToPayment();
-            return paymentPage.payWithUPI(upiId, "test@example.com", "9876543210");
+            Booking.ContactInfo contact = testDataGenerator.nextContact();
+            BookingConfirmationPage confirmationPage =
+                paymentPage.payWithUPI(upiId, contact.getEmail(), contact.getPhone());
+            booked = true;
+            bookingApi.seatsBooked(setup.getShowTimeId(), setup.getLockedSeats());
+            return confirmationPage;
 
         } finally {
-            safeReleaseLock(setup.getLockId());
+            if (!booked) {
+                safeReleaseLock(setup.getLockId());
+            }
         }
     }
 
@@ -200,7 +216,8 @@ public class BookingFlowPlaybook {
         seatPage.selectFirstAvailableSeats(seatCount);
 
         BookingPaymentPage paymentPage = seatPage.proceedToPayment();
-        return paymentPage.payWithCard(card, "test@example.com", "9876543210");
+        Booking.ContactInfo contact = testDataGenerator.nextContact();
+        return paymentPage.payWithCard(card, contact.getEmail(), contact.getPhone());
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -259,7 +276,8 @@ public class BookingFlowPlaybook {
             BookingPaymentPage paymentPage = seatPage.proceedToPayment();
 
             // Enter details but use declined card
-            paymentPage.enterContactInfo("test@example.com", "9876543210");
+            Booking.ContactInfo contact = testDataGenerator.nextContact();
+            paymentPage.enterContactInfo(contact.getEmail(), contact.getPhone());
             paymentPage.selectPaymentMethod(PaymentMethod.CREDIT_CARD);
             paymentPage.enterCardDetails(TestCard.VISA_DECLINED);
             paymentPage.clickPay();
@@ -321,7 +339,8 @@ public class BookingFlowPlaybook {
     }
 
     /**
-     * Default test contact information.
+     * Fixed test contact information, for tests that assert on a known contact.
+     * Booking flows draw a fresh contact from TestDataGenerator instead.
      */
     public static class TestContact {
         public static final String EMAIL = "test@example.com";
@@ -14,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -38,6 +39,9 @@ public class BookingSetupPlaybook {
     private final BookingApiClient bookingApi;
     private final GlobalDataCache globalDataCache;
 
+    private static final Duration MOVIE_TTL = Duration.ofMinutes(30);
+    private static final Duration LISTING_TTL = Duration.ofMinutes(10);
+
     // ═══════════════════════════════════════════════════════════════════════════
     // MOVIE DISCOVERY
     // ═══════════════════════════════════════════════════════════════════════════
@@ -49,7 +53,8 @@ public class BookingSetupPlaybook {
     public Movie getFirstAvailableMovie() {
         log.info("Getting first available movie");
 
-        List<Movie> movies = movieApi.getNowShowing();
+        List<Movie> movies = globalDataCache.getOrLoad("movies:now-showing",
+            movieApi::getNowShowing, LISTING_TTL);
         if (movies.isEmpty()) {
             throw new RuntimeException("No movies currently showing");
         }
@@ -77,19 +82,12 @@ public class BookingSetupPlaybook {
 
     /**
      * Gets a specific movie by ID from global cache or API.
+     * Parallel callers for the same movie share a single API call.
      */
     @Step("Get movie: {movieId}")
     public Movie getMovie(String movieId) {
-        // Check cache first
-        String cacheKey = "movie-" + movieId;
-        Movie movie = (Movie) globalDataCache.get(cacheKey);
-
-        if (movie == null) {
-            movie = movieApi.getMovie(movieId);
-            globalDataCache.put(cacheKey, movie);
-        }
-
-        return movie;
+        return globalDataCache.getOrLoad("movies:" + movieId,
+            () -> movieApi.getMovie(movieId), MOVIE_TTL);
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -299,7 +297,8 @@ public class BookingSetupPlaybook {
     public Theater getTheaterInCity(String city) {
         log.info("Getting theater in city: {}", city);
 
-        List<Theater> theaters = theaterApi.getTheatersByCity(city);
+        List<Theater> theaters = globalDataCache.getOrLoad("theaters:city:" + city,
+            () -> theaterApi.getTheatersByCity(city), LISTING_TTL);
         if (theaters.isEmpty()) {
             throw new RuntimeException("No theaters found in: " + city);
         }
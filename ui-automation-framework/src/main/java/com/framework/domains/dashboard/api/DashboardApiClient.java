@@ -4,6 +4,7 @@ import com.framework.core.base.BaseApiClient;
 import com.framework.domains.dashboard.models.Dashboard;
 import com.framework.domains.dashboard.models.Widget;
 import io.restassured.response.Response;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -21,11 +22,18 @@ import java.util.Map;
 @Component
 public class DashboardApiClient extends BaseApiClient {
 
+    private static final String CLEANUP_TYPE = "dashboard";
+
     @Override
     protected String getBasePath() {
         return "/api/v1/dashboards";
     }
 
+    @PostConstruct
+    void registerCleanup() {
+        cleanupJournal.registerHandler(CLEANUP_TYPE, this::deleteDashboard);
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // DASHBOARD CRUD
     // ═══════════════════════════════════════════════════════════════════════════
@@ -36,7 +44,7 @@ public class DashboardApiClient extends BaseApiClient {
     public Dashboard createDashboard(Dashboard dashboard) {
         log.info("Creating dashboard: {}", dashboard.getName());
         Response response = post("", dashboard);
-        return getCreatedAs(response, Dashboard.class);
+        return tracked(getCreatedAs(response, Dashboard.class));
     }
 
     /**
@@ -48,7 +56,7 @@ public class DashboardApiClient extends BaseApiClient {
             "templateId", templateId,
             "name", name
         ));
-        return getCreatedAs(response, Dashboard.class);
+        return tracked(getCreatedAs(response, Dashboard.class));
     }
 
     /**
@@ -94,6 +102,15 @@ public class DashboardApiClient extends BaseApiClient {
         log.info("Deleting dashboard: {}", dashboardId);
         Response response = delete("/" + dashboardId);
         assertNoContent(response);
+        cleanupJournal.completed(CLEANUP_TYPE, dashboardId);
+    }
+
+    /**
+     * Deleted after the creating test by the CleanupJournal.
+     */
+    private Dashboard tracked(Dashboard dashboard) {
+        cleanupJournal.register(CLEANUP_TYPE, dashboard.getId());
+        return dashboard;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -126,7 +143,7 @@ public class DashboardApiClient extends BaseApiClient {
         Response response = post("/" + dashboardId + "/duplicate", Map.of(
             "name", newName
         ));
-        return getCreatedAs(response, Dashboard.class);
+        return tracked(getCreatedAs(response, Dashboard.class));
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
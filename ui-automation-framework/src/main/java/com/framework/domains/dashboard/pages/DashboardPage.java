@@ -89,6 +89,13 @@ public class DashboardPage extends BasePage {
     // Last Refresh
     private static final String LAST_REFRESH_TIME = "[data-testid='last-refresh']";
 
+    // Content that changes on every render, left out of visual comparisons
+    private static final List<String> DYNAMIC_CONTENT = List.of(
+        LAST_REFRESH_TIME,
+        "[data-testid^='widget-'] .kpi-value, [data-testid^='kpi-'][data-testid$='-value']",
+        "[data-testid^='widget-'] .kpi-change",
+        CHART_TOOLTIP);
+
     // ═══════════════════════════════════════════════════════════════════════════
     // CONSTRUCTOR & NAVIGATION
     // ═══════════════════════════════════════════════════════════════════════════
@@ -407,6 +414,21 @@ public class DashboardPage extends BasePage {
         return page.locator(DASHBOARD_CONTAINER).screenshot();
     }
 
+    /**
+     * Selector of the element captured by takeDashboardScreenshot().
+     */
+    public String getDashboardSelector() {
+        return DASHBOARD_CONTAINER;
+    }
+
+    /**
+     * Selectors of content that differs between renders of the same dashboard
+     * (refresh time, live KPI values), for VisualTestingUtils.withIgnoreRegions.
+     */
+    public List<String> getDynamicContentSelectors() {
+        return DYNAMIC_CONTENT;
+    }
+
     @Step("Take widget screenshot: {widgetId}")
     public byte[] takeWidgetScreenshot(String widgetId) {
         String locator = String.format(WIDGET_CONTAINER, widgetId, widgetId);
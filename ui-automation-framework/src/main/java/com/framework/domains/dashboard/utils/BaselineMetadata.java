@@ -0,0 +1,172 @@
+package com.framework.domains.dashboard.utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BaselineMetadata - Precomputed hashes stored next to a visual baseline
+ *
+ * For baseline name.png the sidecar is name.meta.json with:
+ * - sha256: digest of the PNG bytes, matched against the ArtifactStore digest
+ *   of the actual screenshot (byte-identical = pass without decoding)
+ * - differenceHash: 64-bit dHash of the image (PixelDiff.dHash), in hex
+ * - width/height: checked before the baseline is decoded
+ * - baselineSize: size of the PNG the hashes were computed from
+ * - ignoreSelectors/ignoreRegions: the masks the baseline was saved with;
+ *   every comparison against it leaves them out too
+ *
+ * Validation:
+ * - A sidecar is trusted if the PNG still has its size and SHA-256; the PNG is
+ *   read but not decoded. Modification times are not used, since a checkout
+ *   does not preserve them and committed sidecars must stay untouched
+ * - A sidecar that is missing or does not match its PNG (the baseline was
+ *   replaced) is recomputed and rewritten, keeping its mask definitions
+ * - Loaded sidecars are cached per path for the run and revalidated with one
+ *   stat (size and modification time of the PNG when it was loaded)
+ */
+@Slf4j
+@Data
+@NoArgsConstructor
+public class BaselineMetadata {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final Map<Path, Cached> cache = new ConcurrentHashMap<>();
+
+    private String sha256;
+    private String differenceHash;
+    private int width;
+    private int height;
+    private long baselineSize;
+    private List<String> ignoreSelectors = new ArrayList<>();
+    private List<PixelDiff.Region> ignoreRegions = new ArrayList<>();
+
+    public long dHash() {
+        return Long.parseUnsignedLong(differenceHash, 16);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LOAD & STORE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Metadata of the baseline PNG, from the cache or sidecar if still valid,
+     * otherwise computed from the PNG and written to the sidecar.
+     */
+    public static BaselineMetadata of(Path baseline) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(baseline, BasicFileAttributes.class);
+        Cached cached = cache.get(baseline);
+        if (cached != null && cached.describes(attributes)) {
+            return cached.metadata();
+        }
+
+        byte[] png = Files.readAllBytes(baseline);
+        Path sidecar = sidecarOf(baseline);
+        BaselineMetadata stored = null;
+        if (Files.exists(sidecar)) {
+            try {
+                stored = objectMapper.readValue(sidecar.toFile(), BaselineMetadata.class);
+                if (stored.describes(png)) {
+                    cache.put(baseline, new Cached(stored, attributes));
+                    return stored;
+                }
+                log.info("Baseline {} changed since its hashes were computed - recomputing", baseline.getFileName());
+            } catch (IOException e) {
+                log.warn("Unreadable baseline metadata {} - recomputing: {}", sidecar, e.getMessage());
+            }
+        }
+        return write(baseline, png,
+            stored != null ? stored.ignoreSelectors : List.of(), stored != null ? stored.ignoreRegions : List.of());
+    }
+
+    /**
+     * Computes the metadata for freshly written baseline bytes and stores the
+     * sidecar with the masks the baseline is compared with.
+     */
+    public static BaselineMetadata write(Path baseline, byte[] png, List<String> ignoreSelectors,
+                                         List<PixelDiff.Region> ignoreRegions) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Baseline is not a readable image: " + baseline);
+        }
+        BasicFileAttributes attributes = Files.readAttributes(baseline, BasicFileAttributes.class);
+
+        BaselineMetadata metadata = new BaselineMetadata();
+        metadata.sha256 = sha256(png);
+        metadata.differenceHash = String.format("%016x", PixelDiff.dHash(image));
+        metadata.width = image.getWidth();
+        metadata.height = image.getHeight();
+        metadata.baselineSize = png.length;
+        metadata.ignoreSelectors = ignoreSelectors != null ? new ArrayList<>(ignoreSelectors) : new ArrayList<>();
+        metadata.ignoreRegions = ignoreRegions != null ? new ArrayList<>(ignoreRegions) : new ArrayList<>();
+
+        Path sidecar = sidecarOf(baseline);
+        Path tmp = Files.createTempFile(sidecar.getParent(), sidecar.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(tmp.toFile(), metadata);
+            Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        cache.put(baseline, new Cached(metadata, attributes));
+        log.debug("Baseline hashes for {}: sha256 {}, dHash {}", baseline.getFileName(),
+            metadata.sha256.substring(0, 12), metadata.differenceHash);
+        return metadata;
+    }
+
+    public static Path sidecarOf(Path baseline) {
+        String file = baseline.getFileName().toString();
+        String stem = file.endsWith(".png") ? file.substring(0, file.length() - 4) : file;
+        return baseline.resolveSibling(stem + ".meta.json");
+    }
+
+    private boolean describes(byte[] png) {
+        return sha256 != null && differenceHash != null
+            && baselineSize == png.length
+            && sha256.equals(sha256(png));
+    }
+
+    /**
+     * Metadata loaded in this run, with the stat of the PNG it was validated against.
+     */
+    private record Cached(BaselineMetadata metadata, long size, long modified) {
+
+        Cached(BaselineMetadata metadata, BasicFileAttributes attributes) {
+            this(metadata, attributes.size(), attributes.lastModifiedTime().toMillis());
+        }
+
+        boolean describes(BasicFileAttributes attributes) {
+            return size == attributes.size() && modified == attributes.lastModifiedTime().toMillis();
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
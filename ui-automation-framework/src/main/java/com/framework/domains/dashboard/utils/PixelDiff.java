@@ -0,0 +1,438 @@
+package com.framework.domains.dashboard.utils;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * PixelDiff - Raster-level pixel comparison for visual regression
+ *
+ * Works on the int[] ARGB arrays behind DataBufferInt instead of
+ * BufferedImage.getRGB/setRGB per pixel:
+ * - Images that are not already packed INT_ARGB/INT_RGB (ImageIO decodes PNGs
+ *   to byte rasters) are converted once with a bulk Java2D copy
+ * - The image is split into TILE_SIZE x TILE_SIZE tiles, compared in parallel
+ *   on the common fork/join pool; small images are compared on the caller
+ * - The diff image is written straight into its own int[] as tiles finish
+ * - Ignored regions (masks) are left out: a tile inside one mask is skipped
+ *   without reading its pixels, partly masked tiles compare only the unmasked
+ *   runs of each row; masked pixels are drawn dark slate in the diff image
+ *
+ * Results are the same as the per-pixel loop it replaces: a pixel differs
+ * when any RGB channel differs by more than tolerance x 255 (alpha is
+ * ignored), differing pixels are red and matching ones are shown in gray.
+ *
+ * dHash() gives a 64-bit perceptual hash for cheap near-duplicate checks.
+ */
+public final class PixelDiff {
+
+    /** Edge length of a tile in pixels */
+    public static final int TILE_SIZE = 128;
+
+    /** Below this many tiles the fork/join overhead outweighs the parallelism */
+    private static final int SEQUENTIAL_TILES = 4;
+
+    private static final int DIFF_COLOR = 0xFFFF0000;
+    private static final int MASK_COLOR = 0xFF3C4A5A;
+
+    private PixelDiff() {
+    }
+
+    /**
+     * A rectangle of the image, in pixels.
+     */
+    public record Region(int x, int y, int width, int height) {
+
+        int right() {
+            return x + width;
+        }
+
+        int bottom() {
+            return y + height;
+        }
+
+        /**
+         * The part of the region inside a width x height image, or null if none.
+         */
+        Region clip(int imageWidth, int imageHeight) {
+            int left = Math.max(0, x);
+            int top = Math.max(0, y);
+            int right = Math.min(imageWidth, right());
+            int bottom = Math.min(imageHeight, bottom());
+            return right > left && bottom > top ? new Region(left, top, right - left, bottom - top) : null;
+        }
+
+        boolean covers(int x0, int y0, int x1, int y1) {
+            return x <= x0 && y <= y0 && right() >= x1 && bottom() >= y1;
+        }
+
+        boolean overlaps(int x0, int y0, int x1, int y1) {
+            return x < x1 && right() > x0 && y < y1 && bottom() > y0;
+        }
+    }
+
+    /**
+     * Outcome of a comparison.
+     *
+     * @param maskedPixels pixels inside ignored regions, not compared
+     * @param skippedTiles tiles entirely inside an ignored region
+     * @param diff         the rendered diff image, or null if none was requested
+     */
+    public record Result(int width, int height, int diffPixels, int maskedPixels, int skippedTiles,
+                         BufferedImage diff) {
+
+        public int totalPixels() {
+            return width * height;
+        }
+
+        public int comparedPixels() {
+            return totalPixels() - maskedPixels;
+        }
+    }
+
+    /**
+     * Compares two images of equal size.
+     *
+     * @param pixelTolerance allowed difference per channel (0.0 to 1.0)
+     * @param renderDiff     whether to build the diff image
+     */
+    public static Result compare(BufferedImage baseline, BufferedImage actual, double pixelTolerance,
+                                 boolean renderDiff) {
+        return compare(baseline, actual, pixelTolerance, renderDiff, List.of());
+    }
+
+    /**
+     * Compares two images of equal size, leaving out the ignored regions.
+     * Tiles inside one region are skipped without reading their pixels.
+     *
+     * @param ignore regions to leave out; parts outside the image are dropped
+     */
+    public static Result compare(BufferedImage baseline, BufferedImage actual, double pixelTolerance,
+                                 boolean renderDiff, List<Region> ignore) {
+        int width = baseline.getWidth();
+        int height = baseline.getHeight();
+        if (actual.getWidth() != width || actual.getHeight() != height) {
+            throw new IllegalArgumentException(String.format("Image sizes differ: %dx%d vs %dx%d",
+                width, height, actual.getWidth(), actual.getHeight()));
+        }
+
+        List<Region> masks = new ArrayList<>();
+        for (Region region : ignore) {
+            Region clipped = region.clip(width, height);
+            if (clipped != null) {
+                masks.add(clipped);
+            }
+        }
+
+        BufferedImage diff = renderDiff ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB) : null;
+        Tiles tiles = new Tiles(pixels(baseline), pixels(actual), diff != null ? pixels(diff) : null,
+            width, height, channelLimit(pixelTolerance), masks);
+
+        int count = tiles.count();
+        int diffPixels = count <= SEQUENTIAL_TILES
+            ? tiles.compare(0, count)
+            : ForkJoinPool.commonPool().invoke(new TileTask(tiles, 0, count));
+        return new Result(width, height, diffPixels, tiles.maskedPixels(), tiles.skippedTiles(), diff);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // TILES
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private record Tiles(int[] baseline, int[] actual, int[] diff, int width, int height, int limit,
+                         List<Region> masks) {
+
+        int columns() {
+            return (width + TILE_SIZE - 1) / TILE_SIZE;
+        }
+
+        int count() {
+            return columns() * ((height + TILE_SIZE - 1) / TILE_SIZE);
+        }
+
+        /**
+         * Compares tiles [from, to) and returns their differing pixel count.
+         */
+        int compare(int from, int to) {
+            int differing = 0;
+            for (int tile = from; tile < to; tile++) {
+                differing += compareTile(tile);
+            }
+            return differing;
+        }
+
+        private int compareTile(int tile) {
+            int x0 = (tile % columns()) * TILE_SIZE;
+            int y0 = (tile / columns()) * TILE_SIZE;
+            int x1 = Math.min(x0 + TILE_SIZE, width);
+            int y1 = Math.min(y0 + TILE_SIZE, height);
+
+            List<Region> overlapping = overlapping(x0, y0, x1, y1);
+            if (overlapping.isEmpty()) {
+                int differing = 0;
+                for (int y = y0; y < y1; y++) {
+                    differing += compareRun(y * width + x0, y * width + x1);
+                }
+                return differing;
+            }
+            if (overlapping.stream().anyMatch(mask -> mask.covers(x0, y0, x1, y1))) {
+                for (int y = y0; y < y1; y++) {
+                    maskRun(y * width + x0, y * width + x1);
+                }
+                return 0;
+            }
+
+            int differing = 0;
+            for (int y = y0; y < y1; y++) {
+                int row = y * width;
+                int x = x0;
+                while (x < x1) {
+                    int maskedTo = maskedUntil(overlapping, x, y, x1);
+                    if (maskedTo > x) {
+                        maskRun(row + x, row + maskedTo);
+                        x = maskedTo;
+                    } else {
+                        int next = nextMask(overlapping, x, y, x1);
+                        differing += compareRun(row + x, row + next);
+                        x = next;
+                    }
+                }
+            }
+            return differing;
+        }
+
+        private int compareRun(int from, int to) {
+            int differing = 0;
+            for (int i = from; i < to; i++) {
+                int expected = baseline[i];
+                int pixel = actual[i];
+                boolean matches = limit >= 0 && (expected == pixel || channelsMatch(expected, pixel, limit));
+                if (!matches) {
+                    differing++;
+                }
+                if (diff != null) {
+                    diff[i] = matches ? faded(pixel) : DIFF_COLOR;
+                }
+            }
+            return differing;
+        }
+
+        private void maskRun(int from, int to) {
+            if (diff != null) {
+                Arrays.fill(diff, from, to, MASK_COLOR);
+            }
+        }
+
+        private List<Region> overlapping(int x0, int y0, int x1, int y1) {
+            if (masks.isEmpty()) {
+                return List.of();
+            }
+            List<Region> overlapping = new ArrayList<>();
+            for (Region mask : masks) {
+                if (mask.overlaps(x0, y0, x1, y1)) {
+                    overlapping.add(mask);
+                }
+            }
+            return overlapping;
+        }
+
+        int skippedTiles() {
+            int skipped = 0;
+            for (int tile = 0, count = count(); tile < count && !masks.isEmpty(); tile++) {
+                int x0 = (tile % columns()) * TILE_SIZE;
+                int y0 = (tile / columns()) * TILE_SIZE;
+                int x1 = Math.min(x0 + TILE_SIZE, width);
+                int y1 = Math.min(y0 + TILE_SIZE, height);
+                if (masks.stream().anyMatch(mask -> mask.covers(x0, y0, x1, y1))) {
+                    skipped++;
+                }
+            }
+            return skipped;
+        }
+
+        /**
+         * Pixels inside at least one mask (overlapping masks are counted once).
+         */
+        int maskedPixels() {
+            int masked = 0;
+            for (int y = 0; y < height && !masks.isEmpty(); y++) {
+                int x = 0;
+                while (x < width) {
+                    int maskedTo = maskedUntil(masks, x, y, width);
+                    if (maskedTo > x) {
+                        masked += maskedTo - x;
+                        x = maskedTo;
+                    } else {
+                        x = nextMask(masks, x, y, width);
+                    }
+                }
+            }
+            return masked;
+        }
+
+        /**
+         * End (exclusive, at most limit) of the masked run starting at (x, y); x if unmasked.
+         */
+        private static int maskedUntil(List<Region> masks, int x, int y, int limit) {
+            int end = x;
+            boolean extended = true;
+            while (extended && end < limit) {
+                extended = false;
+                for (Region mask : masks) {
+                    if (y >= mask.y() && y < mask.bottom() && mask.x() <= end && mask.right() > end) {
+                        end = Math.min(mask.right(), limit);
+                        extended = true;
+                    }
+                }
+            }
+            return end;
+        }
+
+        /**
+         * Start of the next mask on row y after the unmasked x, or limit.
+         */
+        private static int nextMask(List<Region> masks, int x, int y, int limit) {
+            int next = limit;
+            for (Region mask : masks) {
+                if (y >= mask.y() && y < mask.bottom() && mask.x() > x) {
+                    next = Math.min(next, mask.x());
+                }
+            }
+            return next;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class TileTask extends RecursiveTask<Integer> {
+        private final Tiles tiles;
+        private final int from;
+        private final int to;
+
+        TileTask(Tiles tiles, int from, int to) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= 1) {
+                return tiles.compare(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            TileTask left = new TileTask(tiles, from, middle);
+            left.fork();
+            int right = new TileTask(tiles, middle, to).compute();
+            return left.join() + right;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PERCEPTUAL HASH
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * 64-bit difference hash (dHash): the image is averaged down to 9x8 gray
+     * cells and each bit says whether a cell is brighter than its right-hand
+     * neighbour. Small rendering noise leaves it unchanged; layout, colour or
+     * content changes of any size flip bits.
+     */
+    public static long dHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = pixels(image);
+
+        long hash = 0;
+        double[] row = new double[9];
+        for (int cy = 0; cy < 8; cy++) {
+            int y0 = cy * height / 8;
+            int y1 = Math.max(y0 + 1, (cy + 1) * height / 8);
+            for (int cx = 0; cx < 9; cx++) {
+                int x0 = Math.min(cx * width / 9, width - 1);
+                int x1 = Math.max(x0 + 1, (cx + 1) * width / 9);
+                long sum = 0;
+                for (int y = y0; y < y1; y++) {
+                    for (int i = y * width + x0, end = y * width + x1; i < end; i++) {
+                        int pixel = pixels[i];
+                        sum += 299L * ((pixel >> 16) & 0xFF) + 587L * ((pixel >> 8) & 0xFF) + 114L * (pixel & 0xFF);
+                    }
+                }
+                row[cx] = (double) sum / ((long) (y1 - y0) * (x1 - x0));
+            }
+            for (int cx = 0; cx < 8; cx++) {
+                hash = (hash << 1) | (row[cx] > row[cx + 1] ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Number of differing bits between two hashes (0 to 64).
+     */
+    public static int distance(long hash1, long hash2) {
+        return Long.bitCount(hash1 ^ hash2);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PIXELS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Largest per-channel difference that still matches; -1 if nothing matches
+     * (the old check was |c1 - c2| <= tolerance * 255 on doubles).
+     */
+    static int channelLimit(double pixelTolerance) {
+        double tolerance = pixelTolerance * 255;
+        return Double.isNaN(tolerance) || tolerance < 0 ? -1 : (int) Math.min(255, Math.floor(tolerance));
+    }
+
+    static boolean channelsMatch(int expected, int pixel, int limit) {
+        return Math.abs(((expected >> 16) & 0xFF) - ((pixel >> 16) & 0xFF)) <= limit
+            && Math.abs(((expected >> 8) & 0xFF) - ((pixel >> 8) & 0xFF)) <= limit
+            && Math.abs((expected & 0xFF) - (pixel & 0xFF)) <= limit;
+    }
+
+    private static int faded(int pixel) {
+        int r = (pixel >> 16) & 0xFF;
+        int g = (pixel >> 8) & 0xFF;
+        int b = pixel & 0xFF;
+        int gray = (int) (0.299 * r + 0.587 * g + 0.114 * b);
+        return (0xFF << 24) | (gray << 16) | (gray << 8) | gray;
+    }
+
+    /**
+     * The image's pixels as a row-major int[] of width x height ARGB values,
+     * the backing array itself when the image is already laid out that way.
+     */
+    static int[] pixels(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB || image.getType() == BufferedImage.TYPE_INT_RGB) {
+            Raster raster = image.getRaster();
+            if (raster.getDataBuffer() instanceof DataBufferInt buffer
+                && raster.getSampleModel() instanceof SinglePixelPackedSampleModel model
+                && model.getScanlineStride() == image.getWidth()
+                && raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0
+                && buffer.getOffset() == 0 && buffer.getNumBanks() == 1) {
+                return buffer.getData();
+            }
+        }
+
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(),
+            BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = converted.createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return ((DataBufferInt) converted.getRaster().getDataBuffer()).getData();
+    }
+}
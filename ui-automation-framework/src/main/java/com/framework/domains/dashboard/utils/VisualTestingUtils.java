@@ -1,8 +1,9 @@
 package com.framework.domains.dashboard.utils;
 
+import com.framework.core.base.TestScope;
+import com.framework.core.reporting.ArtifactStore;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-import io.qameta.allure.Allure;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.imageio.ImageIO;
@@ -13,8 +14,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * VisualTestingUtils - Utilities for visual regression testing
@@ -23,21 +30,73 @@ import java.util.Map;
  * - Screenshot comparison
  * - Baseline management
  * - Diff image generation
- * - Pixel-level comparison with tolerance
+ * - Pixel-level comparison with tolerance (PixelDiff: raster arrays, parallel tiles)
+ * - Hash fast paths: exact digest, then optional perceptual hash, stored with
+ *   each baseline as name.meta.json (BaselineMetadata)
+ * - Ignore regions for dynamic content (timestamps, live values): CSS
+ *   selectors resolved to boxes in one evaluate call, or pixel rectangles;
+ *   saved with the baseline and left out of every later comparison
+ *
+ * Actual screenshots and diff images are kept in the content-addressed
+ * ArtifactStore, so an unchanged screenshot is stored only once.
  */
 @Slf4j
 public class VisualTestingUtils {
 
     private static final String BASELINE_DIR = "src/test/resources/visual-baselines";
-    private static final String ACTUAL_DIR = "target/visual-actual";
-    private static final String DIFF_DIR = "target/visual-diffs";
+
+    /**
+     * Boxes of all elements matching the selectors, in screenshot pixels
+     * (CSS pixels x devicePixelRatio) relative to the captured element, or to
+     * the document when origin is null. Invalid selectors are reported back.
+     */
+    private static final String MASK_SCRIPT = """
+        (origin, selectors) => {
+            const scale = window.devicePixelRatio || 1;
+            const base = origin ? origin.getBoundingClientRect() : { left: -window.scrollX, top: -window.scrollY };
+            const regions = [];
+            const invalid = [];
+            for (const selector of selectors) {
+                let elements;
+                try {
+                    elements = document.querySelectorAll(selector);
+                } catch (e) {
+                    invalid.push(selector);
+                    continue;
+                }
+                for (const element of elements) {
+                    const box = element.getBoundingClientRect();
+                    if (box.width === 0 || box.height === 0) {
+                        continue;
+                    }
+                    const x = Math.floor((box.left - base.left) * scale);
+                    const y = Math.floor((box.top - base.top) * scale);
+                    regions.push([x, y, Math.ceil((box.right - base.left) * scale) - x,
+                        Math.ceil((box.bottom - base.top) * scale) - y]);
+                }
+            }
+            return { regions, invalid };
+        }
+        """;
 
     private final Page page;
+    private final Path baselineDir;
     private double pixelTolerance = 0.1;  // 10% tolerance by default
     private double diffThreshold = 0.01;  // 1% max diff allowed
+    private int perceptualTolerance = -1;  // perceptual pass disabled by default
+    private final List<String> ignoreSelectors = new ArrayList<>();
+    private final List<PixelDiff.Region> ignoreRegions = new ArrayList<>();
 
     public VisualTestingUtils(Page page) {
+        this(page, Paths.get(BASELINE_DIR));
+    }
+
+    /**
+     * Keeps baselines in the given directory instead of BASELINE_DIR.
+     */
+    VisualTestingUtils(Page page, Path baselineDir) {
         this.page = page;
+        this.baselineDir = baselineDir;
         createDirectories();
     }
 
@@ -61,6 +120,43 @@ public class VisualTestingUtils {
         return this;
     }
 
+    /**
+     * Passes screenshots whose 64-bit dHash differs from the baseline's in at
+     * most this many bits, without a pixel diff (0 to 64; negative disables).
+     * dHash ignores rendering noise but can also miss small localized changes,
+     * so only use it where those do not matter.
+     */
+    public VisualTestingUtils withPerceptualTolerance(int maxDistance) {
+        this.perceptualTolerance = maxDistance;
+        return this;
+    }
+
+    /**
+     * Leaves the elements matching these CSS selectors out of comparisons.
+     * Boxes are resolved when comparing, relative to the captured element for
+     * compareElement() and compare(name, screenshot, locator), and to the
+     * document for compareFullPage(); compare(name, screenshot) rejects them.
+     */
+    public VisualTestingUtils withIgnoreRegions(String... selectors) {
+        return withIgnoreRegions(List.of(selectors));
+    }
+
+    /**
+     * Leaves the elements matching these CSS selectors out of comparisons.
+     */
+    public VisualTestingUtils withIgnoreRegions(Collection<String> selectors) {
+        this.ignoreSelectors.addAll(selectors);
+        return this;
+    }
+
+    /**
+     * Leaves a rectangle of the screenshot (in image pixels) out of comparisons.
+     */
+    public VisualTestingUtils withIgnoreRegion(int x, int y, int width, int height) {
+        this.ignoreRegions.add(new PixelDiff.Region(x, y, width, height));
+        return this;
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // SCREENSHOT CAPTURE
     // ═══════════════════════════════════════════════════════════════════════════
@@ -102,12 +198,13 @@ public class VisualTestingUtils {
     // ═══════════════════════════════════════════════════════════════════════════
 
     /**
-     * Saves screenshot as baseline.
+     * Saves screenshot as baseline, together with the current ignore regions.
      */
     public void saveBaseline(String name, byte[] screenshot) throws IOException {
         Path baselinePath = getBaselinePath(name);
         Files.createDirectories(baselinePath.getParent());
         Files.write(baselinePath, screenshot);
+        BaselineMetadata.write(baselinePath, screenshot, ignoreSelectors, ignoreRegions);
         log.info("Saved baseline: {}", baselinePath);
     }
 
@@ -144,20 +241,53 @@ public class VisualTestingUtils {
     /**
      * Compares current screenshot with baseline.
      * Returns comparison result with diff percentage.
+     *
+     * Tiers, cheapest first (see ComparisonMethod):
+     * - DIGEST: the screenshot's SHA-256 (computed by ArtifactStore anyway)
+     *   equals the baseline's stored digest - passes without decoding either PNG
+     * - PERCEPTUAL: only with withPerceptualTolerance(); the screenshot is
+     *   decoded and its dHash is within the tolerance of the stored baseline dHash
+     * - PIXEL: full PixelDiff against the decoded baseline
+     *
+     * The screenshot's dHash is computed only for the perceptual tier; when
+     * that tier does not run the result's perceptualDistance is -1.
+     *
+     * Ignore regions (this instance's plus the baseline's) are resolved only
+     * when the digest does not match; with any in effect the perceptual tier is
+     * skipped, as the stored dHash covers the whole image.
+     *
+     * Where the screenshot was taken is unknown here, so selector ignore
+     * regions cannot be placed on it: with any in effect this throws
+     * IllegalStateException. Use the Locator overload or compareFullPage().
      */
     public ComparisonResult compare(String baselineName, byte[] actual) throws IOException {
+        return compare(baselineName, actual, null, false);
+    }
+
+    /**
+     * Compares a screenshot of the given element with the baseline; selector
+     * ignore regions are resolved relative to the element.
+     */
+    public ComparisonResult compare(String baselineName, byte[] actual, Locator captured) throws IOException {
+        return compare(baselineName, actual, Objects.requireNonNull(captured, "captured"), false);
+    }
+
+    /**
+     * @param captured the element the screenshot shows, or null
+     * @param fullPage whether the screenshot shows the whole document
+     */
+    private ComparisonResult compare(String baselineName, byte[] actual, Locator captured, boolean fullPage)
+            throws IOException {
         log.info("Comparing screenshot with baseline: {}", baselineName);
 
         // Save actual for debugging
-        Path actualPath = getActualPath(baselineName);
-        Files.createDirectories(actualPath.getParent());
-        Files.write(actualPath, actual);
+        ArtifactStore store = ArtifactStore.shared();
+        ArtifactStore.StoredArtifact actualArtifact = store.store(actual, baselineName + " - Actual", ".png",
+            currentTestName());
 
-        // Load baseline
-        byte[] baseline;
-        try {
-            baseline = loadBaseline(baselineName);
-        } catch (IOException e) {
+        // Load baseline hashes
+        Path baselinePath = getBaselinePath(baselineName);
+        if (!Files.exists(baselinePath)) {
             log.warn("Baseline not found, saving current as baseline: {}", baselineName);
             saveBaseline(baselineName, actual);
             return ComparisonResult.builder()
@@ -167,17 +297,38 @@ public class VisualTestingUtils {
                 .message("Baseline created")
                 .build();
         }
+        BaselineMetadata metadata = BaselineMetadata.of(baselinePath);
+        Set<String> selectors = ignoreSelectors(metadata);
+        if (!selectors.isEmpty() && captured == null && !fullPage) {
+            throw new IllegalStateException("Ignore selectors " + selectors + " of '" + baselineName
+                + "' cannot be placed on a screenshot of unknown origin; use compare(name, screenshot, locator) "
+                + "or compareFullPage()");
+        }
+        int totalPixels = metadata.getWidth() * metadata.getHeight();
+
+        // Byte-identical to the baseline
+        if (actualArtifact.sha256().equals(metadata.getSha256())) {
+            log.info("Comparison result: identical to baseline, passed=true");
+            return ComparisonResult.builder()
+                .baselineName(baselineName)
+                .passed(true)
+                .method(ComparisonMethod.DIGEST)
+                .diffPercent(0.0)
+                .totalPixels(totalPixels)
+                .message("Identical to baseline")
+                .baselinePath(baselinePath.toString())
+                .actualPath(actualArtifact.path().toString())
+                .build();
+        }
 
-        // Compare images
-        BufferedImage baselineImg = ImageIO.read(new ByteArrayInputStream(baseline));
         BufferedImage actualImg = ImageIO.read(new ByteArrayInputStream(actual));
 
         // Check dimensions
-        if (baselineImg.getWidth() != actualImg.getWidth() ||
-            baselineImg.getHeight() != actualImg.getHeight()) {
+        if (metadata.getWidth() != actualImg.getWidth() ||
+            metadata.getHeight() != actualImg.getHeight()) {
 
             log.warn("Image dimensions don't match. Baseline: {}x{}, Actual: {}x{}",
-                baselineImg.getWidth(), baselineImg.getHeight(),
+                metadata.getWidth(), metadata.getHeight(),
                 actualImg.getWidth(), actualImg.getHeight());
 
             return ComparisonResult.builder()
@@ -185,62 +336,70 @@ public class VisualTestingUtils {
                 .passed(false)
                 .diffPercent(100.0)
                 .message(String.format("Dimension mismatch. Baseline: %dx%d, Actual: %dx%d",
-                    baselineImg.getWidth(), baselineImg.getHeight(),
+                    metadata.getWidth(), metadata.getHeight(),
                     actualImg.getWidth(), actualImg.getHeight()))
                 .build();
         }
 
-        // Pixel comparison
-        int width = baselineImg.getWidth();
-        int height = baselineImg.getHeight();
-        int totalPixels = width * height;
-        int diffPixels = 0;
-
-        BufferedImage diffImg = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int baselinePixel = baselineImg.getRGB(x, y);
-                int actualPixel = actualImg.getRGB(x, y);
-
-                if (!pixelsMatch(baselinePixel, actualPixel)) {
-                    diffPixels++;
-                    diffImg.setRGB(x, y, 0xFFFF0000); // Red for diff
-                } else {
-                    // Fade the matching pixels
-                    int grayValue = toGray(actualPixel);
-                    diffImg.setRGB(x, y, (0xFF << 24) | (grayValue << 16) | (grayValue << 8) | grayValue);
-                }
-            }
+        // Ignore regions
+        List<PixelDiff.Region> masks = masks(metadata, selectors, captured);
+
+        // Perceptual hash
+        int distance = -1;
+        if (masks.isEmpty() && perceptualTolerance >= 0) {
+            distance = PixelDiff.distance(PixelDiff.dHash(actualImg), metadata.dHash());
+        }
+        if (distance >= 0 && distance <= perceptualTolerance) {
+            log.info("Comparison result: perceptual hash distance {}, passed=true", distance);
+            return ComparisonResult.builder()
+                .baselineName(baselineName)
+                .passed(true)
+                .method(ComparisonMethod.PERCEPTUAL)
+                .perceptualDistance(distance)
+                .diffPercent(0.0)
+                .totalPixels(totalPixels)
+                .message("Perceptually identical to baseline")
+                .baselinePath(baselinePath.toString())
+                .actualPath(actualArtifact.path().toString())
+                .build();
         }
 
-        double diffPercent = (double) diffPixels / totalPixels * 100;
+        // Pixel comparison
+        BufferedImage baselineImg = ImageIO.read(new ByteArrayInputStream(loadBaseline(baselineName)));
+        PixelDiff.Result diff = PixelDiff.compare(baselineImg, actualImg, pixelTolerance, true, masks);
+        int diffPixels = diff.diffPixels();
+
+        double diffPercent = diff.comparedPixels() > 0 ? (double) diffPixels / diff.comparedPixels() * 100 : 0.0;
         boolean passed = diffPercent <= (diffThreshold * 100);
 
-        log.info("Comparison result: {}% diff, passed={}", String.format("%.2f", diffPercent), passed);
+        log.info("Comparison result: {}% diff (perceptual hash distance {}, {} pixels in {} regions ignored, "
+                + "{} tiles skipped), passed={}", String.format("%.2f", diffPercent), distance >= 0 ? distance : "n/a",
+            diff.maskedPixels(), masks.size(), diff.skippedTiles(), passed);
 
         // Save diff image if there are differences
+        ArtifactStore.StoredArtifact diffArtifact = null;
         if (diffPixels > 0) {
-            Path diffPath = getDiffPath(baselineName);
-            Files.createDirectories(diffPath.getParent());
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(diffImg, "png", baos);
-            Files.write(diffPath, baos.toByteArray());
+            ImageIO.write(diff.diff(), "png", baos);
 
-            // Attach diff to Allure report
-            Allure.addAttachment(baselineName + " - Diff", "image/png", new ByteArrayInputStream(baos.toByteArray()), "png");
+            // Store and attach diff to Allure report
+            diffArtifact = store.storeAndAttach(baos.toByteArray(), baselineName + " - Diff", "image/png", ".png",
+                currentTestName());
         }
 
         return ComparisonResult.builder()
             .baselineName(baselineName)
             .passed(passed)
+            .method(ComparisonMethod.PIXEL)
+            .perceptualDistance(distance)
             .diffPercent(diffPercent)
             .diffPixelCount(diffPixels)
+            .maskedPixelCount(diff.maskedPixels())
             .totalPixels(totalPixels)
             .message(passed ? "Visual comparison passed" : "Visual comparison failed")
-            .baselinePath(getBaselinePath(baselineName).toString())
-            .actualPath(actualPath.toString())
-            .diffPath(diffPixels > 0 ? getDiffPath(baselineName).toString() : null)
+            .baselinePath(baselinePath.toString())
+            .actualPath(actualArtifact.path().toString())
+            .diffPath(diffArtifact != null ? diffArtifact.path().toString() : null)
             .build();
     }
 
@@ -248,8 +407,9 @@ public class VisualTestingUtils {
      * Compares element screenshot with baseline.
      */
     public ComparisonResult compareElement(String baselineName, String selector) throws IOException {
-        byte[] actual = captureElement(selector);
-        return compare(baselineName, actual);
+        Locator element = page.locator(selector);
+        byte[] actual = captureElement(element);
+        return compare(baselineName, actual, element, false);
     }
 
     /**
@@ -257,7 +417,55 @@ public class VisualTestingUtils {
      */
     public ComparisonResult compareFullPage(String baselineName) throws IOException {
         byte[] actual = captureFullPage();
-        return compare(baselineName, actual);
+        return compare(baselineName, actual, null, true);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // IGNORE REGIONS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * This instance's and the baseline's ignore selectors.
+     */
+    private Set<String> ignoreSelectors(BaselineMetadata metadata) {
+        Set<String> selectors = new LinkedHashSet<>(ignoreSelectors);
+        if (metadata.getIgnoreSelectors() != null) {
+            selectors.addAll(metadata.getIgnoreSelectors());
+        }
+        return selectors;
+    }
+
+    /**
+     * This instance's and the baseline's ignore regions, with the selectors
+     * resolved in a single evaluate call.
+     */
+    private List<PixelDiff.Region> masks(BaselineMetadata metadata, Set<String> selectors, Locator captured) {
+        List<PixelDiff.Region> masks = new ArrayList<>(ignoreRegions);
+        if (metadata.getIgnoreRegions() != null) {
+            masks.addAll(metadata.getIgnoreRegions());
+        }
+        if (selectors.isEmpty()) {
+            return masks;
+        }
+
+        List<String> arg = List.copyOf(selectors);
+        Object resolved = captured != null
+            ? captured.evaluate(MASK_SCRIPT, arg)
+            : page.evaluate("selectors => (" + MASK_SCRIPT + ")(null, selectors)", arg);
+        if (resolved instanceof Map<?, ?> result) {
+            if (result.get("regions") instanceof List<?> regions) {
+                for (Object region : regions) {
+                    List<?> box = (List<?>) region;
+                    masks.add(new PixelDiff.Region(((Number) box.get(0)).intValue(), ((Number) box.get(1)).intValue(),
+                        ((Number) box.get(2)).intValue(), ((Number) box.get(3)).intValue()));
+                }
+            }
+            if (result.get("invalid") instanceof List<?> invalid && !invalid.isEmpty()) {
+                log.warn("Ignoring invalid ignore-region selectors (CSS only): {}", invalid);
+            }
+        }
+        log.debug("Ignore regions: {} boxes from {} selectors and rectangles", masks.size(), selectors.size());
+        return masks;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -336,39 +544,13 @@ public class VisualTestingUtils {
     // HELPER METHODS
     // ═══════════════════════════════════════════════════════════════════════════
 
-    private boolean pixelsMatch(int pixel1, int pixel2) {
-        int r1 = (pixel1 >> 16) & 0xFF;
-        int g1 = (pixel1 >> 8) & 0xFF;
-        int b1 = pixel1 & 0xFF;
-
-        int r2 = (pixel2 >> 16) & 0xFF;
-        int g2 = (pixel2 >> 8) & 0xFF;
-        int b2 = pixel2 & 0xFF;
-
-        double tolerance = pixelTolerance * 255;
-
-        return Math.abs(r1 - r2) <= tolerance &&
-               Math.abs(g1 - g2) <= tolerance &&
-               Math.abs(b1 - b2) <= tolerance;
-    }
-
-    private int toGray(int pixel) {
-        int r = (pixel >> 16) & 0xFF;
-        int g = (pixel >> 8) & 0xFF;
-        int b = pixel & 0xFF;
-        return (int) (0.299 * r + 0.587 * g + 0.114 * b);
-    }
-
     private Path getBaselinePath(String name) {
-        return Paths.get(BASELINE_DIR, sanitizeFileName(name) + ".png");
+        return baselineDir.resolve(sanitizeFileName(name) + ".png");
     }
 
-    private Path getActualPath(String name) {
-        return Paths.get(ACTUAL_DIR, sanitizeFileName(name) + ".png");
-    }
-
-    private Path getDiffPath(String name) {
-        return Paths.get(DIFF_DIR, sanitizeFileName(name) + "-diff.png");
+    private String currentTestName() {
+        TestScope scope = TestScope.currentOrNull();
+        return scope != null ? scope.getTestName() : "";
     }
 
     private String sanitizeFileName(String name) {
@@ -377,9 +559,7 @@ public class VisualTestingUtils {
 
     private void createDirectories() {
         try {
-            Files.createDirectories(Paths.get(BASELINE_DIR));
-            Files.createDirectories(Paths.get(ACTUAL_DIR));
-            Files.createDirectories(Paths.get(DIFF_DIR));
+            Files.createDirectories(baselineDir);
         } catch (IOException e) {
             log.warn("Could not create visual testing directories", e);
         }
@@ -389,13 +569,30 @@ public class VisualTestingUtils {
     // RESULT CLASSES
     // ═══════════════════════════════════════════════════════════════════════════
 
+    /**
+     * The tier that settled a comparison.
+     */
+    public enum ComparisonMethod {
+        /** Byte-identical to the baseline */
+        DIGEST,
+        /** Perceptual hash within withPerceptualTolerance() */
+        PERCEPTUAL,
+        /** Full pixel diff */
+        PIXEL
+    }
+
     @lombok.Data
     @lombok.Builder
     public static class ComparisonResult {
         private String baselineName;
         private boolean passed;
+        private ComparisonMethod method;
+        /** dHash distance to the baseline; -1 if the perceptual tier did not run */
+        @lombok.Builder.Default
+        private int perceptualDistance = -1;
         private double diffPercent;
         private int diffPixelCount;
+        private int maskedPixelCount;
         private int totalPixels;
         private String message;
         private String baselinePath;
@@ -1,6 +1,7 @@
 package com.framework.domains.payments.api;
 
 import com.framework.core.base.BaseApiClient;
+import com.framework.core.listeners.PhaseMetrics;
 import com.framework.domains.payments.models.Order;
 import com.framework.domains.payments.models.Order.OrderStatus;
 import io.restassured.response.Response;
@@ -124,23 +125,25 @@ public class OrderApiClient extends BaseApiClient {
         long startTime = System.currentTimeMillis();
         long maxWaitMs = maxWaitSeconds * 1000L;
 
-        while (System.currentTimeMillis() - startTime < maxWaitMs) {
-            Order order = getOrder(orderId);
-            if (order.getStatus() == expectedStatus) {
-                log.info("Order reached status: {}", expectedStatus);
-                return order;
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.API_POLL)) {
+            while (System.currentTimeMillis() - startTime < maxWaitMs) {
+                Order order = getOrder(orderId);
+                if (order.getStatus() == expectedStatus) {
+                    log.info("Order reached status: {}", expectedStatus);
+                    return order;
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for order status", e);
+                }
             }
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while waiting for order status", e);
-            }
-        }
 
-        throw new RuntimeException(String.format(
-            "Order %s did not reach status %s within %d seconds",
-            orderId, expectedStatus, maxWaitSeconds));
+            throw new RuntimeException(String.format(
+                "Order %s did not reach status %s within %d seconds",
+                orderId, expectedStatus, maxWaitSeconds));
+        }
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.framework.domains.payments.playbooks;
 
 import com.framework.core.data.TestDataCache;
+import com.framework.core.data.TestDataGenerator;
 import com.framework.domains.payments.api.OrderApiClient;
 import com.framework.domains.payments.models.Order;
 import com.framework.domains.payments.models.Order.Address;
@@ -34,6 +35,7 @@ public class CheckoutPlaybook {
 
     private final CartSetupPlaybook cartSetupPlaybook;
     private final OrderApiClient orderApi;
+    private final TestDataGenerator testDataGenerator;
 
     // ═══════════════════════════════════════════════════════════════════════════
     // STANDARD CHECKOUT FLOWS
@@ -341,20 +343,10 @@ public class CheckoutPlaybook {
     // ═══════════════════════════════════════════════════════════════════════════
 
     /**
-     * Returns a default test address.
+     * Returns a delivery address from the TestDataGenerator pool.
      */
     public Address getDefaultAddress() {
-        return Address.builder()
-            .fullName("Test User")
-            .phone("9876543210")
-            .line1("123 Test Street")
-            .line2("Apartment 4B")
-            .city("Test City")
-            .state("Test State")
-            .pincode("123456")
-            .country("IN")
-            .type("HOME")
-            .build();
+        return testDataGenerator.nextAddress();
     }
 
     /**
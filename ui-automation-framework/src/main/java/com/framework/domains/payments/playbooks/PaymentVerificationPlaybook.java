@@ -1,6 +1,7 @@
 package com.framework.domains.payments.playbooks;
 
 import com.framework.core.data.TestDataCache;
+import com.framework.core.listeners.PhaseMetrics;
 import com.framework.domains.payments.api.OrderApiClient;
 import com.framework.domains.payments.models.Order;
 import com.framework.domains.payments.models.Order.OrderStatus;
@@ -202,7 +203,7 @@ public class PaymentVerificationPlaybook {
             .isIn("PROCESSED", "PENDING", "INITIATED");
 
         // Wait a moment for refund to process
-        try {
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.EXPLICIT_WAIT)) {
             Thread.sleep(2000);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
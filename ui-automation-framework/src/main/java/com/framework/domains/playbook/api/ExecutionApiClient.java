@@ -1,6 +1,7 @@
 package com.framework.domains.playbook.api;
 
 import com.framework.core.base.BaseApiClient;
+import com.framework.core.listeners.PhaseMetrics;
 import com.framework.domains.playbook.models.Execution;
 import com.framework.domains.playbook.models.Execution.ExecutionStatus;
 import io.restassured.response.Response;
@@ -207,23 +208,25 @@ public class ExecutionApiClient extends BaseApiClient {
         long startTime = System.currentTimeMillis();
         long maxWaitMs = maxWaitSeconds * 1000L;
 
-        while (System.currentTimeMillis() - startTime < maxWaitMs) {
-            Execution execution = getExecution(executionId);
-            if (execution.isComplete()) {
-                log.info("Execution completed with status: {}", execution.getStatus());
-                return execution;
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.API_POLL)) {
+            while (System.currentTimeMillis() - startTime < maxWaitMs) {
+                Execution execution = getExecution(executionId);
+                if (execution.isComplete()) {
+                    log.info("Execution completed with status: {}", execution.getStatus());
+                    return execution;
+                }
+
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for execution", e);
+                }
             }
 
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while waiting for execution", e);
-            }
+            throw new RuntimeException(String.format(
+                "Execution %s did not complete within %d seconds", executionId, maxWaitSeconds));
         }
-
-        throw new RuntimeException(String.format(
-            "Execution %s did not complete within %d seconds", executionId, maxWaitSeconds));
     }
 
     /**
@@ -235,28 +238,30 @@ public class ExecutionApiClient extends BaseApiClient {
         long startTime = System.currentTimeMillis();
         long maxWaitMs = maxWaitSeconds * 1000L;
 
-        while (System.currentTimeMillis() - startTime < maxWaitMs) {
-            Execution execution = getExecution(executionId);
-            if (execution.getStatus() == expectedStatus) {
-                return execution;
-            }
-            if (execution.isComplete() && execution.getStatus() != expectedStatus) {
-                throw new RuntimeException(String.format(
-                    "Execution reached terminal status %s instead of expected %s",
-                    execution.getStatus(), expectedStatus));
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.API_POLL)) {
+            while (System.currentTimeMillis() - startTime < maxWaitMs) {
+                Execution execution = getExecution(executionId);
+                if (execution.getStatus() == expectedStatus) {
+                    return execution;
+                }
+                if (execution.isComplete() && execution.getStatus() != expectedStatus) {
+                    throw new RuntimeException(String.format(
+                        "Execution reached terminal status %s instead of expected %s",
+                        execution.getStatus(), expectedStatus));
+                }
+
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for execution status", e);
+                }
             }
 
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while waiting for execution status", e);
-            }
+            throw new RuntimeException(String.format(
+                "Execution %s did not reach status %s within %d seconds",
+                executionId, expectedStatus, maxWaitSeconds));
         }
-
-        throw new RuntimeException(String.format(
-            "Execution %s did not reach status %s within %d seconds",
-            executionId, expectedStatus, maxWaitSeconds));
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
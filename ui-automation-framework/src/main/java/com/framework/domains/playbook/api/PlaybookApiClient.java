@@ -1,12 +1,16 @@
 package com.framework.domains.playbook.api;
 
 import com.framework.core.base.BaseApiClient;
+import com.framework.core.data.GlobalDataCache;
 import com.framework.domains.playbook.models.Playbook;
 import com.framework.domains.playbook.models.Playbook.PlaybookStatus;
 import io.restassured.response.Response;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -15,16 +19,29 @@ import java.util.Map;
  *
  * Handles CRUD operations for playbooks via API.
  * Used for test setup and verification of UI operations.
+ * Templates are reference data, cached in GlobalDataCache under the
+ * "playbook-templates" namespace (and snapshotted with it when enabled).
  */
 @Slf4j
 @Component
 public class PlaybookApiClient extends BaseApiClient {
 
+    private static final String CLEANUP_TYPE = "playbook";
+    private static final Duration TEMPLATE_TTL = Duration.ofMinutes(30);
+
+    @Autowired
+    private GlobalDataCache globalDataCache;
+
     @Override
     protected String getBasePath() {
         return "/api/v1/playbooks";
     }
 
+    @PostConstruct
+    void registerCleanup() {
+        cleanupJournal.registerHandler(CLEANUP_TYPE, this::deletePlaybook);
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // PLAYBOOK CRUD
     // ═══════════════════════════════════════════════════════════════════════════
@@ -35,7 +52,7 @@ public class PlaybookApiClient extends BaseApiClient {
     public Playbook createPlaybook(Playbook playbook) {
         log.info("Creating playbook: {}", playbook.getName());
         Response response = post("", playbook);
-        return getCreatedAs(response, Playbook.class);
+        return tracked(getCreatedAs(response, Playbook.class));
     }
 
     /**
@@ -47,7 +64,7 @@ public class PlaybookApiClient extends BaseApiClient {
             "templateId", templateId,
             "name", name
         ));
-        return getCreatedAs(response, Playbook.class);
+        return tracked(getCreatedAs(response, Playbook.class));
     }
 
     /**
@@ -93,6 +110,15 @@ public class PlaybookApiClient extends BaseApiClient {
         log.info("Deleting playbook: {}", playbookId);
         Response response = delete("/" + playbookId);
         assertNoContent(response);
+        cleanupJournal.completed(CLEANUP_TYPE, playbookId);
+    }
+
+    /**
+     * Deleted after the creating test by the CleanupJournal.
+     */
+    private Playbook tracked(Playbook playbook) {
+        cleanupJournal.register(CLEANUP_TYPE, playbook.getId());
+        return playbook;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -231,18 +257,22 @@ public class PlaybookApiClient extends BaseApiClient {
      * Gets available playbook templates.
      */
     public List<PlaybookTemplate> getTemplates() {
-        log.info("Getting playbook templates");
-        Response response = get("/templates");
-        return List.of(getOkAs(response, PlaybookTemplate[].class));
+        return globalDataCache.getOrLoad("playbook-templates:all", () -> {
+            log.info("Getting playbook templates");
+            Response response = get("/templates");
+            return List.of(getOkAs(response, PlaybookTemplate[].class));
+        }, TEMPLATE_TTL);
     }
 
     /**
      * Gets a specific template.
      */
     public PlaybookTemplate getTemplate(String templateId) {
-        log.info("Getting template: {}", templateId);
-        Response response = get("/templates/" + templateId);
-        return getOkAs(response, PlaybookTemplate.class);
+        return globalDataCache.getOrLoad("playbook-templates:" + templateId, () -> {
+            log.info("Getting template: {}", templateId);
+            Response response = get("/templates/" + templateId);
+            return getOkAs(response, PlaybookTemplate.class);
+        }, TEMPLATE_TTL);
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -1,5 +1,6 @@
 package com.framework.domains.playbook.mocks;
 
+import com.framework.core.listeners.PhaseMetrics;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
@@ -162,14 +163,16 @@ public class MockSlackServer {
         long startTime = System.currentTimeMillis();
         int initialCount = receivedMessages.size();
 
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            if (receivedMessages.size() > initialCount) {
-                return receivedMessages.get(receivedMessages.size() - 1);
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.API_POLL)) {
+            while (System.currentTimeMillis() - startTime < timeoutMs) {
+                if (receivedMessages.size() > initialCount) {
+                    return receivedMessages.get(receivedMessages.size() - 1);
+                }
+                Thread.sleep(100);
             }
-            Thread.sleep(100);
-        }
 
-        throw new RuntimeException("No message received within " + timeoutMs + "ms");
+            throw new RuntimeException("No message received within " + timeoutMs + "ms");
+        }
     }
 
     /**
@@ -178,16 +181,18 @@ public class MockSlackServer {
     public void waitForMessages(int count, int timeoutMs) throws InterruptedException {
         long startTime = System.currentTimeMillis();
 
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            if (receivedMessages.size() >= count) {
-                return;
+        try (PhaseMetrics.Timer ignored = PhaseMetrics.time(PhaseMetrics.Phase.API_POLL)) {
+            while (System.currentTimeMillis() - startTime < timeoutMs) {
+                if (receivedMessages.size() >= count) {
+                    return;
+                }
+                Thread.sleep(100);
             }
-            Thread.sleep(100);
-        }
 
-        throw new RuntimeException(String.format(
-            "Expected %d messages but received %d within %dms",
-            count, receivedMessages.size(), timeoutMs));
+            throw new RuntimeException(String.format(
+                "Expected %d messages but received %d within %dms",
+                count, receivedMessages.size(), timeoutMs));
+        }
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
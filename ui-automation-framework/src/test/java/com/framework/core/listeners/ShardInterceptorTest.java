@@ -0,0 +1,131 @@
+package com.framework.core.listeners;
+
+import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
+import org.testng.IMethodInstance;
+import org.testng.ITestClass;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ShardInterceptorTest - Unit grouping and longest-processing-time assignment
+ *
+ * Median durations:
+ * - Splittable: slow 60s, medium 50s, fast 10s
+ * - WithFixture: first 40s, second 30s (70s as one unit)
+ */
+public class ShardInterceptorTest {
+
+    private static final Map<String, Long> MEDIANS = Map.of(
+        "Splittable.slow", 60_000L, "Splittable.medium", 50_000L, "Splittable.fast", 10_000L,
+        "WithFixture.first", 40_000L, "WithFixture.second", 30_000L);
+
+    @Test(description = "Framework class fixtures do not keep a class together")
+    public void splitsClassWithOnlyInheritedFrameworkFixtures() throws Exception {
+        ITestClass splittable = testClass(
+            AbstractTestNGSpringContextTests.class.getDeclaredMethod("springTestContextBeforeTestClass"));
+        List<IMethodInstance> methods = methods(splittable, testClass(WithFixture.class.getMethod("setUp")));
+
+        // Units by cost: WithFixture 70s, slow 60s, medium 50s, fast 10s
+        // -> shard 1: WithFixture + fast = 80s, shard 2: slow + medium = 110s
+        assertThat(shard(1, methods)).containsExactly("fast", "first", "second");
+        assertThat(shard(2, methods)).containsExactly("slow", "medium");
+    }
+
+    @Test(description = "A class with its own class fixtures is one unit")
+    public void keepsClassWithOwnFixturesTogether() throws Exception {
+        ITestClass splittable = testClass(FixtureBase.class.getMethod("createShared"));
+        List<IMethodInstance> methods = methods(splittable, testClass(WithFixture.class.getMethod("setUp")));
+
+        // Units by cost: Splittable 120s, WithFixture 70s
+        assertThat(shard(1, methods)).containsExactly("slow", "medium", "fast");
+        assertThat(shard(2, methods)).containsExactly("first", "second");
+    }
+
+    @Test(description = "Only fixtures declared outside the framework count")
+    public void detectsOwnClassFixtures() throws Exception {
+        assertThat(ShardInterceptor.hasOwnClassFixtures(null)).isFalse();
+        assertThat(ShardInterceptor.hasOwnClassFixtures(testClass())).isFalse();
+        assertThat(ShardInterceptor.hasOwnClassFixtures(testClass(
+            AbstractTestNGSpringContextTests.class.getDeclaredMethod("springTestContextBeforeTestClass")))).isFalse();
+        assertThat(ShardInterceptor.hasOwnClassFixtures(testClass(WithFixture.class.getMethod("setUp")))).isTrue();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Names of the methods the given shard (of 2) keeps, in suite order.
+     */
+    private static List<String> shard(int shard, List<IMethodInstance> methods) {
+        ShardInterceptor interceptor = new ShardInterceptor(2, shard);
+        return ShardInterceptor.keep(methods,
+                interceptor.plan(methods.stream().map(IMethodInstance::getMethod).toList(), MEDIANS))
+            .stream()
+            .map(instance -> instance.getMethod().getMethodName())
+            .toList();
+    }
+
+    private static List<IMethodInstance> methods(ITestClass splittable, ITestClass withFixture) {
+        return List.of(
+            instance(Splittable.class, "slow", splittable),
+            instance(Splittable.class, "medium", splittable),
+            instance(Splittable.class, "fast", splittable),
+            instance(WithFixture.class, "first", withFixture),
+            instance(WithFixture.class, "second", withFixture));
+    }
+
+    private static ITestClass testClass(Method... beforeClassMethods) {
+        ITestClass testClass = mock(ITestClass.class);
+        ITestNGMethod[] configuration = Arrays.stream(beforeClassMethods)
+            .map(method -> {
+                ITestNGMethod config = mock(ITestNGMethod.class);
+                when(config.getConstructorOrMethod()).thenReturn(new ConstructorOrMethod(method));
+                return config;
+            })
+            .toArray(ITestNGMethod[]::new);
+        when(testClass.getBeforeClassMethods()).thenReturn(configuration);
+        when(testClass.getAfterClassMethods()).thenReturn(new ITestNGMethod[0]);
+        return testClass;
+    }
+
+    private static IMethodInstance instance(Class<?> realClass, String name, ITestClass testClass) {
+        ITestNGMethod method = mock(ITestNGMethod.class);
+        doReturn(realClass).when(method).getRealClass();
+        when(method.getMethodName()).thenReturn(name);
+        when(method.getTestClass()).thenReturn(testClass);
+        when(method.getMethodsDependedUpon()).thenReturn(new String[0]);
+        when(method.getGroups()).thenReturn(new String[0]);
+        when(method.getGroupsDependedUpon()).thenReturn(new String[0]);
+        IMethodInstance instance = mock(IMethodInstance.class);
+        when(instance.getMethod()).thenReturn(method);
+        return instance;
+    }
+
+    static class Splittable {
+    }
+
+    static class FixtureBase {
+        @BeforeClass
+        public void createShared() {
+        }
+    }
+
+    static class WithFixture {
+        @BeforeClass
+        public void setUp() {
+        }
+    }
+}
@@ -10,7 +10,6 @@ import com.framework.domains.booking.models.ShowTime;
 import com.framework.domains.booking.pages.*;
 import com.framework.domains.booking.playbooks.BookingFlowPlaybook;
 import com.framework.domains.booking.playbooks.BookingSetupPlaybook;
-import com.framework.domains.payments.models.TestCard;
 import io.qameta.allure.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.testng.annotations.Test;
@@ -62,7 +61,7 @@ public class MovieBookingFlowTest extends BaseTest {
         BookingConfirmationPage confirmationPage = bookingFlowPlaybook.completeBookingFlow(
             getPage(),
             1,
-            TestCard.VISA_SUCCESS,
+            fixtures.getTestCard("visa", "success"),
             testData()
         );
 
@@ -94,7 +93,7 @@ public class MovieBookingFlowTest extends BaseTest {
         BookingConfirmationPage confirmationPage = bookingFlowPlaybook.completeBookingFlow(
             getPage(),
             4,
-            TestCard.VISA_SUCCESS,
+            fixtures.getTestCard("visa", "success"),
             testData()
         );
 
@@ -341,7 +340,7 @@ public class MovieBookingFlowTest extends BaseTest {
     public void testBookingCancellation() {
         // Complete a booking
         BookingConfirmationPage confirmationPage = bookingFlowPlaybook.completeBookingFlow(
-            getPage(), 2, TestCard.VISA_SUCCESS, testData());
+            getPage(), 2, fixtures.getTestCard("visa", "success"), testData());
 
         String bookingNumber = confirmationPage.getBookingNumber();
 
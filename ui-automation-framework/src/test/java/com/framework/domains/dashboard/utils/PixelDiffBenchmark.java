@@ -0,0 +1,189 @@
+package com.framework.domains.dashboard.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PixelDiffBenchmark - JMH comparison of PixelDiff with the per-pixel getRGB/setRGB loop
+ *
+ * Builds a dashboard-sized screenshot pair (a few changed regions plus
+ * low-level noise) and round-trips both through PNG so they have the byte
+ * rasters ImageIO produces for real screenshots. Benchmarks:
+ * - perPixel: the loop VisualTestingUtils used before PixelDiff
+ * - withDiffImage: PixelDiff rendering the diff image
+ * - countOnly: PixelDiff counting differing pixels only
+ *
+ * That both engines agree is checked by PixelDiffTest.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main
+ *   -Dexec.args="PixelDiffBenchmark [-p width=3840 -p height=2160 -p tolerance=0]"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PixelDiffBenchmark {
+
+    @Param("1920")
+    int width;
+
+    @Param("1080")
+    int height;
+
+    @Param("0.1")
+    double tolerance;
+
+    private BufferedImage baseline;
+    private BufferedImage actual;
+
+    @Setup
+    public void decodeScreenshots() throws IOException {
+        baseline = decode(screenshot(width, height, false));
+        actual = decode(screenshot(width, height, true));
+    }
+
+    @Benchmark
+    public int perPixel() {
+        return legacyCompare(baseline, actual, tolerance,
+            new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    @Benchmark
+    public PixelDiff.Result withDiffImage() {
+        return PixelDiff.compare(baseline, actual, tolerance, true);
+    }
+
+    @Benchmark
+    public PixelDiff.Result countOnly() {
+        return PixelDiff.compare(baseline, actual, tolerance, false);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // REFERENCE ENGINE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * The comparison loop VisualTestingUtils used before PixelDiff.
+     */
+    static int legacyCompare(BufferedImage baseline, BufferedImage actual, double pixelTolerance,
+                             BufferedImage diffImg) {
+        int diffPixels = 0;
+        double tolerance = pixelTolerance * 255;
+        for (int y = 0; y < baseline.getHeight(); y++) {
+            for (int x = 0; x < baseline.getWidth(); x++) {
+                int p1 = baseline.getRGB(x, y);
+                int p2 = actual.getRGB(x, y);
+                boolean matches = Math.abs(((p1 >> 16) & 0xFF) - ((p2 >> 16) & 0xFF)) <= tolerance
+                    && Math.abs(((p1 >> 8) & 0xFF) - ((p2 >> 8) & 0xFF)) <= tolerance
+                    && Math.abs((p1 & 0xFF) - (p2 & 0xFF)) <= tolerance;
+                if (!matches) {
+                    diffPixels++;
+                    diffImg.setRGB(x, y, 0xFFFF0000);
+                } else {
+                    int gray = (int) (0.299 * ((p2 >> 16) & 0xFF) + 0.587 * ((p2 >> 8) & 0xFF)
+                        + 0.114 * (p2 & 0xFF));
+                    diffImg.setRGB(x, y, (0xFF << 24) | (gray << 16) | (gray << 8) | gray);
+                }
+            }
+        }
+        return diffPixels;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SYNTHETIC SCREENSHOTS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * A dashboard-like INT_RGB image; the changed one has a new panel, another
+     * timestamp and red-channel noise of at most 4 levels.
+     */
+    static BufferedImage render(int width, int height, boolean changed) {
+        return render(width, height, changed, changed);
+    }
+
+    static BufferedImage render(int width, int height, boolean changed, boolean noisy) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(new Color(0xF5F6FA));
+            graphics.fillRect(0, 0, width, height);
+            Random layout = new Random(42);
+            for (int i = 0; i < 12; i++) {
+                graphics.setColor(new Color(layout.nextInt(0xFFFFFF)));
+                graphics.fillRect(layout.nextInt(width), layout.nextInt(height), width / 6, height / 6);
+            }
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.drawString(changed ? "Last refresh: 10:42:07" : "Last refresh: 10:41:55", 20, 20);
+            if (changed) {
+                graphics.setColor(new Color(0x2E86DE));
+                graphics.fillRect(width / 2, height / 2, Math.max(1, width / 10), Math.max(1, height / 10));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return noisy ? withNoise(image) : image;
+    }
+
+    /**
+     * A gray wave pattern, so that every dHash cell differs clearly from its
+     * neighbours and noise cannot flip a bit.
+     */
+    static BufferedImage gradient(int width, int height, boolean noisy) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = (int) (127 + 100 * Math.sin(x * 0.05 + y * 0.03));
+                image.setRGB(x, y, (gray << 16) | (gray << 8) | gray);
+            }
+        }
+        return noisy ? withNoise(image) : image;
+    }
+
+    /**
+     * Anti-aliasing-like noise that stays within the default tolerance.
+     */
+    private static BufferedImage withNoise(BufferedImage image) {
+        Random noise = new Random(7);
+        for (int i = 0; i < image.getWidth() * image.getHeight() / 50; i++) {
+            int x = noise.nextInt(image.getWidth());
+            int y = noise.nextInt(image.getHeight());
+            int rgb = image.getRGB(x, y);
+            int shift = noise.nextInt(9) - 4;
+            int r = Math.max(0, Math.min(255, ((rgb >> 16) & 0xFF) + shift));
+            image.setRGB(x, y, (rgb & 0xFF00FFFF) | (r << 16));
+        }
+        return image;
+    }
+
+    static byte[] screenshot(int width, int height, boolean changed) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(render(width, height, changed), "png", png);
+        return png.toByteArray();
+    }
+
+    static BufferedImage decode(byte[] png) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(png));
+    }
+}
@@ -0,0 +1,206 @@
+package com.framework.domains.dashboard.utils;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+
+import static com.framework.domains.dashboard.utils.PixelDiffBenchmark.decode;
+import static com.framework.domains.dashboard.utils.PixelDiffBenchmark.gradient;
+import static com.framework.domains.dashboard.utils.PixelDiffBenchmark.legacyCompare;
+import static com.framework.domains.dashboard.utils.PixelDiffBenchmark.render;
+import static com.framework.domains.dashboard.utils.PixelDiffBenchmark.screenshot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PixelDiffTest - PixelDiff against the per-pixel getRGB loop it replaced
+ *
+ * Every case compares the diff pixel count and the rendered diff image of
+ * both engines for:
+ * - Byte rasters as ImageIO decodes PNGs, packed INT_ARGB images and a mix
+ * - Tolerance 0 (noise differs), 0.1 (noise matches) and NaN (nothing matches)
+ * - Sizes that are not tile multiples, from one pixel to several tiles
+ *
+ * Also covers ignore regions (masks) and dHash/distance.
+ */
+public class PixelDiffTest {
+
+    private static final int[][] SIZES = {{1, 1}, {127, 129}, {301, 157}, {1000, 77}};
+    private static final double[] TOLERANCES = {0, 0.1, Double.NaN};
+
+    @DataProvider
+    public Object[][] sizesAndTolerances() {
+        Object[][] cases = new Object[SIZES.length * TOLERANCES.length][];
+        int i = 0;
+        for (int[] size : SIZES) {
+            for (double tolerance : TOLERANCES) {
+                cases[i++] = new Object[]{size[0], size[1], tolerance};
+            }
+        }
+        return cases;
+    }
+
+    @Test(dataProvider = "sizesAndTolerances", description = "Byte rasters decoded from PNG")
+    public void matchesLegacyOnDecodedPng(int width, int height, double tolerance) throws IOException {
+        BufferedImage baseline = decode(screenshot(width, height, false));
+        BufferedImage actual = decode(screenshot(width, height, true));
+        assertThat(baseline.getType()).isNotIn(BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB);
+
+        assertSameAsLegacy(baseline, actual, tolerance);
+    }
+
+    @Test(dataProvider = "sizesAndTolerances", description = "Packed INT_ARGB images")
+    public void matchesLegacyOnIntArgb(int width, int height, double tolerance) {
+        assertSameAsLegacy(argb(render(width, height, false)), argb(render(width, height, true)), tolerance);
+    }
+
+    @Test(dataProvider = "sizesAndTolerances", description = "Byte raster baseline, INT_ARGB actual")
+    public void matchesLegacyOnMixedRasters(int width, int height, double tolerance) throws IOException {
+        BufferedImage baseline = decode(screenshot(width, height, false));
+        assertSameAsLegacy(baseline, argb(render(width, height, true)), tolerance);
+    }
+
+    @Test(description = "Tolerance 0.1 lets the noise through, 0 and NaN do not")
+    public void toleranceDecidesWhatDiffers() throws IOException {
+        BufferedImage baseline = decode(screenshot(301, 157, false));
+        BufferedImage actual = decode(screenshot(301, 157, true));
+
+        int strict = PixelDiff.compare(baseline, actual, 0, false).diffPixels();
+        int tolerant = PixelDiff.compare(baseline, actual, 0.1, false).diffPixels();
+        assertThat(tolerant).isPositive().isLessThan(strict);
+        assertThat(PixelDiff.compare(baseline, actual, Double.NaN, false).diffPixels()).isEqualTo(301 * 157);
+        assertThat(PixelDiff.compare(baseline, baseline, 0, false).diffPixels()).isZero();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // IGNORE REGIONS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Test(description = "Tiles entirely inside a mask are skipped and their changes ignored")
+    public void skipsFullyMaskedTiles() {
+        BufferedImage baseline = gradient(300, 300, false);
+        BufferedImage actual = painted(gradient(300, 300, false), 0, 0, 256, 128);
+
+        PixelDiff.Result result = PixelDiff.compare(baseline, actual, 0.1, true,
+            List.of(new PixelDiff.Region(0, 0, 256, 128)));
+
+        assertThat(result.skippedTiles()).isEqualTo(2);
+        assertThat(result.maskedPixels()).isEqualTo(256 * 128);
+        assertThat(result.diffPixels()).isZero();
+        assertThat(result.diff().getRGB(10, 10)).isEqualTo(result.diff().getRGB(255, 127)).isNotEqualTo(0xFFFF0000);
+    }
+
+    @Test(description = "Pixels under overlapping masks are counted once")
+    public void countsOverlappingMasksOnce() {
+        BufferedImage image = gradient(300, 300, false);
+
+        PixelDiff.Result result = PixelDiff.compare(image, image, 0.1, false, List.of(
+            new PixelDiff.Region(10, 10, 50, 50), new PixelDiff.Region(30, 30, 50, 50),
+            new PixelDiff.Region(10, 10, 50, 50)));
+
+        assertThat(result.maskedPixels()).isEqualTo(2 * 50 * 50 - 30 * 30);
+        assertThat(result.skippedTiles()).isZero();
+        assertThat(result.comparedPixels()).isEqualTo(300 * 300 - result.maskedPixels());
+    }
+
+    @Test(description = "Masks reaching outside the image are clipped to it")
+    public void clipsMasksToImage() {
+        BufferedImage image = gradient(300, 300, false);
+
+        PixelDiff.Result result = PixelDiff.compare(image, image, 0.1, false, List.of(
+            new PixelDiff.Region(-20, -20, 50, 50), new PixelDiff.Region(280, 290, 100, 100),
+            new PixelDiff.Region(400, 0, 10, 10)));
+
+        assertThat(result.maskedPixels()).isEqualTo(30 * 30 + 20 * 10);
+        assertThat(result.skippedTiles()).isZero();
+    }
+
+    @Test(description = "Only unmasked pixels are compared in a partly masked tile")
+    public void comparesUnmaskedPixelsOfPartlyMaskedTiles() {
+        BufferedImage baseline = gradient(300, 300, false);
+        // 40x40 change, half of it under the mask
+        BufferedImage actual = painted(gradient(300, 300, false), 100, 100, 40, 40);
+
+        PixelDiff.Result result = PixelDiff.compare(baseline, actual, 0.1, false,
+            List.of(new PixelDiff.Region(0, 0, 120, 300)));
+
+        assertThat(result.maskedPixels()).isEqualTo(120 * 300);
+        assertThat(result.skippedTiles()).isZero();
+        assertThat(result.diffPixels()).isBetween(1, 20 * 40);
+        assertThat(PixelDiff.compare(baseline, actual, 0.1, false).diffPixels()).isGreaterThan(result.diffPixels());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PERCEPTUAL HASH
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Test(description = "Noise leaves the dHash unchanged, a content change moves it")
+    public void dHashIgnoresNoiseButNotContent() {
+        long baseline = PixelDiff.dHash(gradient(320, 200, false));
+
+        assertThat(PixelDiff.dHash(gradient(320, 200, true))).isEqualTo(baseline);
+        assertThat(PixelDiff.distance(PixelDiff.dHash(inverted(gradient(320, 200, false))), baseline))
+            .isGreaterThan(32);
+        assertThat(PixelDiff.dHash(render(320, 200, true))).isNotEqualTo(PixelDiff.dHash(render(320, 200, false)));
+    }
+
+    @Test(description = "dHash is the same for the byte raster and the packed image")
+    public void dHashDoesNotDependOnRaster() throws IOException {
+        assertThat(PixelDiff.dHash(decode(screenshot(301, 157, true))))
+            .isEqualTo(PixelDiff.dHash(argb(render(301, 157, true))));
+        assertThat(PixelDiff.dHash(decode(screenshot(1, 1, false)))).isZero();
+    }
+
+    @Test(description = "distance counts differing bits")
+    public void distanceCountsDifferingBits() {
+        assertThat(PixelDiff.distance(0L, 0L)).isZero();
+        assertThat(PixelDiff.distance(0L, -1L)).isEqualTo(64);
+        assertThat(PixelDiff.distance(0b1011L, 0b0110L)).isEqualTo(3);
+        assertThat(PixelDiff.distance(0x8000_0000_0000_0001L, 1L)).isEqualTo(1);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static void assertSameAsLegacy(BufferedImage baseline, BufferedImage actual, double tolerance) {
+        BufferedImage legacyDiff = new BufferedImage(baseline.getWidth(), baseline.getHeight(),
+            BufferedImage.TYPE_INT_ARGB);
+        int legacyPixels = legacyCompare(baseline, actual, tolerance, legacyDiff);
+
+        PixelDiff.Result result = PixelDiff.compare(baseline, actual, tolerance, true);
+        assertThat(result.diffPixels()).isEqualTo(legacyPixels);
+        assertThat(PixelDiff.pixels(result.diff())).isEqualTo(PixelDiff.pixels(legacyDiff));
+        assertThat(PixelDiff.compare(baseline, actual, tolerance, false).diffPixels()).isEqualTo(legacyPixels);
+    }
+
+    private static BufferedImage painted(BufferedImage image, int x, int y, int width, int height) {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.MAGENTA);
+            graphics.fillRect(x, y, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage inverted(BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, image.getRGB(x, y) ^ 0x00FFFFFF);
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage argb(BufferedImage image) {
+        BufferedImage argb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        argb.getGraphics().drawImage(image, 0, 0, null);
+        return argb;
+    }
+}
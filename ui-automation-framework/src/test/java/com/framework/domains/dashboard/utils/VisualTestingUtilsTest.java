@@ -0,0 +1,234 @@
+package com.framework.domains.dashboard.utils;
+
+import com.framework.core.reporting.ArtifactStore;
+import com.framework.domains.dashboard.utils.VisualTestingUtils.ComparisonMethod;
+import com.framework.domains.dashboard.utils.VisualTestingUtils.ComparisonResult;
+import com.microsoft.playwright.Locator;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.framework.domains.dashboard.utils.PixelDiffBenchmark.gradient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * VisualTestingUtilsTest - Which comparison tier settles a screenshot
+ *
+ * Also covers how ignore regions reach a comparison. Baselines and artifacts
+ * go to a temporary directory; no page is needed, element screenshots use a
+ * mocked Locator that resolves selectors to fixed boxes.
+ */
+public class VisualTestingUtilsTest {
+
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 200;
+
+    private Path dir;
+    private byte[] baseline;
+
+    @BeforeClass
+    public void createBaseline() throws IOException {
+        dir = Files.createTempDirectory("visual-tiers");
+        ArtifactStore.configure(dir.resolve("artifacts"), 64L * 1024 * 1024, Duration.ofDays(1));
+        baseline = png(gradient(WIDTH, HEIGHT, false));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test(description = "Byte-identical screenshots pass on the digest without a perceptual hash")
+    public void identicalBytesPassOnDigest() throws IOException {
+        VisualTestingUtils visual = utils("digest").withPerceptualTolerance(4);
+
+        ComparisonResult result = visual.compare("digest", baseline);
+
+        assertThat(result.isPassed()).isTrue();
+        assertThat(result.getMethod()).isEqualTo(ComparisonMethod.DIGEST);
+        assertThat(result.getPerceptualDistance()).isEqualTo(-1);
+    }
+
+    @Test(description = "Rendering noise passes on the perceptual hash when enabled")
+    public void noisePassesOnPerceptualHash() throws IOException {
+        VisualTestingUtils visual = utils("perceptual").withPixelTolerance(0).withPerceptualTolerance(4);
+
+        ComparisonResult result = visual.compare("perceptual", noisy());
+
+        assertThat(result.isPassed()).isTrue();
+        assertThat(result.getMethod()).isEqualTo(ComparisonMethod.PERCEPTUAL);
+        assertThat(result.getPerceptualDistance()).isZero();
+    }
+
+    @Test(description = "Without a perceptual tolerance no dHash is computed")
+    public void perceptualTierOffComparesPixels() throws IOException {
+        VisualTestingUtils visual = utils("pixel");
+
+        ComparisonResult result = visual.compare("pixel", noisy());
+
+        assertThat(result.getMethod()).isEqualTo(ComparisonMethod.PIXEL);
+        assertThat(result.getPerceptualDistance()).isEqualTo(-1);
+        assertThat(result.isPassed()).isTrue();
+        assertThat(result.getDiffPixelCount()).isZero();
+    }
+
+    @Test(description = "A content change beyond the perceptual tolerance is pixel compared and fails")
+    public void contentChangeFallsThroughToPixels() throws IOException {
+        VisualTestingUtils visual = utils("changed").withPerceptualTolerance(0);
+
+        ComparisonResult result = visual.compare("changed", png(withPanel(gradient(WIDTH, HEIGHT, false))));
+
+        assertThat(result.getMethod()).isEqualTo(ComparisonMethod.PIXEL);
+        assertThat(result.getPerceptualDistance()).isPositive();
+        assertThat(result.isPassed()).isFalse();
+        assertThat(result.getDiffPixelCount()).isPositive().isLessThanOrEqualTo(WIDTH / 2 * HEIGHT / 2);
+        assertThat(result.getDiffPath()).isNotNull();
+    }
+
+    @Test(description = "Ignore regions skip the perceptual tier")
+    public void ignoreRegionsSkipPerceptualTier() throws IOException {
+        VisualTestingUtils visual = utils("masked").withPerceptualTolerance(64).withIgnoreRegion(0, 0, 10, 10);
+
+        ComparisonResult result = visual.compare("masked", noisy());
+
+        assertThat(result.getMethod()).isEqualTo(ComparisonMethod.PIXEL);
+        assertThat(result.getPerceptualDistance()).isEqualTo(-1);
+        assertThat(result.getMaskedPixelCount()).isEqualTo(100);
+    }
+
+    @Test(description = "Diff percentage is taken over the unmasked pixels")
+    public void diffPercentOfUnmaskedPixels() throws IOException {
+        VisualTestingUtils visual = utils("percent").withIgnoreRegion(0, 0, WIDTH / 2, HEIGHT);
+        BufferedImage actual = withPanel(gradient(WIDTH, HEIGHT, false));
+
+        ComparisonResult result = visual.compare("percent", png(actual));
+
+        assertThat(result.getMaskedPixelCount()).isEqualTo(WIDTH / 2 * HEIGHT);
+        assertThat(result.getDiffPercent())
+            .isCloseTo(100.0 * result.getDiffPixelCount() / (WIDTH * HEIGHT - WIDTH / 2 * HEIGHT), within(1e-9));
+    }
+
+    @Test(description = "A baseline with a new modification time, as after a checkout, keeps its sidecar")
+    public void sidecarSurvivesCheckout() throws IOException {
+        VisualTestingUtils visual = utils("checkout");
+        Path png = dir.resolve("baselines").resolve("checkout.png");
+        Path sidecar = BaselineMetadata.sidecarOf(png);
+        String written = Files.readString(sidecar);
+        FileTime sidecarModified = Files.getLastModifiedTime(sidecar);
+        Files.setLastModifiedTime(png, FileTime.fromMillis(Files.getLastModifiedTime(png).toMillis() - 60_000));
+
+        ComparisonResult result = visual.compare("checkout", baseline);
+
+        assertThat(result.getMethod()).isEqualTo(ComparisonMethod.DIGEST);
+        assertThat(Files.readString(sidecar)).isEqualTo(written);
+        assertThat(Files.getLastModifiedTime(sidecar)).isEqualTo(sidecarModified);
+    }
+
+    @Test(description = "A replaced baseline gets its hashes recomputed")
+    public void replacedBaselineIsRehashed() throws IOException {
+        VisualTestingUtils visual = utils("replaced");
+        Path png = dir.resolve("baselines").resolve("replaced.png");
+        byte[] replacement = noisy();
+        Files.write(png, replacement);
+        Files.setLastModifiedTime(png, FileTime.fromMillis(Files.getLastModifiedTime(png).toMillis() - 60_000));
+
+        ComparisonResult result = visual.compare("replaced", replacement);
+
+        assertThat(result.getMethod()).isEqualTo(ComparisonMethod.DIGEST);
+        assertThat(BaselineMetadata.of(png).getBaselineSize()).isEqualTo(replacement.length);
+    }
+
+    @Test(description = "Selector masks need to know where the screenshot was taken",
+        expectedExceptions = IllegalStateException.class)
+    public void rejectsSelectorsWithoutLocator() throws IOException {
+        utils("selectors").withIgnoreRegions(".clock").compare("selectors", png(gradient(WIDTH, HEIGHT, true)));
+    }
+
+    @Test(description = "Selectors saved with the baseline are rejected too",
+        expectedExceptions = IllegalStateException.class)
+    public void rejectsBaselineSelectorsWithoutLocator() throws IOException {
+        new VisualTestingUtils(null, dir.resolve("baselines")).withIgnoreRegions(".clock")
+            .saveBaseline("stored-selectors", baseline);
+
+        utils().compare("stored-selectors", png(gradient(WIDTH, HEIGHT, true)));
+    }
+
+    @Test(description = "Selector masks are resolved relative to the captured element")
+    public void resolvesSelectorsAgainstLocator() throws IOException {
+        Locator element = mock(Locator.class);
+        when(element.evaluate(anyString(), any())).thenReturn(Map.of(
+            "regions", List.of(List.of(0, 0, WIDTH / 2, HEIGHT / 2), List.of(WIDTH / 2, HEIGHT / 2, 10, 10)),
+            "invalid", List.of()));
+        VisualTestingUtils visual = utils("located").withIgnoreRegions(".clock", ".ticker");
+
+        ComparisonResult result = visual.compare("located", png(withPanel(gradient(WIDTH, HEIGHT, false))), element);
+
+        verify(element).evaluate(anyString(), eq(List.of(".clock", ".ticker")));
+        assertThat(result.getMaskedPixelCount()).isEqualTo(WIDTH / 2 * HEIGHT / 2 + 100);
+        assertThat(result.getDiffPixelCount()).isLessThanOrEqualTo(WIDTH / 2 * HEIGHT / 2 - 100);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private VisualTestingUtils utils(String baselineName) throws IOException {
+        VisualTestingUtils visual = utils();
+        visual.saveBaseline(baselineName, baseline);
+        return visual;
+    }
+
+    private VisualTestingUtils utils() {
+        return new VisualTestingUtils(null, dir.resolve("baselines"));
+    }
+
+    private static byte[] noisy() throws IOException {
+        return png(gradient(WIDTH, HEIGHT, true));
+    }
+
+    /**
+     * The baseline with its bottom-right quarter painted over.
+     */
+    private static BufferedImage withPanel(BufferedImage image) {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.BLACK);
+            graphics.fillRect(WIDTH / 2, HEIGHT / 2, WIDTH / 2, HEIGHT / 2);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+}
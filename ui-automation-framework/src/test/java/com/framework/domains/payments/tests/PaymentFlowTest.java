@@ -7,7 +7,6 @@ import com.framework.domains.payments.models.Cart;
 import com.framework.domains.payments.models.Order;
 import com.framework.domains.payments.models.Order.OrderStatus;
 import com.framework.domains.payments.models.PaymentMethod;
-import com.framework.domains.payments.models.TestCard;
 import com.framework.domains.payments.pages.CartPage;
 import com.framework.domains.payments.pages.CheckoutPage;
 import com.framework.domains.payments.pages.CheckoutPage.ShippingMethod;
@@ -73,7 +72,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // UI: Complete checkout
         OrderConfirmationPage confirmationPage = checkoutPlaybook.completeCheckoutWithDefaults(
-            getPage(), TestCard.VISA_SUCCESS);
+            getPage(), fixtures.getTestCard("visa", "success"));
 
         // Verify confirmation page
         assertThat(confirmationPage.isOrderConfirmed())
@@ -99,7 +98,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // UI: Complete checkout
         OrderConfirmationPage confirmationPage = checkoutPlaybook.completeCheckoutWithDefaults(
-            getPage(), TestCard.MASTERCARD_SUCCESS);
+            getPage(), fixtures.getTestCard("mastercard", "success"));
 
         // Verify
         String orderNumber = confirmationPage.getOrderNumber();
@@ -119,7 +118,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // UI: Complete checkout
         OrderConfirmationPage confirmationPage = checkoutPlaybook.completeCheckoutWithDefaults(
-            getPage(), TestCard.AMEX_SUCCESS);
+            getPage(), fixtures.getTestCard("amex", "success"));
 
         // Verify AMEX 4-digit CVV was accepted
         assertThat(confirmationPage.isOrderConfirmed()).isTrue();
@@ -214,7 +213,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // UI: Complete checkout
         OrderConfirmationPage confirmationPage = checkoutPlaybook.completeCheckoutWithDefaults(
-            getPage(), TestCard.VISA_SUCCESS);
+            getPage(), fixtures.getTestCard("visa", "success"));
 
         // Verify discount reflected in order
         String orderNumber = confirmationPage.getOrderNumber();
@@ -305,7 +304,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // Enter expired card
         paymentPage.selectPaymentMethod(PaymentMethod.CREDIT_CARD);
-        paymentPage.enterCardDetails(TestCard.EXPIRED_CARD);
+        paymentPage.enterCardDetails(fixtures.getTestCard("visa", "expired"));
         paymentPage.clickPayNow();
 
         // Verify rejection
@@ -329,7 +328,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // UI: Complete checkout
         OrderConfirmationPage confirmationPage = checkoutPlaybook.completeCheckoutWithDefaults(
-            getPage(), TestCard.VISA_SUCCESS);
+            getPage(), fixtures.getTestCard("visa", "success"));
 
         // Verify all items in order
         String orderNumber = confirmationPage.getOrderNumber();
@@ -350,7 +349,7 @@ public class PaymentFlowTest extends BaseTest {
         // Complete a successful purchase first
         cartSetupPlaybook.setupCartWithSingleItem("PROD-001");
         OrderConfirmationPage confirmationPage = checkoutPlaybook.completeCheckoutWithDefaults(
-            getPage(), TestCard.VISA_SUCCESS);
+            getPage(), fixtures.getTestCard("visa", "success"));
 
         String orderNumber = confirmationPage.getOrderNumber();
         Order order = orderApi.getOrderByNumber(orderNumber);
@@ -1,6 +1,7 @@
 package com.framework.tests.booking;
 
 import com.framework.core.base.BaseTest;
+import com.framework.core.base.Uses;
 import com.framework.core.data.GlobalDataCache;
 import com.framework.core.data.TestDataCache;
 import io.qameta.allure.*;
@@ -31,6 +32,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @Epic("Entertainment Booking")
 @Feature("Movie Booking")
+// Tests lock seats on the first available show time
+@Uses("showtime:first-available")
 public class BookingFlowTest extends BaseTest {
 
     // Note: In actual implementation, these would be autowired
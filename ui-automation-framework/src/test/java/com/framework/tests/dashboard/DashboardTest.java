@@ -1,6 +1,8 @@
 package com.framework.tests.dashboard;
 
 import com.framework.core.base.BaseTest;
+import com.framework.core.base.Uses;
+import com.framework.core.data.SharedFixtures;
 import com.framework.core.data.TestDataCache;
 import com.framework.domains.dashboard.api.DashboardApiClient;
 import com.framework.domains.dashboard.models.Dashboard;
@@ -31,9 +33,15 @@ import static org.assertj.core.api.Assertions.within;
  * - Data accuracy verification (KPIs, charts, tables)
  * - Visual regression testing
  * - Filter and time range functionality
+ *
+ * Dashboards that tests only look at are built once per class and shared
+ * (SharedFixtures); tests that apply filters or refresh work on a
+ * server-side duplicate.
  */
 @Epic("Analytics Platform")
 @Feature("Dashboard Visualization")
+// Tests change the user's dashboards and filter state
+@Uses("dashboards:{role}")
 public class DashboardTest extends BaseTest {
 
     @Autowired
@@ -44,6 +52,11 @@ public class DashboardTest extends BaseTest {
     private VisualTestingUtils visualTesting;
     private TestDataCache testData;
 
+    private final SharedFixtures.Fixture<Dashboard> dashboards = SharedFixtures.<Dashboard>fixture("dashboard",
+            params -> createSharedDashboard((String) params.get(0)))
+        .teardown(dashboard -> dashboardApi.deleteDashboard(dashboard.getId()))
+        .duplicate(dashboard -> dashboardApi.duplicateDashboard(dashboard.getId(), dashboard.getName() + " (copy)"));
+
     @BeforeMethod
     public void setupTest() {
         testData = getTestData();
@@ -60,9 +73,10 @@ public class DashboardTest extends BaseTest {
     @Story("Dashboard Creation")
     @Severity(SeverityLevel.CRITICAL)
     public void testCreateKpiDashboard() {
+        String name = testDataGenerator.nextDashboardName();
         builderPage.navigateToCreate();
 
-        builderPage.setDashboardName("Sales KPI Dashboard");
+        builderPage.setDashboardName(name);
         builderPage.setDescription("Key sales metrics");
 
         // Add KPI widgets
@@ -87,7 +101,7 @@ public class DashboardTest extends BaseTest {
         List<Dashboard> dashboards = dashboardApi.getMyDashboards();
         assertThat(dashboards)
             .extracting(Dashboard::getName)
-            .contains("Sales KPI Dashboard");
+            .contains(name);
     }
 
     @Test(description = "Create chart dashboard via UI")
@@ -96,7 +110,7 @@ public class DashboardTest extends BaseTest {
     public void testCreateChartDashboard() {
         builderPage.navigateToCreate();
 
-        builderPage.setDashboardName("Revenue Analytics");
+        builderPage.setDashboardName(testDataGenerator.nextDashboardName());
 
         // Add line chart
         builderPage.addWidget(WidgetType.LINE_CHART);
@@ -124,7 +138,7 @@ public class DashboardTest extends BaseTest {
     public void testCreateTableDashboard() {
         builderPage.navigateToCreate();
 
-        builderPage.setDashboardName("Order Details");
+        builderPage.setDashboardName(testDataGenerator.nextDashboardName());
 
         // Add table widget
         builderPage.addWidget(WidgetType.TABLE);
@@ -150,7 +164,7 @@ public class DashboardTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     public void testAllWidgetsLoad() {
         // Setup: Create dashboard with multiple widgets
-        Dashboard dashboard = createTestDashboard("Widget Load Test");
+        Dashboard dashboard = sharedFixture(dashboards, "standard");
         testData.set("dashboardId", dashboard.getId());
 
         // Navigate and wait for load
@@ -170,7 +184,7 @@ public class DashboardTest extends BaseTest {
     @Story("Widget Rendering")
     @Severity(SeverityLevel.NORMAL)
     public void testChartWidgetsRender() {
-        Dashboard dashboard = createChartDashboard("Chart Render Test");
+        Dashboard dashboard = sharedFixture(dashboards, "chart");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -187,7 +201,7 @@ public class DashboardTest extends BaseTest {
     @Story("Widget Rendering")
     @Severity(SeverityLevel.NORMAL)
     public void testTableWidgetDisplaysData() {
-        Dashboard dashboard = createTableDashboard("Table Render Test");
+        Dashboard dashboard = sharedFixture(dashboards, "table");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -212,7 +226,7 @@ public class DashboardTest extends BaseTest {
     @Story("Data Accuracy")
     @Severity(SeverityLevel.CRITICAL)
     public void testKpiValueAccuracy() {
-        Dashboard dashboard = createKpiDashboard("KPI Accuracy Test");
+        Dashboard dashboard = sharedFixture(dashboards, "kpi");
         String kpiWidgetId = dashboard.getWidgetsByType(WidgetType.KPI).get(0).getId();
 
         // Get expected value from API
@@ -236,7 +250,7 @@ public class DashboardTest extends BaseTest {
     @Story("Data Accuracy")
     @Severity(SeverityLevel.NORMAL)
     public void testKpiTrendIndicator() {
-        Dashboard dashboard = createKpiDashboard("KPI Trend Test");
+        Dashboard dashboard = sharedFixture(dashboards, "kpi");
         String kpiWidgetId = dashboard.getWidgetsByType(WidgetType.KPI).get(0).getId();
 
         // Get expected trend from API
@@ -257,7 +271,7 @@ public class DashboardTest extends BaseTest {
     @Story("Data Accuracy")
     @Severity(SeverityLevel.NORMAL)
     public void testKpiChangePercentage() {
-        Dashboard dashboard = createKpiDashboard("KPI Change Test");
+        Dashboard dashboard = sharedFixture(dashboards, "kpi");
         String kpiWidgetId = dashboard.getWidgetsByType(WidgetType.KPI).get(0).getId();
 
         DashboardApiClient.KpiValue kpiData = dashboardApi.getKpiValue(
@@ -285,7 +299,7 @@ public class DashboardTest extends BaseTest {
     @Story("Filters")
     @Severity(SeverityLevel.CRITICAL)
     public void testTimeRangeFilter() {
-        Dashboard dashboard = createTestDashboard("Time Range Test");
+        Dashboard dashboard = fixtureCopy(dashboards, "standard");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -308,7 +322,7 @@ public class DashboardTest extends BaseTest {
     @Story("Filters")
     @Severity(SeverityLevel.NORMAL)
     public void testDropdownFilter() {
-        Dashboard dashboard = createFilterableDashboard("Dropdown Filter Test");
+        Dashboard dashboard = fixtureCopy(dashboards, "filterable");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -325,7 +339,7 @@ public class DashboardTest extends BaseTest {
     @Story("Filters")
     @Severity(SeverityLevel.NORMAL)
     public void testDateRangeFilter() {
-        Dashboard dashboard = createTestDashboard("Date Range Test");
+        Dashboard dashboard = fixtureCopy(dashboards, "standard");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -341,7 +355,7 @@ public class DashboardTest extends BaseTest {
     @Story("Filters")
     @Severity(SeverityLevel.NORMAL)
     public void testResetFilters() {
-        Dashboard dashboard = createFilterableDashboard("Reset Filters Test");
+        Dashboard dashboard = fixtureCopy(dashboards, "filterable");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -369,12 +383,11 @@ public class DashboardTest extends BaseTest {
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
 
-        // Take screenshot and compare with baseline
-        byte[] screenshot = dashboardPage.takeDashboardScreenshot();
-
+        // Take screenshot and compare with baseline, ignoring live values
         VisualTestingUtils.ComparisonResult result = visualTesting
             .withDiffThreshold(0.05)  // 5% tolerance
-            .compare("kpi-dashboard-baseline", screenshot);
+            .withIgnoreRegions(dashboardPage.getDynamicContentSelectors())
+            .compareElement("kpi-dashboard-baseline", dashboardPage.getDashboardSelector());
 
         assertThat(result.isPassed())
             .as("Dashboard should match visual baseline (diff: %.2f%%)", result.getDiffPercent())
@@ -409,7 +422,7 @@ public class DashboardTest extends BaseTest {
     @Story("Widget Interaction")
     @Severity(SeverityLevel.MINOR)
     public void testChartTooltip() {
-        Dashboard dashboard = createChartDashboard("Tooltip Test");
+        Dashboard dashboard = sharedFixture(dashboards, "chart");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -433,7 +446,7 @@ public class DashboardTest extends BaseTest {
     @Story("Widget Interaction")
     @Severity(SeverityLevel.MINOR)
     public void testWidgetFullscreen() {
-        Dashboard dashboard = createTestDashboard("Fullscreen Test");
+        Dashboard dashboard = sharedFixture(dashboards, "standard");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -455,7 +468,7 @@ public class DashboardTest extends BaseTest {
     @Story("Dashboard Actions")
     @Severity(SeverityLevel.NORMAL)
     public void testDashboardRefresh() {
-        Dashboard dashboard = createTestDashboard("Refresh Test");
+        Dashboard dashboard = fixtureCopy(dashboards, "standard");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -483,7 +496,7 @@ public class DashboardTest extends BaseTest {
     @Story("Export")
     @Severity(SeverityLevel.NORMAL)
     public void testPdfExport() {
-        Dashboard dashboard = createTestDashboard("PDF Export Test");
+        Dashboard dashboard = sharedFixture(dashboards, "standard");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -514,7 +527,7 @@ public class DashboardTest extends BaseTest {
     @Story("Filters")
     @Severity(SeverityLevel.NORMAL)
     public void testVariousTimeRanges(String timeRange) {
-        Dashboard dashboard = createTestDashboard("Time Range: " + timeRange);
+        Dashboard dashboard = fixtureCopy(dashboards, "standard");
 
         dashboardPage.navigate(dashboard.getId());
         dashboardPage.waitForAllWidgetsToLoad();
@@ -531,6 +544,18 @@ public class DashboardTest extends BaseTest {
     // HELPER METHODS
     // ═══════════════════════════════════════════════════════════════════════════
 
+    private Dashboard createSharedDashboard(String layout) {
+        String name = "Shared " + layout + " dashboard";
+        return switch (layout) {
+            case "standard" -> createTestDashboard(name);
+            case "kpi" -> createKpiDashboard(name);
+            case "chart" -> createChartDashboard(name);
+            case "table" -> createTableDashboard(name);
+            case "filterable" -> createFilterableDashboard(name);
+            default -> throw new IllegalArgumentException("Unknown dashboard layout: " + layout);
+        };
+    }
+
     private Dashboard createTestDashboard(String name) {
         Widget kpiWidget = Widget.builder()
             .id("kpi-1")
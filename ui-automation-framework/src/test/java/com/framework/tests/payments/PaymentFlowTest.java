@@ -1,6 +1,7 @@
 package com.framework.tests.payments;
 
 import com.framework.core.base.BaseTest;
+import com.framework.core.base.Uses;
 import com.framework.core.data.TestDataCache;
 import com.framework.domains.payments.api.CartApiClient;
 import com.framework.domains.payments.api.OrderApiClient;
@@ -27,6 +28,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @Epic("E-Commerce Platform")
 @Feature("Payment Processing")
+// Tests build their order in the user's cart
+@Uses("cart:{role}")
 public class PaymentFlowTest extends BaseTest {
 
     @Autowired
@@ -62,7 +65,7 @@ public class PaymentFlowTest extends BaseTest {
         paymentPage.navigate();
 
         // Execute: Complete payment via UI
-        var confirmationPage = paymentPage.payWithCard(TestCard.VISA_SUCCESS);
+        var confirmationPage = paymentPage.payWithCard(fixtures.getTestCard("visa", "success"));
 
         // Verify: Order created successfully via API
         String orderId = confirmationPage.getOrderId();
@@ -84,7 +87,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // Execute payment
         paymentPage.navigate();
-        var confirmationPage = paymentPage.payWithCard(TestCard.MASTERCARD_SUCCESS);
+        var confirmationPage = paymentPage.payWithCard(fixtures.getTestCard("mastercard", "success"));
 
         // Verify order
         String orderId = confirmationPage.getOrderId();
@@ -104,7 +107,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // Execute
         paymentPage.navigate();
-        var confirmationPage = paymentPage.payWithCard(TestCard.AMEX_SUCCESS);
+        var confirmationPage = paymentPage.payWithCard(fixtures.getTestCard("amex", "success"));
 
         // Verify
         String orderId = confirmationPage.getOrderId();
@@ -128,7 +131,7 @@ public class PaymentFlowTest extends BaseTest {
         // Navigate to payment
         paymentPage.navigate();
         paymentPage.selectPaymentMethod(PaymentMethod.CREDIT_CARD);
-        paymentPage.enterCardDetails(TestCard.VISA_3DS);
+        paymentPage.enterCardDetails(fixtures.getTestCard("visa", "3ds"));
         paymentPage.clickPayNow();
 
         // Verify 3DS popup appears
@@ -137,7 +140,7 @@ public class PaymentFlowTest extends BaseTest {
             .isTrue();
 
         // Complete 3DS
-        paymentPage.handle3DSAuthentication(TestCard.VISA_3DS.getOtpCode());
+        paymentPage.handle3DSAuthentication(fixtures.getTestCard("visa", "3ds").getOtpCode());
 
         // Verify success
         assertThat(paymentPage.isPaymentSuccessful()).isTrue();
@@ -153,7 +156,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // Execute
         paymentPage.navigate();
-        var confirmationPage = paymentPage.payWithCard(TestCard.MASTERCARD_3DS);
+        var confirmationPage = paymentPage.payWithCard(fixtures.getTestCard("mastercard", "3ds"));
 
         // Verify
         String orderId = confirmationPage.getOrderId();
@@ -177,7 +180,7 @@ public class PaymentFlowTest extends BaseTest {
         // Execute with declined card
         paymentPage.navigate();
         paymentPage.selectPaymentMethod(PaymentMethod.CREDIT_CARD);
-        paymentPage.enterCardDetails(TestCard.VISA_DECLINED);
+        paymentPage.enterCardDetails(fixtures.getTestCard("visa", "declined"));
         paymentPage.clickPayNow();
 
         // Verify error message
@@ -200,7 +203,7 @@ public class PaymentFlowTest extends BaseTest {
         // Execute
         paymentPage.navigate();
         paymentPage.selectPaymentMethod(PaymentMethod.CREDIT_CARD);
-        paymentPage.enterCardDetails(TestCard.VISA_INSUFFICIENT_FUNDS);
+        paymentPage.enterCardDetails(fixtures.getTestCard("visa", "insufficientFunds"));
         paymentPage.clickPayNow();
 
         // Verify
@@ -220,7 +223,7 @@ public class PaymentFlowTest extends BaseTest {
         // Execute
         paymentPage.navigate();
         paymentPage.selectPaymentMethod(PaymentMethod.CREDIT_CARD);
-        paymentPage.enterCardDetails(TestCard.EXPIRED_CARD);
+        paymentPage.enterCardDetails(fixtures.getTestCard("visa", "expired"));
         paymentPage.clickPayNow();
 
         // Verify
@@ -284,7 +287,7 @@ public class PaymentFlowTest extends BaseTest {
             .isNotNull();
 
         // Complete payment
-        var confirmationPage = paymentPage.payWithCard(TestCard.VISA_SUCCESS);
+        var confirmationPage = paymentPage.payWithCard(fixtures.getTestCard("visa", "success"));
 
         // Verify order with discount
         String orderId = confirmationPage.getOrderId();
@@ -302,11 +305,11 @@ public class PaymentFlowTest extends BaseTest {
     @DataProvider(name = "testCards")
     public Object[][] testCards() {
         return new Object[][] {
-            { TestCard.VISA_SUCCESS, true, null },
-            { TestCard.MASTERCARD_SUCCESS, true, null },
-            { TestCard.AMEX_SUCCESS, true, null },
-            { TestCard.VISA_DECLINED, false, "declined" },
-            { TestCard.VISA_INSUFFICIENT_FUNDS, false, "insufficient" }
+            { fixtures.getTestCard("visa", "success"), true, null },
+            { fixtures.getTestCard("mastercard", "success"), true, null },
+            { fixtures.getTestCard("amex", "success"), true, null },
+            { fixtures.getTestCard("visa", "declined"), false, "declined" },
+            { fixtures.getTestCard("visa", "insufficientFunds"), false, "insufficient" }
         };
     }
 
@@ -362,7 +365,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // Execute
         paymentPage.navigate();
-        var confirmationPage = paymentPage.payWithCard(TestCard.VISA_SUCCESS);
+        var confirmationPage = paymentPage.payWithCard(fixtures.getTestCard("visa", "success"));
 
         // Verify order details via API
         String orderId = confirmationPage.getOrderId();
@@ -385,7 +388,7 @@ public class PaymentFlowTest extends BaseTest {
 
         // Execute
         paymentPage.navigate();
-        var confirmationPage = paymentPage.payWithCard(TestCard.VISA_SUCCESS);
+        var confirmationPage = paymentPage.payWithCard(fixtures.getTestCard("visa", "success"));
 
         String orderId = confirmationPage.getOrderId();
 
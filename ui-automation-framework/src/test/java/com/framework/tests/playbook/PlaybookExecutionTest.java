@@ -1,6 +1,7 @@
 package com.framework.tests.playbook;
 
 import com.framework.core.base.BaseTest;
+import com.framework.core.data.SharedFixtures;
 import com.framework.core.data.TestDataCache;
 import com.framework.domains.playbook.api.ExecutionApiClient;
 import com.framework.domains.playbook.api.PlaybookApiClient;
@@ -16,6 +17,7 @@ import org.testng.annotations.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,6 +29,9 @@ import static org.assertj.core.api.Assertions.assertThat;
  * - Execution triggering and monitoring
  * - Step execution verification
  * - Integration testing with mocks
+ *
+ * Executing a playbook does not change it, so execution tests share one
+ * playbook per shape for the class (SharedFixtures).
  */
 @Epic("Workflow Automation")
 @Feature("Playbook Execution")
@@ -44,6 +49,10 @@ public class PlaybookExecutionTest extends BaseTest {
 
     private MockSlackServer mockSlack;
 
+    private final SharedFixtures.Fixture<Playbook> playbooks = SharedFixtures.<Playbook>fixture("playbook",
+            params -> createSharedPlaybook((String) params.get(0)))
+        .teardown(playbook -> playbookApi.deletePlaybook(playbook.getId()));
+
     @BeforeClass
     public void setupMocks() throws Exception {
         // Start mock Slack server for integration tests
@@ -192,7 +201,7 @@ public class PlaybookExecutionTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     public void testExecutePlaybookViaUI() {
         // Setup: Create playbook via API
-        Playbook playbook = createTestPlaybook("UI Execution Test");
+        Playbook playbook = sharedFixture(playbooks, "http");
         testData.set("playbookId", playbook.getId());
 
         // Edit and trigger via UI
@@ -213,7 +222,7 @@ public class PlaybookExecutionTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     public void testExecutePlaybookViaAPI() {
         // Setup: Create playbook
-        Playbook playbook = createTestPlaybook("API Execution Test");
+        Playbook playbook = sharedFixture(playbooks, "http");
         testData.set("playbookId", playbook.getId());
 
         // Execute via API
@@ -235,14 +244,12 @@ public class PlaybookExecutionTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     public void testExecutePlaybookWithVariables() {
         // Setup: Create parameterized playbook
-        Playbook playbook = createParameterizedPlaybook("Variable Test");
+        Playbook playbook = sharedFixture(playbooks, "parameterized");
         testData.set("playbookId", playbook.getId());
 
-        // Execute with variables
-        Map<String, Object> variables = Map.of(
-            "target_url", "https://api.example.com/test",
-            "message", "Custom test message"
-        );
+        // Execute with the variables the playbook declares
+        Map<String, Object> variables = testDataGenerator.nextPlaybookVariables();
+        variables.keySet().retainAll(Set.of("target_url", "message"));
 
         Execution execution = executionApi.triggerAndWait(playbook.getId(), variables, 60);
 
@@ -260,7 +267,7 @@ public class PlaybookExecutionTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     public void testMonitorExecutionProgress() {
         // Setup: Create multi-step playbook
-        Playbook playbook = createMultiStepPlaybook("Progress Monitor Test");
+        Playbook playbook = sharedFixture(playbooks, "multi-step");
 
         // Trigger execution
         Execution execution = executionApi.triggerExecution(playbook.getId());
@@ -283,7 +290,7 @@ public class PlaybookExecutionTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     public void testViewExecutionLogs() {
         // Setup and execute
-        Playbook playbook = createTestPlaybook("Logs Test");
+        Playbook playbook = sharedFixture(playbooks, "http");
         Execution execution = executionApi.triggerAndWait(playbook.getId(), 60);
 
         // View logs via UI
@@ -391,6 +398,16 @@ public class PlaybookExecutionTest extends BaseTest {
     // HELPER METHODS
     // ═══════════════════════════════════════════════════════════════════════════
 
+    private Playbook createSharedPlaybook(String shape) {
+        String name = "Shared " + shape + " playbook";
+        return switch (shape) {
+            case "http" -> createTestPlaybook(name);
+            case "parameterized" -> createParameterizedPlaybook(name);
+            case "multi-step" -> createMultiStepPlaybook(name);
+            default -> throw new IllegalArgumentException("Unknown playbook shape: " + shape);
+        };
+    }
+
     private Playbook createTestPlaybook(String name) {
         Playbook.PlaybookStep httpStep = Playbook.PlaybookStep.builder()
             .id("step1")